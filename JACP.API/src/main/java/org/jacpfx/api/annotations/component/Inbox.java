@@ -0,0 +1,57 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [Inbox.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.annotations.component;
+
+import org.jacpfx.api.message.OverflowPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines a bounded inbox for a component. Without this annotation the inbox of a component is unbounded.
+ *
+ * @author Andy Moncsek
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Inbox {
+
+    /**
+     * The maximum number of messages waiting for the component.
+     *
+     * @return the inbox capacity
+     */
+    int capacity();
+
+    /**
+     * Defines what happens with a message when the inbox is full.
+     *
+     * @return the overflow policy
+     */
+    OverflowPolicy overflow() default OverflowPolicy.BLOCK;
+}
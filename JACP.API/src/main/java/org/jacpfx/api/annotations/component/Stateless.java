@@ -41,4 +41,44 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Stateless {
+
+    /**
+     * The maximum number of component instances handling messages concurrently; 0 uses the number of available
+     * processors + 1.
+     *
+     * @return the maximum instance count
+     */
+    int maxInstances() default 0;
+
+    /**
+     * The number of threads of the component executor; 0 uses the maximum instance count. Ignored when the component
+     * uses the shared executor.
+     *
+     * @return the thread pool size
+     */
+    int poolSize() default 0;
+
+    /**
+     * Runs the component instances in one work stealing executor shared by all stateless components instead of an
+     * own thread pool, so the number of threads depends on the number of processors, not on the number of components.
+     *
+     * @return true to use the shared executor
+     */
+    boolean sharedExecutor() default false;
+
+    /**
+     * The number of instances created when the parent perspective starts and kept while idle, so the first messages
+     * do not pay the instance creation.
+     *
+     * @return the minimum instance count
+     */
+    int minInstances() default 0;
+
+    /**
+     * The time in milliseconds after which an idle instance above the minimum instance count is removed; 0 keeps all
+     * created instances.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    long idleTimeout() default 0;
 }
@@ -12,4 +12,22 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface OnAsyncMessage {
     Class value();
+
+    /**
+     * When true the annotated method handles a {@link org.jacpfx.api.message.MessageBatch} of messages with type value
+     * in one call, the method takes a {@link java.util.List} parameter. Without a batch method each element of a batch is passed to the
+     * method for value.
+     *
+     * @return true if the method handles batches
+     */
+    boolean batch() default false;
+
+    /**
+     * When true, queued messages with type value are conflated: a newer message replaces a message of the same type
+     * that was not handled yet, so only the latest value is handled. Use it for "latest value wins" messages like
+     * status, selection or progress updates.
+     *
+     * @return true if messages of this type are conflated
+     */
+    boolean conflate() default false;
 }
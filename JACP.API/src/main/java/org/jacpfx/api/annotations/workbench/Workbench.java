@@ -26,6 +26,9 @@
 
 package org.jacpfx.api.annotations.workbench;
 
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.scheduler.WorkerMode;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -55,4 +58,87 @@ public @interface Workbench {
      * @return all related component ids
      */
     String[] perspectives();
+
+    /**
+     * Defines how messages are passed to the message queues of the workbench and its perspectives. The default
+     * {@link BackpressurePolicy#TRANSFER} blocks the sender until the message was taken by the message coordinator,
+     * all other policies return immediately after the message was queued.
+     *
+     * @return the backpressure policy
+     */
+    BackpressurePolicy backpressure() default BackpressurePolicy.TRANSFER;
+
+    /**
+     * The maximum number of queued messages per workbench/perspective message queue.
+     *
+     * @return the message queue capacity
+     */
+    int messageQueueCapacity() default 10000;
+
+    /**
+     * The number of routing threads of the workbench and of every perspective. Messages are partitioned by target
+     * id, so messages to the same target keep their order.
+     *
+     * @return the number of message coordinator threads
+     */
+    int coordinatorShards() default 1;
+
+    /**
+     * Defines how the message workers of FXComponents and CallbackComponents are executed.
+     *
+     * @return the worker mode
+     */
+    WorkerMode workerMode() default WorkerMode.THREAD;
+
+    /**
+     * The number of threads shared by all components when the worker mode is {@link WorkerMode#SHARED_POOL}; 0 uses
+     * twice the number of available processors.
+     *
+     * @return the size of the shared worker pool
+     */
+    int workerPoolSize() default 0;
+
+    /**
+     * Creates perspectives and components and loads their FXML concurrently off the FX application thread; only the
+     * attachment to the scene graph runs on the FX application thread. PostConstruct methods of perspectives and
+     * components are executed on a startup thread in this mode and must not require the FX application thread.
+     *
+     * @return true to enable the parallel startup
+     */
+    boolean parallelStartup() default false;
+
+    /**
+     * Initializes only the perspective displayed at startup. All other active perspectives are registered without
+     * creating their layouts and components; they are created when the perspective receives its first message or
+     * gets displayed.
+     *
+     * @return true to defer the initialization of perspectives not displayed at startup
+     */
+    boolean lazyPerspectives() default false;
+
+    /**
+     * Publishes the results of FXComponent message handling once per JavaFX pulse instead of one application thread
+     * call per message; the component workers do not wait for the application thread.
+     *
+     * @return true to align the FXComponent updates to the pulse
+     */
+    boolean pulseAlignedUpdates() default false;
+
+    /**
+     * The maximum time in milliseconds spent per frame on pulse aligned updates, remaining updates are executed in
+     * the next frame.
+     *
+     * @return the frame budget in milliseconds
+     */
+    int pulseBudgetMillis() default 8;
+
+    /**
+     * Delivers messages to active components directly from the sending thread instead of passing them through the
+     * message coordinator of the perspective and the message delegator. Messages to perspectives and to inactive
+     * components are still routed by the coordinator; the order of the messages a component sends to one target is
+     * preserved.
+     *
+     * @return true to enable direct routing
+     */
+    boolean directRouting() default false;
 }
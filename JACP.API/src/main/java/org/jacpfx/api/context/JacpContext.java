@@ -25,7 +25,10 @@
 
 package org.jacpfx.api.context;
 
+import java.util.Collection;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created with IntelliJ IDEA.
@@ -55,6 +58,70 @@ public interface JacpContext<L, M> {
      */
     void send(final String targetId, final M message);
 
+    /**
+     * Send a message to caller component itself and wait until the message coordinator took the message,
+     * regardless of the backpressure policy defined in the workbench.
+     *
+     * @param message, The message object.
+     */
+    void sendAndAwait(final M message);
+
+    /**
+     * Send a message to defined targetId and wait until the message coordinator took the message,
+     * regardless of the backpressure policy defined in the workbench.
+     *
+     * @param targetId, The target id for the message.
+     * @param message,  The message object.
+     */
+    void sendAndAwait(final String targetId, final M message);
+
+    /**
+     * Send a collection of messages to caller component itself. The messages are routed as one message with a
+     * {@link org.jacpfx.api.message.MessageBatch} body.
+     *
+     * @param messages, The message objects.
+     */
+    void sendBatch(final Collection<? extends M> messages);
+
+    /**
+     * Send a collection of messages to defined targetId. The messages are routed as one message with a
+     * {@link org.jacpfx.api.message.MessageBatch} body, the target handles them in one pass: either in a method
+     * annotated with batch = true, or element by element in its typed message methods.
+     *
+     * @param targetId, The target id for the messages.
+     * @param messages, The message objects.
+     */
+    void sendBatch(final String targetId, final Collection<? extends M> messages);
+
+    /**
+     * Send a request to defined targetId and returns the future reply. The future is completed with the return
+     * value of the method handling the message in the target component, directly from the thread of the target;
+     * use the async methods of the future to continue in an other thread. In a view component with an
+     * {@code @OnMessage} method the future is completed with its return value after it was executed. When the
+     * method throws an exception the future completes exceptionally with it. Without a reply within 30 seconds the
+     * future completes with a {@link java.util.concurrent.TimeoutException}.
+     *
+     * @param targetId, The target id for the request.
+     * @param message,  The message object.
+     * @param <R>       the type of the reply
+     * @return the future reply
+     */
+    <R> CompletableFuture<R> request(final String targetId, final M message);
+
+    /**
+     * Send a request to defined targetId and returns the future reply. The future is completed with the return
+     * value of the method handling the message in the target component or with a
+     * {@link java.util.concurrent.TimeoutException} when no reply arrives within the timeout.
+     *
+     * @param targetId, The target id for the request.
+     * @param message,  The message object.
+     * @param timeout,  The maximum time to wait for the reply.
+     * @param unit,     The time unit of the timeout.
+     * @param <R>       the type of the reply
+     * @return the future reply
+     */
+    <R> CompletableFuture<R> request(final String targetId, final M message, final long timeout, final TimeUnit unit);
+
     /**
      * Returns an event handler that handles messages to caller component
      *
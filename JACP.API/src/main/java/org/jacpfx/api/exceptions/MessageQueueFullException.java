@@ -0,0 +1,54 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageQueueFullException.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.exceptions;
+
+/**
+ * This Exception will be thrown when a message is sent to a full message queue with
+ * {@link org.jacpfx.api.message.BackpressurePolicy#FAIL} policy.
+ *
+ * @author Andy Moncsek
+ */
+public class MessageQueueFullException extends RuntimeException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 4165320717460211397L;
+
+    public MessageQueueFullException() {
+
+    }
+
+    public MessageQueueFullException(String message) {
+        super(message);
+    }
+
+    public MessageQueueFullException(String message, Throwable e) {
+        super(message, e);
+    }
+
+    public MessageQueueFullException(Throwable e) {
+        super(e);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BackpressurePolicy.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+/**
+ * Defines how a message is passed to the message queue of a workbench or perspective when a component sends it.
+ *
+ * @author Andy Moncsek
+ */
+public enum BackpressurePolicy {
+    /**
+     * The sender waits until the message coordinator took the message (synchronous hand off, the default behaviour).
+     */
+    TRANSFER,
+    /**
+     * The message is queued and the sender returns immediately; when the queue is full the sender waits for free space.
+     */
+    BLOCK,
+    /**
+     * The message is queued and the sender returns immediately; when the queue is full the oldest queued message is dropped.
+     */
+    DROP_OLDEST,
+    /**
+     * The message is queued and the sender returns immediately; when the queue is full a
+     * {@link org.jacpfx.api.exceptions.MessageQueueFullException} is thrown to the sender.
+     */
+    FAIL
+}
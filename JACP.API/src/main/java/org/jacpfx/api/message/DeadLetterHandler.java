@@ -0,0 +1,42 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeadLetterHandler.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+/**
+ * SPI for messages a component could not accept because its inbox was full and the component uses
+ * {@link OverflowPolicy#DEAD_LETTER}. Implementations are registered with {@link java.util.ServiceLoader}.
+ *
+ * @author Andy Moncsek
+ */
+public interface DeadLetterHandler {
+
+    /**
+     * Handles a message which was not delivered.
+     *
+     * @param m, the message, the target id of the message identifies the component
+     */
+    void onDeadLetter(final Message<?, ?> m);
+}
@@ -0,0 +1,93 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageBatch.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The message body of a batch sent with {@link org.jacpfx.api.context.JacpContext#sendBatch(String, java.util.Collection)}.
+ * A batch is routed as one message. Components handle it either in a method annotated with
+ * {@code @OnMessage(value = Type.class, batch = true)} / {@code @OnAsyncMessage(value = Type.class, batch = true)}, which
+ * receives the whole batch as {@link List}, or element by element in the regular typed methods.
+ *
+ * @param <T> the type of the batch elements
+ * @author Andy Moncsek
+ */
+public final class MessageBatch<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> elements;
+    private final Class<?> elementType;
+
+    public MessageBatch(final Collection<? extends T> elements) {
+        this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+        this.elementType = commonType(this.elements);
+    }
+
+    private static Class<?> commonType(final List<?> elements) {
+        Class<?> type = null;
+        for (final Object element : elements) {
+            if (element == null) return null;
+            if (type == null) {
+                type = element.getClass();
+            } else if (type != element.getClass()) {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns the class of all batch elements.
+     *
+     * @return the element class, or null when the batch is empty, contains null or mixes element classes
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    @Override
+    public T get(final int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public String toString() {
+        return "MessageBatch{" +
+                "elementType=" + elementType +
+                ", size=" + elements.size() +
+                '}';
+    }
+}
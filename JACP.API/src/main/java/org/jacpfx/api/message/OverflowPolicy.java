@@ -0,0 +1,50 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [OverflowPolicy.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+/**
+ * Defines what happens when a message is delivered to a component whose bounded inbox is full.
+ *
+ * @author Andy Moncsek
+ */
+public enum OverflowPolicy {
+    /**
+     * The delivering thread waits until the component took a message from its inbox.
+     */
+    BLOCK,
+    /**
+     * The new message is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest queued message is dropped to make room for the new message.
+     */
+    DROP_OLDEST,
+    /**
+     * The new message is passed to the registered {@link DeadLetterHandler}s.
+     */
+    DEAD_LETTER
+}
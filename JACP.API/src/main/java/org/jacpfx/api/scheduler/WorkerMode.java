@@ -0,0 +1,48 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [WorkerMode.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.scheduler;
+
+/**
+ * Defines how the message workers of stateful components (FXComponents and CallbackComponents) are executed. In
+ * every mode the messages of one component are handled sequentially and in order.
+ *
+ * @author Andy Moncsek
+ */
+public enum WorkerMode {
+    /**
+     * Every component owns a platform thread waiting for incoming messages (the default behaviour).
+     */
+    THREAD,
+    /**
+     * Components share a fixed thread pool; a component is only scheduled while its inbox contains messages.
+     */
+    SHARED_POOL,
+    /**
+     * Every component owns a virtual thread; falls back to {@link #SHARED_POOL} when the runtime does not
+     * support virtual threads.
+     */
+    VIRTUAL
+}
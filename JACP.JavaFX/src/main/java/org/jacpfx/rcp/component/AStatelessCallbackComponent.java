@@ -26,18 +26,23 @@ package org.jacpfx.rcp.component;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Stateless;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.scheduler.StatelessInstancePool;
 import org.jacpfx.rcp.util.HandlerThreadFactory;
 import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+import org.jacpfx.rcp.util.TearDownHandler;
 
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -54,12 +59,18 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
 
 
 
-	private final AtomicInteger threadCount = new AtomicInteger(0);
+	private static ExecutorService sharedExecutor;
 
-	private final List<SubComponent<EventHandler<Event>, Event, Object>> componentInstances = new CopyOnWriteArrayList<>();
+	private static ScheduledExecutorService evictionExecutor;
 
-	private final ExecutorService executor = Executors
-			.newFixedThreadPool(AStatelessCallbackComponent.MAX_INCTANCE_COUNT,new HandlerThreadFactory("AStatelessCallbackComponent:"));
+	// created on first use, cloned instances never schedule messages
+	private volatile StatelessInstancePool instancePool;
+
+	private volatile ExecutorService executor;
+
+	private volatile boolean usesSharedExecutor;
+
+	private volatile ScheduledFuture<?> eviction;
 
 
 	private static int getNrOfProcessors() {
@@ -68,7 +79,84 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
 	}
 
 	public AStatelessCallbackComponent() {
-		ShutdownThreadsHandler.registerExecutor(executor);
+	}
+
+	/**
+	 * Returns the maximum instance count defined in the {@link Stateless} annotation of the component handle.
+	 *
+	 * @return the maximum instance count
+	 */
+	private int getMaxInstances() {
+		final Stateless annotation = getStatelessAnnotation();
+		return annotation != null && annotation.maxInstances() > 0 ? annotation.maxInstances() : MAX_INCTANCE_COUNT;
+	}
+
+	private Stateless getStatelessAnnotation() {
+		final ComponentHandle<?, Event, Object> handle = getComponent();
+		return handle != null ? handle.getClass().getAnnotation(Stateless.class) : null;
+	}
+
+	private synchronized ExecutorService createExecutor() {
+		if (this.executor != null) return this.executor;
+		final Stateless annotation = getStatelessAnnotation();
+		if (annotation != null && annotation.sharedExecutor()) {
+			this.usesSharedExecutor = true;
+			this.executor = getSharedExecutor();
+		} else {
+			final int poolSize = annotation != null && annotation.poolSize() > 0 ? annotation.poolSize() : getMaxInstances();
+			final ExecutorService service = Executors.newFixedThreadPool(poolSize, new HandlerThreadFactory("AStatelessCallbackComponent:"));
+			ShutdownThreadsHandler.registerExecutor(service);
+			this.executor = service;
+		}
+		return this.executor;
+	}
+
+	/**
+	 * Returns the work stealing executor shared by all stateless components using {@link Stateless#sharedExecutor()}.
+	 *
+	 * @return the shared executor
+	 */
+	private static synchronized ExecutorService getSharedExecutor() {
+		if (sharedExecutor == null || sharedExecutor.isShutdown()) {
+			sharedExecutor = Executors.newWorkStealingPool();
+			ShutdownThreadsHandler.registerExecutor(sharedExecutor);
+		}
+		return sharedExecutor;
+	}
+
+	/**
+	 * Returns the single thread removing idle instances of all stateless components.
+	 *
+	 * @return the eviction executor
+	 */
+	private static synchronized ScheduledExecutorService getEvictionExecutor() {
+		if (evictionExecutor == null || evictionExecutor.isShutdown()) {
+			final HandlerThreadFactory factory = new HandlerThreadFactory("StatelessEviction:");
+			evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final Thread thread = factory.newThread(runnable);
+				thread.setDaemon(true);
+				return thread;
+			});
+			ShutdownThreadsHandler.registerExecutor(evictionExecutor);
+		}
+		return evictionExecutor;
+	}
+
+	private void scheduleEviction(final StatelessInstancePool pool) {
+		final long period = Math.max(pool.getIdleTimeout() / 2, 100);
+		this.eviction = getEvictionExecutor().scheduleWithFixedDelay(() ->
+				pool.evictIdle(System.currentTimeMillis()).forEach(TearDownHandler::executePredestroy),
+				period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the executor of this component, the shared executor keeps running.
+	 */
+	public final void shutdownExecutor() {
+		final ScheduledFuture<?> task = this.eviction;
+		if (task != null) task.cancel(false);
+		final ExecutorService service = this.executor;
+		if (service != null && !this.usesSharedExecutor) service.shutdownNow();
 	}
 
 
@@ -101,17 +189,41 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
 
 	@Override
 	public final List<SubComponent<EventHandler<Event>, Event, Object>> getInstances() {
-		return this.componentInstances;
+		return getInstancePool().getInstances();
 	}
 
 	@Override
 	public final AtomicInteger getThreadCounter() {
-		return this.threadCount;
+		return getInstancePool().getInstanceCount();
 	}
 
 	@Override
 	public final ExecutorService getExecutorService() {
-		return this.executor;
+		final ExecutorService service = this.executor;
+		return service != null ? service : createExecutor();
+	}
+
+	/**
+	 * Returns the idle instances and pending messages of this component.
+	 *
+	 * @return the instance pool
+	 */
+	public final StatelessInstancePool getInstancePool() {
+		StatelessInstancePool pool = this.instancePool;
+		if (pool == null) {
+			synchronized (this) {
+				if (this.instancePool == null) {
+					final Stateless annotation = getStatelessAnnotation();
+					final StatelessInstancePool created = annotation != null ?
+							new StatelessInstancePool(getMaxInstances(), annotation.minInstances(), annotation.idleTimeout()) :
+							new StatelessInstancePool(getMaxInstances());
+					if (created.getIdleTimeout() > 0) scheduleEviction(created);
+					this.instancePool = created;
+				}
+				pool = this.instancePool;
+			}
+		}
+		return pool;
 	}
 
 }
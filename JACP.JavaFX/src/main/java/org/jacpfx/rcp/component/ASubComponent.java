@@ -26,6 +26,9 @@ package org.jacpfx.rcp.component;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Inbox;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
 import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
@@ -35,8 +38,10 @@ import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.JacpContextImpl;
 import org.jacpfx.rcp.worker.AEmbeddedComponentWorker;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,7 +58,7 @@ public abstract class ASubComponent  implements
 
     private final Semaphore lock = new Semaphore(1);
     private final Logger componentLogger = Logger.getLogger(this.getClass().getName());
-    private final BlockingQueue<Message<Event, Object>> incomingMessage = new LinkedBlockingQueue<>();
+    private volatile ComponentInbox incomingMessage = new ComponentInbox();
     private volatile ComponentHandle<?, Event, Object> component;
     private volatile AEmbeddedComponentWorker workerRef;
     private final AtomicBoolean started =  new AtomicBoolean(false);
@@ -89,6 +94,8 @@ public abstract class ASubComponent  implements
     public final void putIncomingMessage(final Message<Event, Object> action) {
         try {
             this.incomingMessage.put(action);
+            final AEmbeddedComponentWorker worker = this.workerRef;
+            if (worker != null) worker.messageArrived();
         } catch (final InterruptedException e) {
             this.componentLogger.info("massage put failed:");
             //TODO handle exception global
@@ -96,6 +103,19 @@ public abstract class ASubComponent  implements
 
     }
 
+    /**
+     * Adds a message to the inbox without waiting for a full inbox.
+     *
+     * @param message the message
+     * @return false if the inbox is full and its overflow policy is BLOCK
+     */
+    public final boolean offerIncomingMessage(final Message<Event, Object> message) {
+        if (!this.incomingMessage.offer(message)) return false;
+        final AEmbeddedComponentWorker worker = this.workerRef;
+        if (worker != null) worker.messageArrived();
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -104,6 +124,15 @@ public abstract class ASubComponent  implements
         return this.incomingMessage.take();
     }
 
+    /**
+     * Returns the next incoming message or null if the inbox is empty.
+     *
+     * @return the next message or null
+     */
+    public final Message<Event, Object> pollNextIncomingMessage() {
+        return this.incomingMessage.poll();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -156,6 +185,36 @@ public abstract class ASubComponent  implements
     @Override
     public final <X extends ComponentHandle<?, Event, Object>> void setComponent(final X handle) {
         this.component = handle;
+        if (handle == null) return;
+        final Inbox inbox = handle.getClass().getAnnotation(Inbox.class);
+        if (inbox != null) this.incomingMessage = new ComponentInbox(inbox.capacity(), inbox.overflow());
+        this.incomingMessage.setConflatedTypes(findConflatedTypes(handle.getClass()));
+    }
+
+    /**
+     * Returns the message types of all typed message methods declared with conflate = true.
+     *
+     * @param handleClass the component handle class
+     * @return the conflated message types
+     */
+    private static Set<Class<?>> findConflatedTypes(final Class<?> handleClass) {
+        final Set<Class<?>> types = new HashSet<>();
+        for (final Method method : handleClass.getMethods()) {
+            final OnMessage onMessage = method.getAnnotation(OnMessage.class);
+            if (onMessage != null && onMessage.conflate() && !onMessage.batch()) types.add(onMessage.value());
+            final OnAsyncMessage onAsyncMessage = method.getAnnotation(OnAsyncMessage.class);
+            if (onAsyncMessage != null && onAsyncMessage.conflate() && !onAsyncMessage.batch()) types.add(onAsyncMessage.value());
+        }
+        return types.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Returns the depth, capacity and drop counts of the component inbox.
+     *
+     * @return the inbox metrics
+     */
+    public final InboxMetrics getInboxMetrics() {
+        return this.incomingMessage;
     }
 
     public final void initWorker(final AEmbeddedComponentWorker worker) {
@@ -165,9 +224,7 @@ public abstract class ASubComponent  implements
 
     public final void interruptWorker() {
         if(workerRef==null)return;
-        if(workerRef.isAlive()) {
-            workerRef.interrupt();
-        }
+        workerRef.stop();
         workerRef.cleanAfterInterrupt();
     }
 
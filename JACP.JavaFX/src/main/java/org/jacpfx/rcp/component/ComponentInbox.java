@@ -0,0 +1,308 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentInbox.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.component;
+
+import javafx.event.Event;
+import org.jacpfx.api.exceptions.MessageQueueFullException;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.OverflowPolicy;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.util.DeadLetterService;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The queue of incoming messages of a component. The inbox is unbounded by default; a bounded inbox (see
+ * {@link org.jacpfx.api.annotations.component.Inbox}) applies its {@link OverflowPolicy} when it is full.
+ * Messages with a body type marked as conflating (see {@link org.jacpfx.api.annotations.method.OnMessage#conflate()})
+ * are collapsed: while a message of such a type is still queued, a newer message of the same type replaces it instead
+ * of being queued behind it, so the worker only handles the latest value.
+ *
+ * @author Andy Moncsek
+ */
+public class ComponentInbox implements InboxMetrics {
+
+    private static final Logger logger = Logger.getLogger(ComponentInbox.class.getName());
+    private final BlockingQueue<Object> messages;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<Class<?>, Slot> pending = new ConcurrentHashMap<>();
+    private final AtomicLong conflatedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong deadLetterCount = new AtomicLong();
+    private volatile Set<Class<?>> conflatedTypes = Collections.emptySet();
+
+    /**
+     * Creates an unbounded inbox.
+     */
+    public ComponentInbox() {
+        this(Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates a bounded inbox.
+     *
+     * @param capacity       the maximum number of queued messages
+     * @param overflowPolicy the policy applied when the inbox is full
+     */
+    public ComponentInbox(final int capacity, final OverflowPolicy overflowPolicy) {
+        if (capacity < 1) throw new IllegalArgumentException("the inbox capacity must be greater than 0");
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.messages = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Defines the message body types to conflate.
+     *
+     * @param conflatedTypes the body types
+     */
+    public void setConflatedTypes(final Set<Class<?>> conflatedTypes) {
+        this.conflatedTypes = conflatedTypes;
+    }
+
+    /**
+     * Adds a message, a conflating message replaces a queued message of the same body type. When the inbox is full the
+     * overflow policy is applied.
+     *
+     * @param message the message
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void put(final Message<Event, Object> message) throws InterruptedException {
+        add(message, true);
+    }
+
+    /**
+     * Adds a message without waiting. A full inbox with the BLOCK policy does not take the message, with any other
+     * policy the message is queued, conflated or handled by the overflow policy like in {@link #put(Message)}.
+     *
+     * @param message the message
+     * @return false if the inbox is full and its overflow policy is BLOCK
+     */
+    public boolean offer(final Message<Event, Object> message) {
+        try {
+            return add(message, false);
+        } catch (InterruptedException e) {
+            // not thrown, the inbox does not wait
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Queues or conflates the message or applies the overflow policy.
+     *
+     * @return false if the message was not taken because the inbox is full and the caller does not wait
+     */
+    private boolean add(final Message<Event, Object> message, final boolean wait) throws InterruptedException {
+        final Object body = message.getMessageBody();
+        if (body == null || conflatedTypes.isEmpty() || !conflatedTypes.contains(body.getClass())) {
+            return enqueue(message, wait);
+        }
+        while (true) {
+            // a new slot is only mapped when it was queued, so no other message can be conflated into a rejected slot
+            final Slot slot = pending.compute(body.getClass(), (type, current) -> {
+                if (current != null) {
+                    current.message = message;
+                    conflatedCount.incrementAndGet();
+                    return current;
+                }
+                final Slot created = new Slot(type, message);
+                return messages.offer(created) ? created : null;
+            });
+            if (slot != null) return true;
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    dropOldest();
+                    break;
+                case BLOCK:
+                    if (!wait) return false;
+                    putSlot(body.getClass(), message);
+                    return true;
+                default:
+                    reject(message);
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Queues the message or applies the overflow policy.
+     */
+    private boolean enqueue(final Message<Event, Object> message, final boolean wait) throws InterruptedException {
+        if (messages.offer(message)) return true;
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!messages.offer(message)) dropOldest();
+                return true;
+            case BLOCK:
+                if (!wait) return false;
+                messages.put(message);
+                return true;
+            default:
+                reject(message);
+                return true;
+        }
+    }
+
+    /**
+     * Waits until a conflation slot is queued, messages of the same type are conflated into the slot while waiting.
+     */
+    private void putSlot(final Class<?> type, final Message<Event, Object> message) throws InterruptedException {
+        final Slot created = new Slot(type, message);
+        final Slot slot = pending.compute(type, (key, current) -> {
+            if (current == null) return created;
+            current.message = message;
+            conflatedCount.incrementAndGet();
+            return current;
+        });
+        if (slot != created) return;
+        try {
+            messages.put(created);
+        } catch (InterruptedException e) {
+            pending.remove(type, created);
+            throw e;
+        }
+    }
+
+    /**
+     * Applies the DROP_NEWEST or DEAD_LETTER policy to a message which was not queued.
+     */
+    private void reject(final Message<Event, Object> message) {
+        if (overflowPolicy == OverflowPolicy.DEAD_LETTER) {
+            deadLetterCount.incrementAndGet();
+            DeadLetterService.getInstance().onDeadLetter(message);
+            PendingRequests.fail(message, new MessageQueueFullException("inbox of " + message.getTargetId() + " full, message not delivered: " + message));
+        } else {
+            drop(message);
+        }
+    }
+
+    private void dropOldest() {
+        final Object oldest = messages.poll();
+        if (oldest != null) drop(unwrap(oldest));
+    }
+
+    private void drop(final Message<Event, Object> message) {
+        droppedCount.incrementAndGet();
+        PendingRequests.fail(message, new MessageQueueFullException("inbox of " + message.getTargetId() + " full, dropped message: " + message));
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(">> inbox of " + message.getTargetId() + " full, dropped message: " + message);
+        }
+    }
+
+    /**
+     * Returns the next message, waits until a message is available.
+     *
+     * @return the next message
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public Message<Event, Object> take() throws InterruptedException {
+        return unwrap(messages.take());
+    }
+
+    /**
+     * Returns the message of a queue entry and removes a conflation slot from the pending slots.
+     */
+    @SuppressWarnings("unchecked")
+    private Message<Event, Object> unwrap(final Object entry) {
+        if (!(entry instanceof Slot)) return (Message<Event, Object>) entry;
+        final Slot slot = (Slot) entry;
+        final Object[] latest = new Object[1];
+        pending.compute(slot.type, (type, current) -> {
+            latest[0] = slot.message;
+            return current == slot ? null : current;
+        });
+        return (Message<Event, Object>) latest[0];
+    }
+
+    /**
+     * Returns the next message or null if the inbox is empty.
+     *
+     * @return the next message or null
+     */
+    public Message<Event, Object> poll() {
+        final Object entry = messages.poll();
+        return entry == null ? null : unwrap(entry);
+    }
+
+    /**
+     * Returns true when no message is queued.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    @Override
+    public int getDepth() {
+        return messages.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getDeadLetterCount() {
+        return deadLetterCount.get();
+    }
+
+    @Override
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    private static final class Slot {
+        private final Class<?> type;
+        private Message<Event, Object> message;
+
+        private Slot(final Class<?> type, final Message<Event, Object> message) {
+            this.type = type;
+            this.message = message;
+        }
+    }
+}
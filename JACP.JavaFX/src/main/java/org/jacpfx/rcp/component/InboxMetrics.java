@@ -0,0 +1,78 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [InboxMetrics.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.component;
+
+import org.jacpfx.api.message.OverflowPolicy;
+
+/**
+ * Read only view on the inbox of a component.
+ *
+ * @author Andy Moncsek
+ */
+public interface InboxMetrics {
+
+    /**
+     * Returns the number of messages waiting for the component.
+     *
+     * @return the inbox depth
+     */
+    int getDepth();
+
+    /**
+     * Returns the maximum number of waiting messages, Integer.MAX_VALUE for an unbounded inbox.
+     *
+     * @return the inbox capacity
+     */
+    int getCapacity();
+
+    /**
+     * Returns the policy applied when the inbox is full.
+     *
+     * @return the overflow policy
+     */
+    OverflowPolicy getOverflowPolicy();
+
+    /**
+     * Returns the number of messages dropped because the inbox was full.
+     *
+     * @return the number of dropped messages
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns the number of messages passed to the dead letter handlers.
+     *
+     * @return the number of dead letters
+     */
+    long getDeadLetterCount();
+
+    /**
+     * Returns the number of messages replaced by a newer message of the same type.
+     *
+     * @return the number of conflated messages
+     */
+    long getConflatedCount();
+}
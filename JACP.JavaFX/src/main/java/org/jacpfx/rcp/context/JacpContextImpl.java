@@ -28,18 +28,24 @@ package org.jacpfx.rcp.context;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
+import org.jacpfx.api.exceptions.MessageQueueFullException;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
 import org.jacpfx.api.util.CustomSecurityManager;
 import org.jacpfx.concurrency.FXWorker;
 import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.component.CallbackComponent;
 import org.jacpfx.rcp.component.FXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.coordinator.DirectRouter;
 import org.jacpfx.rcp.components.managedFragment.ManagedFragment;
 import org.jacpfx.rcp.components.managedFragment.ManagedFragmentHandler;
 import org.jacpfx.rcp.components.modalDialog.JACPModalDialog;
 import org.jacpfx.rcp.message.ActionListenerImpl;
+import org.jacpfx.rcp.message.ComponentAddress;
 import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.perspective.FXPerspective;
 import org.jacpfx.rcp.util.AccessUtil;
 import org.jacpfx.rcp.util.FXUtil;
@@ -49,7 +55,10 @@ import org.jacpfx.rcp.workbench.FXWorkbench;
 import org.jacpfx.rcp.worker.AComponentWorker;
 import org.jacpfx.rcp.worker.AEmbeddedComponentWorker;
 
+import java.util.Collection;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -124,7 +133,64 @@ public class JacpContextImpl implements Context,InternalContext {
         logAndPutMessage(new MessageImpl(this.fullyQualifiedId, targetId, message, null));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void sendAndAwait(final String targetId, final Object message) {
+        logAndTransferMessage(new MessageImpl(this.fullyQualifiedId, targetId, message, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void sendBatch(final String targetId, final Collection<?> messages) {
+        if (messages.isEmpty()) return;
+        logAndPutMessage(new MessageImpl(this.fullyQualifiedId, targetId, new MessageBatch<>(messages), null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final <R> CompletableFuture<R> request(final String targetId, final Object message) {
+        return request(targetId, message, PendingRequests.DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final <R> CompletableFuture<R> request(final String targetId, final Object message, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<R> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, timeout, unit);
+        final ComponentAddress source = this.fullyQualifiedId != null ? ComponentAddress.of(this.fullyQualifiedId) : null;
+        final MessageImpl request = new MessageImpl(source, ComponentAddress.of(targetId), message, null, correlationId);
+        try {
+            logAndPutMessage(request);
+        } catch (MessageQueueFullException e) {
+            // removes the request and completes its future
+            PendingRequests.fail(request, e);
+        }
+        return reply;
+    }
+
     private void logAndPutMessage(Message<Event, Object> m ){
+        MessageLoggerService.getInstance().onSend(m);
+        if (DirectRouter.deliver(m)) return;
+        try {
+            BoundedMessageQueue.publish(this.globalMessageQueue, m);
+        } catch (InterruptedException e) {
+            DirectRouter.release(m);
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(),e);
+        } catch (MessageQueueFullException e) {
+            DirectRouter.release(m);
+            throw e;
+        }
+    }
+
+    private void logAndTransferMessage(Message<Event, Object> m ){
         MessageLoggerService.getInstance().onSend(m);
         try {
             this.globalMessageQueue.transfer(m);
@@ -144,6 +210,29 @@ public class JacpContextImpl implements Context,InternalContext {
         logAndPutMessage(new MessageImpl(this.fullyQualifiedId, this.id, message, null));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void sendAndAwait(final Object message) {
+        final String callerClassName = customSecurityManager.getCallerClassName();
+        if (AccessUtil.hasAccess(callerClassName, FXWorkbench.class))
+            throw new IllegalStateException(" a FXWorkbench is no valid message target");
+        logAndTransferMessage(new MessageImpl(this.fullyQualifiedId, this.id, message, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void sendBatch(final Collection<?> messages) {
+        final String callerClassName = customSecurityManager.getCallerClassName();
+        if (AccessUtil.hasAccess(callerClassName, FXWorkbench.class))
+            throw new IllegalStateException(" a FXWorkbench is no valid message target");
+        if (messages.isEmpty()) return;
+        logAndPutMessage(new MessageImpl(this.fullyQualifiedId, this.id, new MessageBatch<>(messages), null));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -165,7 +254,7 @@ public class JacpContextImpl implements Context,InternalContext {
     @Override
     public final void setId(final String id) {
         this.id = id;
-        this.fullyQualifiedId = this.parentId!=null?this.parentId.concat(FXUtil.PATTERN_GLOBAL).concat(this.id):this.id;
+        this.fullyQualifiedId = FXUtil.getQualifiedComponentId(this.parentId, this.id);
     }
 
     /**
@@ -182,7 +271,7 @@ public class JacpContextImpl implements Context,InternalContext {
     @Override
     public final void setParentId(final String parentId) {
         this.parentId = parentId;
-        this.fullyQualifiedId = this.id!=null?this.parentId.concat(FXUtil.PATTERN_GLOBAL).concat(this.id):this.parentId;
+        this.fullyQualifiedId = this.id!=null?FXUtil.getQualifiedComponentId(this.parentId, this.id):this.parentId;
     }
 
 
@@ -0,0 +1,306 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BoundedMessageQueue.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import org.jacpfx.api.exceptions.MessageQueueFullException;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.PendingRequests;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The message queue of a workbench or perspective. The queue is bounded by a capacity and passes messages to the
+ * message coordinator according to the {@link BackpressurePolicy} defined in the workbench annotation.
+ * Every inserted element, also a transferred one, holds one permit until it was taken by a consumer.
+ *
+ * @param <E> the element type
+ * @author Andy Moncsek
+ */
+public class BoundedMessageQueue<E> extends AbstractQueue<E> implements TransferQueue<E> {
+    private static final Logger LOGGER = Logger.getLogger(BoundedMessageQueue.class.getName());
+    private final LinkedTransferQueue<E> queue = new LinkedTransferQueue<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Semaphore permits;
+    private final int capacity;
+    private final BackpressurePolicy policy;
+
+    public BoundedMessageQueue(final int capacity, final BackpressurePolicy policy) {
+        if (capacity < 1) throw new IllegalArgumentException("the message queue capacity must be greater than 0");
+        this.capacity = capacity;
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+        this.permits = new Semaphore(capacity);
+    }
+
+    /**
+     * Passes the element to the queue according to the queue's backpressure policy.
+     *
+     * @param e the element
+     * @throws InterruptedException     if interrupted while waiting
+     * @throws MessageQueueFullException if the queue is full and the policy is {@link BackpressurePolicy#FAIL}
+     */
+    public void publish(final E e) throws InterruptedException {
+        switch (policy) {
+            case BLOCK:
+                put(e);
+                break;
+            case DROP_OLDEST:
+                while (!offer(e)) {
+                    final E dropped = poll();
+                    if (dropped != null) logDroppedElement(dropped);
+                }
+                break;
+            case FAIL:
+                if (!offer(e))
+                    throw new MessageQueueFullException("message queue capacity of " + capacity + " exceeded, message: " + e);
+                break;
+            default:
+                transfer(e);
+        }
+    }
+
+    /**
+     * Passes the element to a queue, a {@link BoundedMessageQueue} applies its backpressure policy, all other
+     * queues transfer the element.
+     *
+     * @param queue the target queue
+     * @param e     the element
+     * @param <E>   the element type
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static <E> void publish(final TransferQueue<E> queue, final E e) throws InterruptedException {
+        if (queue instanceof BoundedMessageQueue) {
+            ((BoundedMessageQueue<E>) queue).publish(e);
+        } else {
+            queue.transfer(e);
+        }
+    }
+
+    private void logDroppedElement(final E dropped) {
+        droppedCount.incrementAndGet();
+        if (dropped instanceof Message) {
+            DirectRouter.release((Message<?, ?>) dropped);
+            PendingRequests.fail((Message<?, ?>) dropped, new MessageQueueFullException("message queue full, dropped message: " + dropped));
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(">> message queue full, dropped message: " + dropped);
+        }
+    }
+
+    /**
+     * Returns the number of elements dropped by the {@link BackpressurePolicy#DROP_OLDEST} policy.
+     *
+     * @return the dropped element count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public boolean offer(final E e) {
+        Objects.requireNonNull(e);
+        if (!permits.tryAcquire()) return false;
+        queue.offer(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        if (!permits.tryAcquire(timeout, unit)) return false;
+        queue.offer(e);
+        return true;
+    }
+
+    @Override
+    public void put(final E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        permits.acquire();
+        queue.put(e);
+    }
+
+    @Override
+    public void transfer(final E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        permits.acquire();
+        try {
+            queue.transfer(e);
+        } catch (InterruptedException ex) {
+            // an interrupted transfer leaves no element in the queue
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean tryTransfer(final E e) {
+        Objects.requireNonNull(e);
+        if (!permits.tryAcquire()) return false;
+        if (queue.tryTransfer(e)) return true;
+        permits.release();
+        return false;
+    }
+
+    @Override
+    public boolean tryTransfer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        if (!permits.tryAcquire(timeout, unit)) return false;
+        try {
+            if (queue.tryTransfer(e, timeout, unit)) return true;
+        } catch (InterruptedException ex) {
+            permits.release();
+            throw ex;
+        }
+        permits.release();
+        return false;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        final E e = queue.take();
+        permits.release();
+        return e;
+    }
+
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return released(queue.poll(timeout, unit));
+    }
+
+    @Override
+    public E poll() {
+        return released(queue.poll());
+    }
+
+    private E released(final E e) {
+        if (e != null) permits.release();
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!queue.remove(o)) return false;
+        permits.release();
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return queue.contains(o);
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) ;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c, final int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) throw new IllegalArgumentException();
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public boolean hasWaitingConsumer() {
+        return queue.hasWaitingConsumer();
+    }
+
+    @Override
+    public int getWaitingConsumerCount() {
+        return queue.getWaitingConsumerCount();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> it = queue.iterator();
+        return new Iterator<E>() {
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                lastReturned = it.next();
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) throw new IllegalStateException();
+                BoundedMessageQueue.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DirectRouter.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.util.MessageLoggerService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers messages of components directly to the inbox of an active target component, in the thread of the
+ * sender. The target is resolved with the {@link RoutingTable} of the sender's perspective and, for components in
+ * other perspectives, with the routing table of the target perspective, so the message coordinator and the message
+ * delegator are not involved. Messages to perspectives, to inactive components or from perspectives and the workbench
+ * are still passed to the message queue.
+ * To keep the order of the messages to one target, every message to a component which is passed to the message
+ * queue is tracked until the coordinator delivered it; while a target has such pending messages all following
+ * messages to it take the same way. The sender never waits for the target: when the bounded inbox of the target is full
+ * and its overflow policy is BLOCK, the message is passed to the message queue as well.
+ *
+ * @author Andy Moncsek
+ */
+public final class DirectRouter {
+    private static final Logger LOGGER = Logger.getLogger(DirectRouter.class.getName());
+    private static final Map<String, RoutingTable> routingTables = new ConcurrentHashMap<>();
+    private static final Map<Message<Event, Object>, ComponentAddress> inFlight = new ConcurrentHashMap<>();
+    private static final Map<ComponentAddress, Integer> pending = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    private DirectRouter() {
+    }
+
+    /**
+     * Enables or disables the direct routing, this is called once when the workbench is initialized.
+     *
+     * @param directRouting true to deliver messages to active components in the thread of the sender
+     */
+    public static void configure(final boolean directRouting) {
+        enabled = directRouting;
+        log("direct routing: " + directRouting);
+    }
+
+    /**
+     * Returns true when messages to active components are delivered in the thread of the sender.
+     *
+     * @return true if direct routing is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Delivers the message to its target component when the target is active and no earlier message to it is still
+     * pending in a message queue. When false is returned the message must be passed to the message queue of the
+     * sender; a message to a component is then tracked until {@link #release(Message)} is called for it.
+     *
+     * @param message the message to deliver
+     * @return true if the message was delivered
+     */
+    public static boolean deliver(final Message<Event, Object> message) {
+        if (!enabled) return false;
+        final String sourceId = message.getSourceId();
+        if (sourceId == null) return false;
+        final ComponentAddress source = ComponentAddress.of(sourceId);
+        if (source.isLocal()) return false;
+        final Perspective<Node, EventHandler<Event>, Event, Object> senderPerspective = PerspectiveRegistry.findPerspectiveById(source.getParentId());
+        // only components are routed directly, their parent is a perspective
+        if (senderPerspective == null) return false;
+        final RoutingTable.Route route = routingTable(source.getParentId()).resolve(message.getTargetId());
+        switch (route.getTarget()) {
+            case ACTIVE_COMPONENT:
+                return deliverOrTrack(route.getAddress(), route.getComponent(), senderPerspective, message);
+            case REMOTE_COMPONENT:
+                final ComponentAddress address = route.getAddress();
+                final Perspective<Node, EventHandler<Event>, Event, Object> targetPerspective = PerspectiveRegistry.findPerspectiveById(address.getParentId());
+                if (targetPerspective == null) return false;
+                if (!targetPerspective.getContext().isActive() || PerspectiveRegistry.isDeferred(address.getParentId()))
+                    return track(address, message);
+                final RoutingTable.Route remote = routingTable(address.getParentId()).resolve(address.getId());
+                return remote.getTarget() == RoutingTable.Target.ACTIVE_COMPONENT ?
+                        deliverOrTrack(address, remote.getComponent(), targetPerspective, message) :
+                        track(address, message);
+            case INACTIVE_COMPONENT:
+                return track(route.getAddress(), message);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Marks a message tracked by {@link #deliver(Message)} as delivered, this is called by the message coordinator
+     * when the message was passed to its target component or when it was dropped.
+     *
+     * @param message the message
+     */
+    public static void release(final Message<?, ?> message) {
+        if (inFlight.isEmpty()) return;
+        final ComponentAddress target = inFlight.remove(message);
+        if (target != null) pending.computeIfPresent(target, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Returns the number of messages to a component which are still pending in a message queue.
+     *
+     * @param target the qualified component address
+     * @return the number of pending messages
+     */
+    public static int getPendingCount(final ComponentAddress target) {
+        final Integer count = pending.get(target);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Removes all routing tables and pending messages, this is called on application shutdown.
+     */
+    public static void clearOnShutdown() {
+        routingTables.clear();
+        inFlight.clear();
+        pending.clear();
+    }
+
+    private static boolean deliverOrTrack(final ComponentAddress target, final SubComponent<EventHandler<Event>, Event, Object> component,
+                                          final Perspective<Node, EventHandler<Event>, Event, Object> perspective,
+                                          final Message<Event, Object> message) {
+        // earlier messages to this target are still in a queue, so this message must follow them
+        if (pending.containsKey(target)) return track(target, message);
+        if (component instanceof ASubComponent && !(component instanceof AStatelessCallbackComponent)) {
+            // the sender may be the application thread, a full inbox with the BLOCK policy is left to the coordinator
+            if (!ASubComponent.class.cast(component).offerIncomingMessage(message)) return track(target, message);
+            MessageLoggerService.getInstance().handleActive(message);
+            return true;
+        }
+        MessageLoggerService.getInstance().handleActive(message);
+        perspective.getComponentHandler().handleAndReplaceComponent(message, component);
+        return true;
+    }
+
+    static boolean track(final ComponentAddress target, final Message<Event, Object> message) {
+        pending.merge(target, 1, Integer::sum);
+        inFlight.put(message, target);
+        return false;
+    }
+
+    private static RoutingTable routingTable(final String parentId) {
+        final RoutingTable table = routingTables.get(parentId);
+        return table != null ? table : routingTables.computeIfAbsent(parentId, RoutingTable::new);
+    }
+
+    private static void log(final String message) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(">> " + message);
+        }
+    }
+}
@@ -32,7 +32,6 @@ import javafx.scene.Node;
 import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.SubComponent;
-import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.coordinator.Coordinator;
 import org.jacpfx.api.exceptions.ComponentNotFoundException;
 import org.jacpfx.api.handler.ComponentHandler;
@@ -40,7 +39,8 @@ import org.jacpfx.api.launcher.Launcher;
 import org.jacpfx.api.message.DelegateDTO;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.delegator.DelegateDTOImpl;
-import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.*;
 
@@ -56,10 +56,10 @@ public class MessageCoordinator extends Thread implements
     private ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>> componentHandler;
     private ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler;
     private final TransferQueue<DelegateDTO<Event, Object>> delegateQueue;
-    private final TransferQueue<Message<Event, Object>> messages = new LinkedTransferQueue<>();
+    private final TransferQueue<Message<Event, Object>> messages;
     private final String parentId;
     private final Launcher<?> launcher;
-    private static final String seperator = ".";
+    private final RoutingTable routingTable;
 
     public MessageCoordinator(final String parentId,
                               final Launcher<?> launcher) {
@@ -68,12 +68,20 @@ public class MessageCoordinator extends Thread implements
 
     public MessageCoordinator(final String parentId,
                               final Launcher<?> launcher, final TransferQueue<DelegateDTO<Event, Object>> delegateQueue, final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler) {
+        this(parentId, launcher, delegateQueue, perspectiveHandler, new LinkedTransferQueue<>());
+    }
+
+    public MessageCoordinator(final String parentId,
+                              final Launcher<?> launcher, final TransferQueue<DelegateDTO<Event, Object>> delegateQueue, final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler,
+                              final TransferQueue<Message<Event, Object>> messages) {
         super("MessageCoordinator");
         ShutdownThreadsHandler.registerThread(this);
+        this.messages = messages;
         this.parentId = parentId;
         this.launcher = launcher;
         this.delegateQueue = delegateQueue;
         this.perspectiveHandler = perspectiveHandler;
+        this.routingTable = new RoutingTable(parentId);
     }
 
 
@@ -101,31 +109,53 @@ public class MessageCoordinator extends Thread implements
 
     @Override
     public void handleMessage(final String targetId, final Message<Event, Object> message) {
-        final MessageCoordinatorExecutionResult result = executeMessageHandling(targetId, message);
-        final Message<Event, Object> messageObject = result.getMessage();
-        switch (result.getState()) {
-            case HANDLE_ACTIVE:
-                MessageLoggerService.getInstance().handleActive(message);
-                handleActive(result.getTargetComponent(), messageObject);
-                break;
-            case HANDLE_INACTIVE:
-                MessageLoggerService.getInstance().handleInactive(message);
-                handleInActive(result.getTargetComponent(), result.getParentPerspective(), messageObject);
-                break;
-            case HANDLE_CURRENT_PERSPECTIVE:
-                handleCurrentPerspective(result.getTargetId(), message);
-                break;
-            case DELEGATE:
-                MessageLoggerService.getInstance().delegate(message);
-                delegateMessageToCorrectPerspective(result.getDto());
-                break;
-            default:
-                throw new ComponentNotFoundException("no valid component found for id: " + targetId + " found");
+        // a message passed to the delegator is released by the coordinator of the target perspective
+        boolean delegated = false;
+        try {
+            final RoutingTable.Route route = routingTable.resolve(targetId);
+            switch (route.getTarget()) {
+                case ACTIVE_COMPONENT:
+                    MessageLoggerService.getInstance().handleActive(message);
+                    handleActive(route.getComponent(), message);
+                    break;
+                case INACTIVE_COMPONENT:
+                    MessageLoggerService.getInstance().handleInactive(message);
+                    createComponentInstanceAndHandle(route.getAddress(), message);
+                    break;
+                case CURRENT_PERSPECTIVE:
+                    handleCurrentPerspective(route.getAddress(), message);
+                    break;
+                case PERSPECTIVE:
+                    // delegate message to perspective, mark in dto that it is a perspective
+                    MessageLoggerService.getInstance().delegate(message);
+                    delegated = delegateMessageToCorrectPerspective(new DelegateDTOImpl(route.getAddress(), true, message));
+                    break;
+                case REMOTE_COMPONENT:
+                    MessageLoggerService.getInstance().delegate(message);
+                    delegated = delegateMessageToCorrectPerspective(new DelegateDTOImpl(route.getAddress(), false, message));
+                    break;
+                default:
+                    throw new ComponentNotFoundException("no valid component found for id: " + targetId + " found");
+            }
+        } catch (ComponentNotFoundException e) {
+            PendingRequests.fail(message, e);
+            throw e;
+        } finally {
+            if (!delegated) DirectRouter.release(message);
         }
     }
 
-    private void handleCurrentPerspective(final String targetId, final Message<Event, Object> message) {
-        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(targetId);
+    /**
+     * Returns the routing table of this coordinator.
+     *
+     * @return the routing table
+     */
+    public RoutingTable getRoutingTable() {
+        return routingTable;
+    }
+
+    private void handleCurrentPerspective(final ComponentAddress address, final Message<Event, Object> message) {
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveByAddress(address);
         Platform.runLater(() -> this.perspectiveHandler
                 .handleAndReplaceComponent(
                         message, perspective) // End runnable
@@ -137,123 +167,39 @@ public class MessageCoordinator extends Thread implements
     }
 
     private void handleInActive(final SubComponent<EventHandler<Event>, Event, Object> component, final Perspective<Node, EventHandler<Event>, Event, Object> parentPerspective, Message<Event, Object> message) {
-        final JacpContext<EventHandler<Event>, Object> context = component.getContext();
         ComponentUtil.activateComponent(component);
         parentPerspective.addComponent(component);
         this.componentHandler.initComponent(message, component);
     }
 
-    private void delegateMessageToCorrectPerspective(final DelegateDTOImpl dto) {
+    private boolean delegateMessageToCorrectPerspective(final DelegateDTOImpl dto) {
         final Thread t = Thread.currentThread();
         try {
             this.delegateQueue.transfer(dto);
+            return true;
         } catch (InterruptedException e) {
             t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            return false;
         }
     }
 
-    private MessageCoordinatorExecutionResult executeMessageHandling(final String targetId, final Message<Event, Object> message) {
-        if (!FXUtil.isLocalMessage(targetId)) {
-            // this must be a component message
-            return handleGlobalComponentMessage(targetId, message);
-        } else {
-            // unclear if it is a component- or a perspective-message
-            return findCorrectTargetAndProceed(targetId, message);
-        }
-    }
-
-    private MessageCoordinatorExecutionResult findCorrectTargetAndProceed(final String targetId, final Message<Event, Object> message) {
-        // 1. test if perspective itself
-        if (parentId.equalsIgnoreCase(targetId)) {
-            // this is a message to current perspective
-            return new MessageCoordinatorExecutionResult(targetId, message, MessageCoordinatorExecutionResult.State.HANDLE_CURRENT_PERSPECTIVE);
-
-        }
-        // 2. check if it is an active component in registry, active component must have active perspective
-        final SubComponent<EventHandler<Event>, Event, Object> targetComponent = ComponentRegistry.findComponentByQualifiedId(FXUtil.getQualifiedComponentId(parentId, targetId));
-        if (null != targetComponent) {
-            // found an active component
-            return new MessageCoordinatorExecutionResult(targetComponent, message, MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE);
-        }
-        // 3. check if it is a perspective, all perspective (even inactive ones are registerd)
-        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(targetId);
-        if (null != perspective) {
-            // this is a perspective
-            // delegate message to perspective, mark in dto that it is a perspective
-            return new MessageCoordinatorExecutionResult(new DelegateDTOImpl(targetId, true, message), MessageCoordinatorExecutionResult.State.DELEGATE);
-
-        }
-        // 4. check if it is an inactive component in perspective
-        boolean exists = PerspectiveRegistry.perspectiveContainsComponentIdInAnnotation(this.parentId, targetId);
-        if (exists) {
-            // create global id
-            final String globalTarget = this.parentId +seperator+targetId;
-            return createComponentInstanceAndRegister(globalTarget, message);
-        }
-        return new MessageCoordinatorExecutionResult(MessageCoordinatorExecutionResult.State.ERROR);
-    }
-
     /**
-     * Handles messages with fully qualified value like "parentId.componentId"
+     * Creates a new component instance, registers it in its parent perspective and handles the message
      *
-     * @param targetId the fully qualified id
-     * @param message  the message
-     * @return a MessageCoordinatorExecutionResult with values "HANDLE_ACTIVE" , "HANDLE_INACTIVE", "DELEGATE", or "ERROR"
+     * @param address the qualified component address
+     * @param message the message
      */
-    private MessageCoordinatorExecutionResult handleGlobalComponentMessage(final String targetId, final Message<Event, Object> message) {
-        final String parentMessageId = FXUtil.getParentFromId(targetId);
-        if (parentId.equalsIgnoreCase(parentMessageId)) {
-            // this is a message to local component in current perspective
-            return getTargetComponentInCurrentPerspective(targetId, message);
-        } else {
-            // this must be a message in different perspective
-            return new MessageCoordinatorExecutionResult(new DelegateDTOImpl(targetId, message), MessageCoordinatorExecutionResult.State.DELEGATE);
-        }
-    }
-
-
-    /**
-     * Returns the target component by targetId specified in message.
-     *
-     * @param targetId the fully qualified id
-     * @param message  the message
-     * @return a MessageCoordinatorExecutionResult  with value "HANDLE_ACTIVE"  or "HANDLE_INACTIVE"
-     */
-    private MessageCoordinatorExecutionResult getTargetComponentInCurrentPerspective(final String targetId,
-                                                                                     final Message<Event, Object> message) {
-        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByQualifiedId(targetId);
-        if (null != component) {
-            // component is active
-            return new MessageCoordinatorExecutionResult(component, message, MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE);
-        } else {
-            // start inactive component
-            return createComponentInstanceAndRegister(targetId, message);
-        }
-    }
-
-    /**
-     * Creates a new component instance and registers it
-     *
-     * @param targetId the fully qualified id
-     * @param message  the message
-     * @return a MessageCoordinatorExecutionResult  with value "HANDLE_INACTIVE"
-     */
-    private MessageCoordinatorExecutionResult createComponentInstanceAndRegister(final String targetId, final Message<Event, Object> message) {
-        final SubComponent<EventHandler<Event>, Event, Object> component = PerspectiveUtil.getInstance(this.launcher).createSubcomponentById(targetId);
+    private void createComponentInstanceAndHandle(final ComponentAddress address, final Message<Event, Object> message) {
+        final SubComponent<EventHandler<Event>, Event, Object> component = PerspectiveUtil.getInstance(this.launcher).createSubcomponentById(address.getId());
         if (null == component) throw new ComponentNotFoundException(
                 "invalid component id. Source: "
                         + message.getSourceId() + " target: "
                         + message.getTargetId());
-
-        return findParentPerspectiveAndRegisterComponent(component, message, targetId);
-    }
-
-    private static MessageCoordinatorExecutionResult findParentPerspectiveAndRegisterComponent(final SubComponent<EventHandler<Event>, Event, Object> component, final Message<Event, Object> message, final String targetId) {
-        final Perspective<Node, EventHandler<Event>, Event, Object> parentPerspective = PerspectiveRegistry.findPerspectiveById(FXUtil.getTargetPerspectiveId(targetId));
+        final Perspective<Node, EventHandler<Event>, Event, Object> parentPerspective = PerspectiveRegistry.findPerspectiveById(address.getPerspectiveId());
         if (null == parentPerspective)
-            throw new ComponentNotFoundException("no valid perspective for component " + targetId + " found");
+            throw new ComponentNotFoundException("no valid perspective for component " + address + " found");
         parentPerspective.registerComponent(component);
-        return new MessageCoordinatorExecutionResult(component, parentPerspective, message, MessageCoordinatorExecutionResult.State.HANDLE_INACTIVE);
+        handleInActive(component, parentPerspective, message);
     }
 
 
@@ -317,12 +263,40 @@ public class MessageCoordinator extends Thread implements
     @FunctionalInterface
     public interface HandlerBuilder {
         /**
-         * the last step which creates the Coordinator instance
+         * add the perspective handler reference
          *
          * @param perspectiveHandler the perspective handler reference
+         * @return the next builder MessageQueueBuilder
+         */
+        MessageQueueBuilder handler(final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler);
+    }
+
+    /**
+     * fifth builder interface for the message queue
+     */
+    @FunctionalInterface
+    public interface MessageQueueBuilder {
+        /**
+         * add the message queue
+         *
+         * @param messageQueue the queue all components of the parent send their messages to
+         * @return the next builder ShardsBuilder
+         */
+        ShardsBuilder messageQueue(final TransferQueue<Message<Event, Object>> messageQueue);
+    }
+
+    /**
+     * sixth builder interface for the number of routing threads
+     */
+    @FunctionalInterface
+    public interface ShardsBuilder {
+        /**
+         * the last step which creates the Coordinator instance
+         *
+         * @param shards the number of routing threads, a value greater than 1 creates a {@link ShardedMessageCoordinator}
          * @return the MessageCoordinator instance
          */
-        MessageCoordinator handler(final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler);
+        MessageCoordinator shards(final int shards);
     }
 
     /**
@@ -330,6 +304,8 @@ public class MessageCoordinator extends Thread implements
      * @return the initial builder interface ParentIdBuilder
      */
     public static ParentIdBuilder build() {
-        return parentId -> launcher -> delegateQueue -> handler -> new MessageCoordinator(parentId, launcher, delegateQueue, handler);
+        return parentId -> launcher -> delegateQueue -> handler -> messageQueue -> shards -> shards > 1 ?
+                new ShardedMessageCoordinator(parentId, launcher, delegateQueue, handler, messageQueue, shards) :
+                new MessageCoordinator(parentId, launcher, delegateQueue, handler, messageQueue);
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RoutingTable.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The routing table of a message coordinator. It maps the raw target id of a message (like "componentId" or
+ * "parentId.componentId") to a resolved {@link Route}, so the registries are only consulted the first time a
+ * target is addressed. A route remembers the versions of the {@link ComponentRegistry} and the
+ * {@link PerspectiveRegistry} it was resolved with; when a component or perspective is registered, removed or
+ * moved the versions change and the route is resolved again on its next use.
+ *
+ * @author Andy Moncsek
+ */
+public class RoutingTable {
+
+    private final String parentId;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * The kind of target a message id resolves to.
+     */
+    public enum Target {
+        /**
+         * the parent perspective of the coordinator itself
+         */
+        CURRENT_PERSPECTIVE,
+        /**
+         * an active component in the parent perspective
+         */
+        ACTIVE_COMPONENT,
+        /**
+         * a declared but inactive component in the parent perspective, which must be created
+         */
+        INACTIVE_COMPONENT,
+        /**
+         * another perspective
+         */
+        PERSPECTIVE,
+        /**
+         * a component in another perspective
+         */
+        REMOTE_COMPONENT,
+        /**
+         * no valid target
+         */
+        UNKNOWN
+    }
+
+    public RoutingTable(final String parentId) {
+        this.parentId = parentId;
+    }
+
+    /**
+     * Returns the route for a target id. Valid routes are cached until one of the registries changes.
+     *
+     * @param targetId the target id of the message
+     * @return the resolved route, never null
+     */
+    public Route resolve(final String targetId) {
+        final long componentVersion = ComponentRegistry.getVersion();
+        final long perspectiveVersion = PerspectiveRegistry.getVersion();
+        final Route cached = routes.get(targetId);
+        if (cached != null && cached.componentVersion == componentVersion && cached.perspectiveVersion == perspectiveVersion)
+            return cached;
+        final ComponentAddress address = ComponentAddress.of(targetId);
+        final Route route = address.isLocal() ?
+                resolveLocalAddress(address, componentVersion, perspectiveVersion) :
+                resolveQualifiedAddress(address, componentVersion, perspectiveVersion);
+        if (route.target != Target.UNKNOWN) routes.put(targetId, route);
+        return route;
+    }
+
+    /**
+     * Removes all cached routes.
+     */
+    public void clear() {
+        routes.clear();
+    }
+
+    /**
+     * Resolves ids without parent part, this can be the current perspective, a component in the current perspective or an other perspective.
+     */
+    private Route resolveLocalAddress(final ComponentAddress address, final long componentVersion, final long perspectiveVersion) {
+        // 1. test if perspective itself
+        if (parentId.equalsIgnoreCase(address.getId()))
+            return new Route(Target.CURRENT_PERSPECTIVE, address, null, componentVersion, perspectiveVersion);
+        // 2. check if it is an active component in registry, active component must have active perspective
+        final ComponentAddress qualified = address.qualify(parentId);
+        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByAddress(qualified);
+        if (component != null)
+            return new Route(Target.ACTIVE_COMPONENT, qualified, component, componentVersion, perspectiveVersion);
+        // 3. check if it is a perspective, all perspective (even inactive ones are registerd)
+        if (PerspectiveRegistry.findPerspectiveByAddress(address) != null)
+            return new Route(Target.PERSPECTIVE, address, null, componentVersion, perspectiveVersion);
+        // 4. check if it is an inactive component in perspective
+        if (PerspectiveRegistry.perspectiveContainsComponentIdInAnnotation(parentId, address.getComponentId()))
+            return new Route(Target.INACTIVE_COMPONENT, qualified, null, componentVersion, perspectiveVersion);
+        return new Route(Target.UNKNOWN, address, null, componentVersion, perspectiveVersion);
+    }
+
+    /**
+     * Resolves ids like "parentId.componentId"
+     */
+    private Route resolveQualifiedAddress(final ComponentAddress address, final long componentVersion, final long perspectiveVersion) {
+        if (!parentId.equalsIgnoreCase(address.getParentId())) {
+            // this must be a message in different perspective
+            return new Route(Target.REMOTE_COMPONENT, address, null, componentVersion, perspectiveVersion);
+        }
+        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByAddress(address);
+        return component != null ?
+                new Route(Target.ACTIVE_COMPONENT, address, component, componentVersion, perspectiveVersion) :
+                new Route(Target.INACTIVE_COMPONENT, address, null, componentVersion, perspectiveVersion);
+    }
+
+    /**
+     * A resolved message target.
+     */
+    public static final class Route {
+        private final Target target;
+        private final ComponentAddress address;
+        private final SubComponent<EventHandler<Event>, Event, Object> component;
+        private final long componentVersion;
+        private final long perspectiveVersion;
+
+        private Route(final Target target, final ComponentAddress address, final SubComponent<EventHandler<Event>, Event, Object> component,
+                      final long componentVersion, final long perspectiveVersion) {
+            this.target = target;
+            this.address = address;
+            this.component = component;
+            this.componentVersion = componentVersion;
+            this.perspectiveVersion = perspectiveVersion;
+        }
+
+        public Target getTarget() {
+            return target;
+        }
+
+        /**
+         * Returns the address to use for the target, this is the qualified address for components in the current perspective.
+         *
+         * @return the target address
+         */
+        public ComponentAddress getAddress() {
+            return address;
+        }
+
+        /**
+         * Returns the target component for routes of type {@link Target#ACTIVE_COMPONENT}.
+         *
+         * @return the active component or null
+         */
+        public SubComponent<EventHandler<Event>, Event, Object> getComponent() {
+            return component;
+        }
+    }
+}
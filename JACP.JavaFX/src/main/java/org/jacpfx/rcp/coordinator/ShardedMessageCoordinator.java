@@ -0,0 +1,151 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ShardedMessageCoordinator.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.exceptions.MessageQueueFullException;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.message.DelegateDTO;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.concurrent.TransferQueue;
+
+/**
+ * A message coordinator which routes messages in N shard threads. The coordinator thread itself only takes the
+ * messages from the message queue and passes each message to the shard selected by the component part of the
+ * target id, so all messages to one target are routed by the same shard in the order they were sent, while
+ * messages to different targets are routed in parallel. The shard queues have the capacity and the backpressure
+ * policy of the message queue, so a slow shard holds back the coordinator and finally the senders.
+ *
+ * @author Andy Moncsek
+ */
+public class ShardedMessageCoordinator extends MessageCoordinator {
+
+    private final RoutingShard[] shards;
+
+    public ShardedMessageCoordinator(final String parentId,
+                                     final Launcher<?> launcher, final TransferQueue<DelegateDTO<Event, Object>> delegateQueue, final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler,
+                                     final TransferQueue<Message<Event, Object>> messages, final int shardCount) {
+        super(parentId, launcher, delegateQueue, perspectiveHandler, messages);
+        if (shardCount < 1) throw new IllegalArgumentException("the coordinator shard count must be greater than 0");
+        this.shards = new RoutingShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new RoutingShard(parentId, i, createShardQueue(messages));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        for (final RoutingShard shard : shards) {
+            shard.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void run() {
+        final TransferQueue<Message<Event, Object>> messages = getMessageQueue();
+        while (!Thread.interrupted()) {
+            Message<Event, Object> message = null;
+            try {
+                message = messages.take();
+                shards[shardIndex(message.getTargetId(), shards.length)].messages.publish(message);
+            } catch (InterruptedException e) {
+                // this can happen on application shutdown
+                break;
+            } catch (MessageQueueFullException e) {
+                DirectRouter.release(message);
+                PendingRequests.fail(message, e);
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            } catch (Exception e) {
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the shard for a target id. Only the component part of the id is hashed, so "componentId" and
+     * "parentId.componentId" are routed by the same shard.
+     *
+     * @param targetId   the message target id
+     * @param shardCount the number of shards
+     * @return the shard index
+     */
+    static int shardIndex(final String targetId, final int shardCount) {
+        int hash = 0;
+        for (int i = targetId.lastIndexOf(FXUtil.PATTERN_GLOBAL) + 1; i < targetId.length(); i++) {
+            hash = 31 * hash + targetId.charAt(i);
+        }
+        hash ^= (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % shardCount;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BoundedMessageQueue<Message<Event, Object>> createShardQueue(final TransferQueue<Message<Event, Object>> messages) {
+        if (messages instanceof BoundedMessageQueue) {
+            final BoundedMessageQueue<Message<Event, Object>> bounded = (BoundedMessageQueue<Message<Event, Object>>) messages;
+            return new BoundedMessageQueue<>(bounded.getCapacity(), bounded.getPolicy());
+        }
+        return new BoundedMessageQueue<>(Integer.MAX_VALUE, BackpressurePolicy.BLOCK);
+    }
+
+    private final class RoutingShard extends Thread {
+        private final BoundedMessageQueue<Message<Event, Object>> messages;
+
+        private RoutingShard(final String parentId, final int index, final BoundedMessageQueue<Message<Event, Object>> messages) {
+            super("MessageCoordinator-" + parentId + "-" + index);
+            this.messages = messages;
+            ShutdownThreadsHandler.registerThread(this);
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.interrupted()) {
+                try {
+                    final Message<Event, Object> message = messages.take();
+                    handleMessage(message.getTargetId(), message);
+                } catch (InterruptedException e) {
+                    // this can happen on application shutdown
+                    break;
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+}
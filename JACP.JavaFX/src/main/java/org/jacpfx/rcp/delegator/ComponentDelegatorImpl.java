@@ -109,7 +109,7 @@ public class ComponentDelegatorImpl extends Thread implements
 
     private void activateInactiveComponent(
             final Perspective<Node, EventHandler<Event>, Event, Object> responsiblePerspective) {
-        if (!responsiblePerspective.getContext().isActive()) {
+        if (!responsiblePerspective.getContext().isActive() || PerspectiveRegistry.isDeferred(responsiblePerspective.getContext().getId())) {
             // 1. init perspective (do not register component before perspective
             // is active, otherwise component will be handled once again)
             this.handleInActivePerspective(responsiblePerspective,
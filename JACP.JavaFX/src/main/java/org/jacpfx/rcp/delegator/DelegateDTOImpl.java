@@ -27,6 +27,7 @@ package org.jacpfx.rcp.delegator;
 import javafx.event.Event;
 import org.jacpfx.api.message.DelegateDTO;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.ComponentAddress;
 
 /**
  * DTO interface to transfer component to desired target
@@ -35,17 +36,19 @@ import org.jacpfx.api.message.Message;
  * 
  */
 public class DelegateDTOImpl implements DelegateDTO<Event, Object> {
-	private final String target;
+	private final ComponentAddress target;
 	private final Message<Event, Object> action;
     private final boolean isPerspective;
 
 	public DelegateDTOImpl(final String target, final Message<Event, Object> action) {
-		this.target = target;
-		this.action = action;
-        this.isPerspective = false;
+		this(ComponentAddress.of(target), false, action);
 	}
 
     public DelegateDTOImpl(final String target, final boolean isPerspective, final Message<Event, Object> action) {
+        this(ComponentAddress.of(target), isPerspective, action);
+    }
+
+    public DelegateDTOImpl(final ComponentAddress target, final boolean isPerspective, final Message<Event, Object> action) {
         this.target = target;
         this.action = action;
         this.isPerspective = isPerspective;
@@ -53,9 +56,18 @@ public class DelegateDTOImpl implements DelegateDTO<Event, Object> {
 
 	@Override
 	public String getTarget() {
-		return this.target;
+		return this.target.getId();
 	}
 
+    /**
+     * Returns the pre-parsed target address.
+     *
+     * @return the target address
+     */
+    public ComponentAddress getTargetAddress() {
+        return this.target;
+    }
+
 	@Override
 	public Message<Event, Object> getMessage() {
 		return this.action;
@@ -25,22 +25,30 @@
 
 package org.jacpfx.rcp.delegator;
 
+import javafx.application.Platform;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.exceptions.MessageQueueFullException;
 import org.jacpfx.api.handler.ComponentHandler;
 import org.jacpfx.api.message.DelegateDTO;
 import org.jacpfx.api.message.Message;
-import org.jacpfx.concurrency.FXWorker;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.coordinator.DirectRouter;
 import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.util.DeadLetterService;
 import org.jacpfx.rcp.util.FXUtil;
 import org.jacpfx.rcp.util.ShutdownThreadsHandler;
 
-import java.util.concurrent.ExecutionException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TransferQueue;
 import java.util.logging.Logger;
@@ -54,6 +62,8 @@ public class MessageDelegatorImpl extends Thread implements
     private final Logger logger = Logger.getLogger(this.getClass().getName());
     private ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler;
     private final TransferQueue<DelegateDTO<Event, Object>> messageDelegateQueue = new LinkedTransferQueue<>();
+    // only accessed by the delegator thread
+    private final Map<String, List<Message<Event, Object>>> pendingMessages = new HashMap<>();
 
     public MessageDelegatorImpl() {
         super("MessageDelegatorImpl");
@@ -65,13 +75,14 @@ public class MessageDelegatorImpl extends Thread implements
         while (!Thread.interrupted()) {
             try {
                 final DelegateDTO<Event, Object> dto = this.messageDelegateQueue.take();
-                this.handleCall(dto.getTarget(), dto.getMessage());
+                if (dto instanceof ActivationCompleted) {
+                    this.completeActivation((ActivationCompleted) dto);
+                } else {
+                    this.handleCall(dto.getTarget(), dto.getMessage());
+                }
             } catch (final InterruptedException e) {
                 logger.info("queue in ComponentDelegator interrupted");
                 break;
-            } catch (final ExecutionException e) {
-                logger.info("queue in ComponentDelegator interrupted");
-                e.printStackTrace();
             }
 
         }
@@ -80,22 +91,130 @@ public class MessageDelegatorImpl extends Thread implements
 
 
     private void handleCall(final String targetId,
-                                     final Message<Event, Object> message) throws ExecutionException, InterruptedException {
+                                     final Message<Event, Object> message) throws InterruptedException {
         final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(FXUtil.getTargetPerspectiveId(targetId));
-        if(perspective==null) throw new ComponentNotFoundException("no perspective for message : "+targetId+ " found");
-        checkPerspectiveAndInit(perspective);
-        perspective.getMessageQueue().put(message);
+        if(perspective==null) {
+            DirectRouter.release(message);
+            final ComponentNotFoundException e = new ComponentNotFoundException("no perspective for message : "+targetId+ " found");
+            PendingRequests.fail(message, e);
+            throw e;
+        }
+        final String perspectiveId = perspective.getContext().getId();
+        final List<Message<Event, Object>> pending = pendingMessages.get(perspectiveId);
+        if (pending != null) {
+            // the perspective is initializing, the message is passed when the activation completes
+            addPendingMessage(perspective, pending, message);
+            return;
+        }
+        if (isInitialized(perspective)) {
+            perspective.getMessageQueue().put(message);
+            return;
+        }
+        final List<Message<Event, Object>> messages = new ArrayList<>();
+        messages.add(message);
+        pendingMessages.put(perspectiveId, messages);
+        initPerspective(perspective);
     }
 
-    private void checkPerspectiveAndInit(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) throws ExecutionException, InterruptedException {
-        if(perspective.getContext().isActive()) return;
-        initPerspective(perspective);
+    /**
+     * Queues a message for an initializing perspective. The queue holds as many messages as the message queue of the
+     * perspective, further messages are rejected.
+     */
+    private void addPendingMessage(final Perspective<Node, EventHandler<Event>, Event, Object> perspective,
+                                   final List<Message<Event, Object>> pending, final Message<Event, Object> message) {
+        final TransferQueue<Message<Event, Object>> queue = perspective.getMessageQueue();
+        final int capacity = queue instanceof BoundedMessageQueue ? ((BoundedMessageQueue<?>) queue).getCapacity() : Integer.MAX_VALUE;
+        if (pending.size() < capacity) {
+            pending.add(message);
+            return;
+        }
+        DirectRouter.release(message);
+        final MessageQueueFullException e = new MessageQueueFullException("perspective "
+                + perspective.getContext().getId() + " is initializing and " + capacity + " messages are pending, message: " + message);
+        PendingRequests.fail(message, e);
+        final Thread t = Thread.currentThread();
+        t.getUncaughtExceptionHandler().uncaughtException(t, e);
     }
 
-    private void initPerspective(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) throws ExecutionException, InterruptedException {
+    private boolean isInitialized(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+        return perspective.getContext().isActive() && !PerspectiveRegistry.isDeferred(perspective.getContext().getId());
+    }
+
+    /**
+     * Activates the perspective in the FX application thread without waiting for it, so the delegator continues with
+     * the messages of other perspectives. When the activation is done the FX application thread passes an
+     * {@link ActivationCompleted} to the delegator, which then passes the queued messages to the perspective.
+     */
+    private void initPerspective(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         perspective.updatePositions(1,1);
-        FXWorker.invokeOnFXThreadAndWait(() -> this.perspectiveHandler.initComponent(new MessageImpl(perspective.getContext().getId(), perspective
-                .getContext().getId(), "init", null), perspective));
+        final String perspectiveId = perspective.getContext().getId();
+        Platform.runLater(() -> {
+            Exception error = null;
+            try {
+                // the perspective may have been activated by the user in the meantime
+                if (!isInitialized(perspective)) {
+                    this.perspectiveHandler.initComponent(new MessageImpl(perspectiveId, perspectiveId, "init", null), perspective);
+                }
+            } catch (final Exception e) {
+                error = e;
+                final Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            } finally {
+                this.messageDelegateQueue.offer(new ActivationCompleted(perspective, error));
+            }
+        });
+    }
+
+    /**
+     * Passes the queued messages to the activated perspective in the order they arrived. When the activation failed
+     * the messages are passed to the {@link DeadLetterService} and their requests fail with the activation error.
+     */
+    private void completeActivation(final ActivationCompleted activation) throws InterruptedException {
+        final List<Message<Event, Object>> messages = pendingMessages.remove(activation.getTarget());
+        if (messages == null) return;
+        if (activation.error != null) {
+            logger.warning("activation of perspective " + activation.getTarget() + " failed, "
+                    + messages.size() + " pending messages not delivered");
+            for (final Message<Event, Object> message : messages) {
+                DirectRouter.release(message);
+                DeadLetterService.getInstance().onDeadLetter(message);
+                PendingRequests.fail(message, activation.error);
+            }
+            return;
+        }
+        final TransferQueue<Message<Event, Object>> queue = activation.perspective.getMessageQueue();
+        for (final Message<Event, Object> message : messages) {
+            queue.put(message);
+        }
+    }
+
+    /**
+     * Signals the delegator thread that the activation of a perspective is done.
+     */
+    private static final class ActivationCompleted implements DelegateDTO<Event, Object> {
+        private final Perspective<Node, EventHandler<Event>, Event, Object> perspective;
+        // the error of a failed activation, null when the perspective was activated
+        private final Exception error;
+
+        private ActivationCompleted(final Perspective<Node, EventHandler<Event>, Event, Object> perspective, final Exception error) {
+            this.perspective = perspective;
+            this.error = error;
+        }
+
+        @Override
+        public String getTarget() {
+            return perspective.getContext().getId();
+        }
+
+        @Override
+        public Message<Event, Object> getMessage() {
+            return null;
+        }
+
+        @Override
+        public boolean isPerspective() {
+            return true;
+        }
     }
 
 
@@ -38,6 +38,8 @@ import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.scheduler.StatelessComponentSchedulerImpl;
 import org.jacpfx.rcp.util.HandlerThreadFactory;
 import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+import org.jacpfx.rcp.util.StartupExecutor;
+import org.jacpfx.rcp.util.StartupTimeline;
 import org.jacpfx.rcp.worker.CallbackComponentInitWorker;
 import org.jacpfx.rcp.worker.FXComponentInitWorker;
 
@@ -121,7 +123,8 @@ public class ComponentHandlerImpl
 			final SubComponent<EventHandler<Event>, Event, Object> component) {
         if (EmbeddedFXComponent.class.isAssignableFrom(component.getClass())) {
 			this.log("COMPONENT EXECUTE INIT:::" , component.getContext().getId());
-			this.fxInitExecutor.execute(new FXComponentInitWorker(
+            StartupTimeline.begin("init component " + component.getContext().getId());
+			initExecutor(this.fxInitExecutor).execute(new FXComponentInitWorker(
                     this.perspectiveLayout.getTargetLayoutComponents(),
                     ((EmbeddedFXComponent) component), action, this.componentDelegateQueue));
 			return;
@@ -130,19 +133,29 @@ public class ComponentHandlerImpl
 			this.log("SATELESS BACKGROUND COMPONENT EXECUTE INIT:::"
                     , component.getContext().getId());
             final AStatelessCallbackComponent asyncComponent = AStatelessCallbackComponent.class.cast(component);
+            this.scheduler.warmUp(asyncComponent);
 			this.runStatelessCallbackComponent(asyncComponent, action);
             return;
         }// else if END
         if (ASubComponent.class.isAssignableFrom(component.getClass())) {
             this.log("BACKGROUND COMPONENT EXECUTE INIT:::"
                     , component.getContext().getId());
-            this.callbackInitExecutor.execute(new CallbackComponentInitWorker(
+            StartupTimeline.begin("init component " + component.getContext().getId());
+            initExecutor(this.callbackInitExecutor).execute(new CallbackComponentInitWorker(
                     this.componentDelegateQueue, ((ASubComponent) component), action));
         }// else if END
 
 	}
 
 
+    /**
+     * In parallel startup mode components are initialized concurrently on the startup pool, otherwise one after
+     * another on the init executor of the perspective.
+     */
+    private static ExecutorService initExecutor(final ExecutorService perspectiveExecutor) {
+        return StartupExecutor.isParallel() ? StartupExecutor.get() : perspectiveExecutor;
+    }
+
 	/**
 	 * set component blocked and add message to queue
 	 * 
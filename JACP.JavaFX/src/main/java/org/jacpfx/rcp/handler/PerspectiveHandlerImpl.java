@@ -55,12 +55,15 @@ import org.jacpfx.rcp.perspective.AFXPerspective;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.FXUtil;
 import org.jacpfx.rcp.util.MessageLoggerService;
+import org.jacpfx.rcp.util.StartupTimeline;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.workbench.GlobalMediator;
 
 import java.net.URL;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -75,7 +78,7 @@ public class PerspectiveHandlerImpl implements
     private final WorkbenchLayout<Node> workbenchLayout;
     private final Launcher<?> launcher;
     private final Pane root;
-
+    private final Set<String> preparedPerspectives = ConcurrentHashMap.newKeySet();
 
     public PerspectiveHandlerImpl(final Launcher<?> launcher, final WorkbenchLayout<Node> workbenchLayout,
                                   final Pane root) {
@@ -208,6 +211,12 @@ public class PerspectiveHandlerImpl implements
             final String previousPerspectiveId = current.getContext().getId();
             if (!possiblePerspectiveId.equals(previousPerspectiveId)) {
                 PerspectiveRegistry.getAndSetCurrentVisiblePerspective(possiblePerspectiveId);
+                if (PerspectiveRegistry.isDeferred(possiblePerspectiveId)) {
+                    // the deferred perspective gets materialized and displayed on init
+                    perspective.updatePositions(1, 1);
+                    initComponent(new MessageImpl(possiblePerspectiveId, possiblePerspectiveId, "init", null), perspective);
+                    return;
+                }
                 final PerspectiveLayoutInterface<? extends Node, Node> perspectiveLayoutReplacementComponent = perspective
                         .getIPerspectiveLayout();
                 // execute OnShow
@@ -236,24 +245,72 @@ public class PerspectiveHandlerImpl implements
 
             final JacpContext<EventHandler<Event>, Object> context = perspective.getContext();
             final String currentPerspectiveId = context.getId();
+            if (PerspectiveRegistry.materializePerspective(currentPerspectiveId)) {
+                this.log("3.4.3.0: materialize deferred perspective " + currentPerspectiveId);
+                // a deferred perspective is only displayed when it was selected as the visible perspective before
+                if (!currentPerspectiveId.equals(PerspectiveRegistry.getCurrentVisiblePerspective())) {
+                    materializeHiddenPerspective(message, perspective);
+                    return;
+                }
+            }
             final String previousePerspectiveId = PerspectiveRegistry.getAndSetCurrentVisiblePerspective(currentPerspectiveId);
             final Perspective<Node, EventHandler<Event>, Event, Object> previousePerspective = previousePerspectiveId != null && !currentPerspectiveId.equals(previousePerspectiveId) ?
                     PerspectiveRegistry.findPerspectiveById(previousePerspectiveId != null ? previousePerspectiveId : "") : null;
 
             hidePreviousPerspective(previousePerspective);
-            handlePerspectiveInitialization(perspective);
+            if (!preparedPerspectives.remove(currentPerspectiveId)) handlePerspectiveInitialization(perspective);
+            StartupTimeline.begin("attach perspective " + currentPerspectiveId);
             handlePerspective(message, perspective);
             initPerspectiveUI(perspective.getIPerspectiveLayout());
             updateToolbarButtons(previousePerspective, false);
             this.log("3.4.4: perspective init subcomponents");
             perspective.initComponents(message);
             updateToolbarButtons(perspective, true);
+            StartupTimeline.end("attach perspective " + currentPerspectiveId);
         } catch (final Exception e) {
             t.getUncaughtExceptionHandler().uncaughtException(t, e);
         }
 
     }
 
+    /**
+     * Initializes a deferred perspective which is not the visible perspective, the perspective and its components
+     * get created without replacing the visible perspective in the workbench. It is displayed when it gets selected.
+     *
+     * @param message     the message which triggered the initialization
+     * @param perspective the deferred perspective
+     */
+    private void materializeHiddenPerspective(final Message<Event, Object> message,
+                                              final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+        final String id = perspective.getContext().getId();
+        if (!preparedPerspectives.remove(id)) handlePerspectiveInitialization(perspective);
+        StartupTimeline.begin("attach perspective " + id);
+        InternalContext.class.cast(perspective.getContext()).updateActiveState(true);
+        handlePerspectiveMessage(message, perspective);
+        this.log("3.4.4: perspective init subcomponents");
+        perspective.initComponents(message);
+        StartupTimeline.end("attach perspective " + id);
+    }
+
+    /**
+     * Creates the perspective layout, loads the FXML, runs the PostConstruct method and creates all subcomponents of
+     * a perspective without attaching it to the workbench. This method does not require the FX application thread; a
+     * following {@link #initComponent(Message, Perspective)} call skips these steps for the prepared perspective.
+     *
+     * @param perspective the perspective to prepare
+     */
+    public final void preparePerspective(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+        final String id = perspective.getContext().getId();
+        this.log("3.4.2.1: prepare perspective " + id);
+        StartupTimeline.begin("prepare perspective " + id);
+        try {
+            handlePerspectiveInitialization(perspective);
+            preparedPerspectives.add(id);
+        } finally {
+            StartupTimeline.end("prepare perspective " + id);
+        }
+    }
+
     private void hidePreviousPerspective(final Perspective<Node, EventHandler<Event>, Event, Object> previousePerspective) {
 
         if (previousePerspective != null) {
@@ -355,6 +412,11 @@ public class PerspectiveHandlerImpl implements
             // execute OnShow
             onShow(perspective);
         }
+        handlePerspectiveMessage(action, perspective);
+    }
+
+    private void handlePerspectiveMessage(final Message<Event, Object> action,
+                                          final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         MessageLoggerService.getInstance().receive(action);
         if (FXUtil.getTargetPerspectiveId(action.getTargetId()).equals(perspective.getContext().getId())) {
             this.log("3.4.3.1: perspective handle with custom message");
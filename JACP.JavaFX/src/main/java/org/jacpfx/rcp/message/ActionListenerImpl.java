@@ -28,6 +28,8 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import org.jacpfx.api.message.ActionListener;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.coordinator.DirectRouter;
 import org.jacpfx.rcp.util.MessageLoggerService;
 
 import java.util.Objects;
@@ -64,7 +66,13 @@ public class ActionListenerImpl<T extends Event> implements EventHandler<T>,
 
 	private void logAndPutMessage(Message<Event, Object> m ) throws InterruptedException {
 		MessageLoggerService.getInstance().onSend(m);
-		this.globalMessageQueue.transfer(m);
+		if (DirectRouter.deliver(m)) return;
+		try {
+			BoundedMessageQueue.publish(this.globalMessageQueue, m);
+		} catch (InterruptedException | RuntimeException e) {
+			DirectRouter.release(m);
+			throw e;
+		}
 	}
 
 
@@ -0,0 +1,216 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentAddress.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.message;
+
+import org.jacpfx.rcp.util.FXUtil;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The pre-parsed address of a component or perspective. An address is either local, like "componentId", or
+ * qualified, like "parentId.componentId". Addresses are interned: the id is parsed once, and every later call of
+ * {@link #of(String)} or {@link #of(String, String)} with the same values returns the same instance, so addresses
+ * can be used as map keys without re-splitting or re-concatenating the id. The number of interned addresses is
+ * limited, so ids of removed components or mistyped targets can not fill the memory; beyond the limit a new address
+ * is parsed on every call. Addresses must therefore be compared with {@link #equals(Object)}.
+ *
+ * @author Andy Moncsek
+ */
+public final class ComponentAddress {
+
+    private static final int MAX_INTERNED = 10000;
+    private static final Map<String, ComponentAddress> byId = new ConcurrentHashMap<>();
+    private static final Map<String, ComponentAddress> local = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, ComponentAddress>> byParent = new ConcurrentHashMap<>();
+    private static final AtomicInteger interned = new AtomicInteger();
+
+    private final String id;
+    private final String parentId;
+    private final String componentId;
+    private final int hash;
+    private volatile ComponentAddress qualified;
+
+    private ComponentAddress(final String parentId, final String componentId) {
+        this.parentId = parentId;
+        this.componentId = componentId;
+        this.id = parentId == null ? componentId : parentId.concat(FXUtil.PATTERN_GLOBAL).concat(componentId);
+        this.hash = id.hashCode();
+    }
+
+    /**
+     * Returns the address for an id like "componentId" or "parentId.componentId".
+     *
+     * @param id the id to parse
+     * @return the interned address
+     */
+    public static ComponentAddress of(final String id) {
+        Objects.requireNonNull(id, "the component id must not be null");
+        final ComponentAddress address = byId.get(id);
+        if (address != null) return address;
+        final ComponentAddress parsed = intern(byId, id, ComponentAddress::parse);
+        return parsed != null ? parsed : parse(id);
+    }
+
+    /**
+     * Returns the address for a component in a parent. When parentId is null a local address is returned, an empty
+     * parentId is a parent like any other.
+     *
+     * @param parentId    the parent id, may be null
+     * @param componentId the component id
+     * @return the interned address
+     */
+    public static ComponentAddress of(final String parentId, final String componentId) {
+        Objects.requireNonNull(componentId, "the component id must not be null");
+        final Map<String, ComponentAddress> children = parentId == null ? local : children(parentId);
+        final ComponentAddress address = children != null ? children.get(componentId) : null;
+        if (address != null) return address;
+        final ComponentAddress created = children != null ? intern(children, componentId, key -> new ComponentAddress(parentId, key)) : null;
+        return created != null ? created : new ComponentAddress(parentId, componentId);
+    }
+
+    /**
+     * Returns the interned addresses of a parent, null when the limit is reached and the parent has none.
+     */
+    private static Map<String, ComponentAddress> children(final String parentId) {
+        final Map<String, ComponentAddress> children = byParent.get(parentId);
+        if (children != null || interned.get() >= MAX_INTERNED) return children;
+        return byParent.computeIfAbsent(parentId, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Adds an address to an intern map while the limit is not reached.
+     *
+     * @return the interned address or null if the limit is reached
+     */
+    private static ComponentAddress intern(final Map<String, ComponentAddress> addresses, final String key,
+                                           final Function<String, ComponentAddress> factory) {
+        return addresses.computeIfAbsent(key, value -> {
+            if (interned.get() >= MAX_INTERNED) return null;
+            interned.incrementAndGet();
+            return factory.apply(value);
+        });
+    }
+
+    private static ComponentAddress parse(final String id) {
+        final int separator = id.indexOf(FXUtil.PATTERN_GLOBAL);
+        if (separator < 0) return of(null, id);
+        final int end = id.indexOf(FXUtil.PATTERN_GLOBAL, separator + 1);
+        return of(id.substring(0, separator), id.substring(separator + 1, end < 0 ? id.length() : end));
+    }
+
+    /**
+     * Returns the qualified address of a local address in the given parent. Qualified addresses are returned unchanged.
+     *
+     * @param parent the parent id
+     * @return the qualified address
+     */
+    public ComponentAddress qualify(final String parent) {
+        if (!isLocal() || parent == null) return this;
+        final ComponentAddress last = qualified;
+        if (last != null && last.parentId.equals(parent)) return last;
+        final ComponentAddress result = of(parent, componentId);
+        qualified = result;
+        return result;
+    }
+
+    /**
+     * Removes all interned addresses, this is called on application shutdown.
+     */
+    public static void clearOnShutdown() {
+        byId.clear();
+        local.clear();
+        byParent.clear();
+        interned.set(0);
+    }
+
+    /**
+     * Returns the full id like "componentId" or "parentId.componentId".
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the parent part of a qualified address.
+     *
+     * @return the parent id, null for local addresses
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Returns the component part of the address.
+     *
+     * @return the component id
+     */
+    public String getComponentId() {
+        return componentId;
+    }
+
+    /**
+     * Returns the perspective this address targets, this is the parent id of a qualified address and the id itself
+     * for a local address.
+     *
+     * @return the perspective id
+     */
+    public String getPerspectiveId() {
+        return parentId == null ? componentId : parentId;
+    }
+
+    /**
+     * Returns true when the address has no parent part.
+     *
+     * @return true for local addresses
+     */
+    public boolean isLocal() {
+        return parentId == null;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ComponentAddress)) return false;
+        final ComponentAddress that = (ComponentAddress) o;
+        return hash == that.hash && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
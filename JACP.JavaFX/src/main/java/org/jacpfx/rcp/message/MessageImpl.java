@@ -36,38 +36,66 @@ import org.jacpfx.api.message.Message;
 public final class MessageImpl implements Message<Event, Object> {
 
     private Object message;
-    private final String sourceId;
+    private final ComponentAddress source;
     private final Event event;
-    private String target;
+    private ComponentAddress target;
+    private final long correlationId;
 
     public MessageImpl(final String sourceId) {
-        this.sourceId = sourceId;
+        this.source = address(sourceId);
         this.event = null;
+        this.correlationId = 0;
     }
 
     public MessageImpl(final String sourceId, final Event event) {
-        this.sourceId = sourceId;
+        this.source = address(sourceId);
         this.event = event;
+        this.correlationId = 0;
     }
 
     public MessageImpl(final String sourceId, final Object message) {
-        this.sourceId = sourceId;
+        this.source = address(sourceId);
         this.setMessageBody(message);
         this.event = null;
+        this.correlationId = 0;
     }
 
     public MessageImpl(final String sourceId, final String targetId,
                        final Object message, final Event event) {
-        this.sourceId = sourceId;
-        this.target = targetId;
+        this(address(sourceId), address(targetId), message, event);
+    }
+
+    public MessageImpl(final ComponentAddress source, final ComponentAddress target,
+                       final Object message, final Event event) {
+        this(source, target, message, event, 0);
+    }
+
+    /**
+     * Creates the message of a request, the correlation id identifies the request in {@link PendingRequests}.
+     *
+     * @param source        the source address
+     * @param target        the target address
+     * @param message       the message body
+     * @param event         the source event, may be null
+     * @param correlationId the correlation id of the request, 0 for messages which are no request
+     */
+    public MessageImpl(final ComponentAddress source, final ComponentAddress target,
+                       final Object message, final Event event, final long correlationId) {
+        this.source = source;
+        this.target = target;
         this.event = event;
+        this.correlationId = correlationId;
         this.setMessageBody(message);
     }
 
 
+    private static ComponentAddress address(final String id) {
+        return id != null ? ComponentAddress.of(id) : null;
+    }
+
     private void setMessageBody(final Object message) {
         this.message = message;
-        this.target = this.target != null ? this.target : this.sourceId;
+        this.target = this.target != null ? this.target : this.source;
     }
 
 
@@ -78,7 +106,16 @@ public final class MessageImpl implements Message<Event, Object> {
 
     @Override
     public String getSourceId() {
-        return this.sourceId;
+        return this.source != null ? this.source.getId() : null;
+    }
+
+    /**
+     * Returns the pre-parsed source address.
+     *
+     * @return the source address
+     */
+    public ComponentAddress getSourceAddress() {
+        return this.source;
     }
 
     @Override
@@ -88,11 +125,29 @@ public final class MessageImpl implements Message<Event, Object> {
 
     @Override
     public Message<Event, Object> cloneMessage() {
-        return new MessageImpl(this.sourceId, this.target, this.message, this.event);
+        return new MessageImpl(this.source, this.target, this.message, this.event, this.correlationId);
+    }
+
+    /**
+     * Returns the correlation id of a request message.
+     *
+     * @return the correlation id, 0 if the message is no request
+     */
+    public long getCorrelationId() {
+        return this.correlationId;
     }
 
     @Override
     public String getTargetId() {
+        return this.target != null ? this.target.getId() : null;
+    }
+
+    /**
+     * Returns the pre-parsed target address.
+     *
+     * @return the target address
+     */
+    public ComponentAddress getTargetAddress() {
         return this.target;
     }
 
@@ -116,7 +171,7 @@ public final class MessageImpl implements Message<Event, Object> {
     public String toString() {
         return "MessageImpl{" +
                 "message=" + message +
-                ", sourceId='" + sourceId + '\'' +
+                ", sourceId='" + source + '\'' +
                 ", event=" + event +
                 ", target='" + target + '\'' +
                 '}';
@@ -0,0 +1,161 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PendingRequests.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.message;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The registry of the requests sent with {@code JacpContext.request()}. Every request gets a correlation id which
+ * is carried by its message; the worker of the target component completes the future of the request with the
+ * return value of the handling method, so the reply is not routed back as a message. A request which gets no reply
+ * within its timeout is completed with a {@link TimeoutException}.
+ *
+ * @author Andy Moncsek
+ */
+public final class PendingRequests {
+    /**
+     * the timeout of requests without an explicit timeout, in seconds
+     */
+    public static final long DEFAULT_TIMEOUT = 30;
+    private static final Map<Long, CompletableFuture<Object>> requests = new ConcurrentHashMap<>();
+    private static final AtomicLong correlationIds = new AtomicLong();
+    private static ScheduledThreadPoolExecutor timer;
+
+    private PendingRequests() {
+    }
+
+    /**
+     * Registers the future of a request and schedules its timeout.
+     *
+     * @param reply   the future to complete with the reply
+     * @param timeout the maximum time to wait for the reply
+     * @param unit    the time unit of the timeout
+     * @return the correlation id of the request
+     */
+    @SuppressWarnings("unchecked")
+    public static long register(final CompletableFuture<?> reply, final long timeout, final TimeUnit unit) {
+        if (timeout <= 0) throw new IllegalArgumentException("the request timeout must be greater than 0");
+        final long correlationId = correlationIds.incrementAndGet();
+        final CompletableFuture<Object> future = (CompletableFuture<Object>) reply;
+        requests.put(correlationId, future);
+        final ScheduledFuture<?> timeoutTask = timer().schedule(() -> {
+            final CompletableFuture<Object> expired = requests.remove(correlationId);
+            if (expired != null)
+                expired.completeExceptionally(new TimeoutException("no reply for request " + correlationId + " within " + timeout + " " + unit));
+        }, timeout, unit);
+        future.whenComplete((value, error) -> {
+            requests.remove(correlationId);
+            timeoutTask.cancel(false);
+        });
+        return correlationId;
+    }
+
+    /**
+     * Completes the request of a message with the reply value.
+     *
+     * @param message the handled message
+     * @param value   the return value of the handling method
+     * @return true if the message was a request, the value must not be delegated to a return target then
+     */
+    public static boolean complete(final Message<Event, Object> message, final Object value) {
+        final long correlationId = correlationId(message);
+        if (correlationId == 0) return false;
+        final CompletableFuture<Object> reply = requests.remove(correlationId);
+        if (reply != null) reply.complete(value);
+        return true;
+    }
+
+    /**
+     * Completes the request of a message exceptionally, this is called when the handling method failed or when the
+     * message was dropped or could not be delivered.
+     *
+     * @param message the handled message
+     * @param error   the error of the handling method or the reason the message was not delivered
+     */
+    public static void fail(final Message<?, ?> message, final Throwable error) {
+        final long correlationId = correlationId(message);
+        if (correlationId == 0) return;
+        final CompletableFuture<Object> reply = requests.remove(correlationId);
+        if (reply != null) reply.completeExceptionally(error);
+    }
+
+    /**
+     * Returns true if the message was sent with {@code JacpContext.request()}.
+     *
+     * @param message the message
+     * @return true if the message is a request
+     */
+    public static boolean isRequest(final Message<Event, Object> message) {
+        return correlationId(message) != 0;
+    }
+
+    /**
+     * Returns the number of requests waiting for a reply.
+     *
+     * @return the number of pending requests
+     */
+    public static int size() {
+        return requests.size();
+    }
+
+    /**
+     * Cancels all pending requests, this is called on application shutdown.
+     */
+    public static void clearOnShutdown() {
+        requests.values().forEach(reply -> reply.completeExceptionally(new CancellationException("application shutdown")));
+        requests.clear();
+    }
+
+    private static long correlationId(final Message<?, ?> message) {
+        return message instanceof MessageImpl ? ((MessageImpl) message).getCorrelationId() : 0;
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor timer() {
+        if (timer == null || timer.isShutdown()) {
+            // the timer only completes futures, so it needs no exception handler
+            timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "RequestTimeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            ShutdownThreadsHandler.registerExecutor(timer);
+        }
+        return timer;
+    }
+}
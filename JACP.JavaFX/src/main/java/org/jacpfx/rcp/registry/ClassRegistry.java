@@ -32,10 +32,16 @@ import org.jacpfx.api.annotations.perspective.Perspective;
 import org.jacpfx.api.exceptions.ComponentNotFoundException;
 import org.jacpfx.api.exceptions.NonUniqueComponentException;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Created with IntelliJ IDEA.
@@ -45,7 +51,10 @@ import java.util.stream.Collectors;
  * Contains registered classes found by scanning. This class should be thread save by convention. addClasses Method is performed ONCE while bootstrapping the application, while getClasses/Perspectives is called during initialisation of workbench and perspective.
  */
 public class ClassRegistry {
+    private static final Logger LOGGER = Logger.getLogger(ClassRegistry.class.getName());
     private static final List<Class> allClasses = new CopyOnWriteArrayList<>();
+    private static final IdIndex componentIndex = new IdIndex(ClassRegistry::getIdFromAnnotation);
+    private static final IdIndex perspectiveIndex = new IdIndex(ClassRegistry::getPerspectiveIdFromAnnotation);
 
     private ClassRegistry(){
 
@@ -54,17 +63,23 @@ public class ClassRegistry {
     /**
      * in some cases (like unitTests) it may happen, that the ClassRegistry is invoked many times, do a cleanup before use to ensure old values are gone.
      */
-    public static void clearAllClasses() {
+    public static synchronized void clearAllClasses() {
         allClasses.clear();
+        componentIndex.clear();
+        perspectiveIndex.clear();
     }
 
     /**
-     * Add classes that were found while package scanning at application start up.
+     * Add classes that were found while package scanning at application start up. The components and perspectives are
+     * indexed by id, so the lookup by id does not search all classes; only the added classes are indexed, the classes
+     * of earlier calls are not indexed again.
      *
      * @param classes , the list of classes to add
      */
-    public static void addClasses(final List<Class> classes) {
+    public static synchronized void addClasses(final List<Class> classes) {
         allClasses.addAll(classes);
+        componentIndex.addAll(classes);
+        perspectiveIndex.addAll(classes);
     }
 
     /**
@@ -86,12 +101,7 @@ public class ClassRegistry {
     public static Class getComponentClassById(final String id) {
         if (id == null || id.isEmpty())
             throw new ComponentNotFoundException("following component id was not found: " + id);
-        final List<Class> result = allClasses.stream()
-                .filter(ClassRegistry::checkForAnntotation)
-                .filter(component -> checkIdMatch(component, id))
-                .collect(Collectors.toList());
-        return checkAndGetClassSearch(result, id);
-
+        return componentIndex.get(id);
     }
 
     /**
@@ -103,39 +113,81 @@ public class ClassRegistry {
     public static Class getPerspectiveClassById(final String id) {
         if (id == null || id.isEmpty())
             throw new ComponentNotFoundException("following perspective id was not found: " + id);
-        final List<Class> result = allClasses.stream()
-                .filter(clazz -> clazz.isAnnotationPresent(Perspective.class))
-                .filter(component -> checkPerspectiveIdMatch(component, id)).collect(Collectors.toList());
-        return checkAndGetClassSearch(result, id);
-    }
-
-    private static Class checkAndGetClassSearch(final List<Class> result, final String id) {
-        if (result.isEmpty())
-            throw new ComponentNotFoundException("following perspective or component id was not found: " + id);
-        if (result.size() > 1)
-            throw new NonUniqueComponentException("more than one component found for id " + id + " component: " + result);
-        return result.get(0);
+        return perspectiveIndex.get(id);
     }
 
-    private static boolean checkForAnntotation(final Class c) {
-        return c.isAnnotationPresent(Component.class) || c.isAnnotationPresent(View.class) || c.isAnnotationPresent(DeclarativeView.class);
-    }
-
-    private static boolean checkIdMatch(final Class component, final String id) {
-        return getIdFromAnnotation(component).equalsIgnoreCase(id);
-    }
-
-    private static String getIdFromAnnotation(final Class component) {
+    private static String getIdFromAnnotation(final Class<?> component) {
         if (component.isAnnotationPresent(Component.class))
-            return Component.class.cast(component.getAnnotation(Component.class)).id();
-        if (component.isAnnotationPresent(View.class)) return View.class.cast(component.getAnnotation(View.class)).id();
+            return component.getAnnotation(Component.class).id();
+        if (component.isAnnotationPresent(View.class)) return component.getAnnotation(View.class).id();
         if (component.isAnnotationPresent(DeclarativeView.class))
-            return DeclarativeView.class.cast(component.getAnnotation(DeclarativeView.class)).id();
-        return "";
+            return component.getAnnotation(DeclarativeView.class).id();
+        return null;
+    }
+
+    private static String getPerspectiveIdFromAnnotation(final Class<?> perspective) {
+        final Perspective annotation = perspective.getAnnotation(Perspective.class);
+        return annotation != null ? annotation.id() : null;
     }
 
-    private static boolean checkPerspectiveIdMatch(final Class perspective, final String id) {
-        final Perspective annotation = (Perspective) perspective.getAnnotation(Perspective.class);
-        return annotation.id().equalsIgnoreCase(id);
+    /**
+     * Classes by case insensitive id. Ids declared by more than one class are registered as ambiguous and fail on
+     * lookup, like an id that is not declared.
+     */
+    private static final class IdIndex {
+        private final Function<Class<?>, String> idOf;
+        private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+        private final Map<String, List<Class<?>>> duplicates = new ConcurrentHashMap<>();
+
+        private IdIndex(final Function<Class<?>, String> idOf) {
+            this.idOf = idOf;
+        }
+
+        /**
+         * Indexes the added classes, this is called while holding the lock of the registry. An ambiguous id is added
+         * to the duplicates before it is removed from the classes, so a concurrent lookup never misses it.
+         */
+        // the registry keeps the raw class list of its public methods
+        @SuppressWarnings("rawtypes")
+        private void addAll(final List<Class> added) {
+            for (final Class<?> clazz : added) {
+                final String id = idOf.apply(clazz);
+                if (id == null) continue;
+                final String key = key(id);
+                final List<Class<?>> ambiguous = duplicates.get(key);
+                if (ambiguous != null) {
+                    if (!ambiguous.contains(clazz)) {
+                        ambiguous.add(clazz);
+                        LOGGER.log(Level.WARNING, "more than one class registered for id " + id + ": " + ambiguous);
+                    }
+                    continue;
+                }
+                final Class<?> previous = classes.putIfAbsent(key, clazz);
+                if (previous != null && previous != clazz) {
+                    duplicates.put(key, new CopyOnWriteArrayList<>(Arrays.asList(previous, clazz)));
+                    classes.remove(key);
+                    LOGGER.log(Level.WARNING, "more than one class registered for id " + id + ": " + duplicates.get(key));
+                }
+            }
+        }
+
+        private void clear() {
+            classes.clear();
+            duplicates.clear();
+        }
+
+        private static String key(final String id) {
+            return id.toLowerCase(Locale.ENGLISH);
+        }
+
+        private Class<?> get(final String id) {
+            final String key = key(id);
+            final Class<?> clazz = classes.get(key);
+            if (clazz != null) return clazz;
+            final List<Class<?>> ambiguous = duplicates.get(key);
+            if (ambiguous != null)
+                throw new NonUniqueComponentException("more than one component found for id " + id + " component: " + ambiguous);
+            throw new ComponentNotFoundException("following perspective or component id was not found: " + id);
+        }
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentIndex.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.registry;
+
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.annotations.workbench.Workbench;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The index of workbenches, perspectives and components written by the jacpfx.Processor at compile time. Every jar or
+ * class folder compiled with the processor contains an index file; the classes of these classpath roots are loaded from
+ * the index, only the roots without an index file have to be scanned (see {@link #getIndexedRoots()}).
+ * The index file contains one line per class: the kind, the id and the binary class name, separated by tabs.
+ *
+ * @author Andy Moncsek
+ */
+public final class ComponentIndex {
+    /**
+     * The location of the index files on the classpath.
+     */
+    public static final String LOCATION = "META-INF/jacpfx/component.index";
+    private static final String SEPARATOR = "\t";
+    private static final Logger LOGGER = Logger.getLogger(ComponentIndex.class.getName());
+
+    /**
+     * The kinds of indexed classes.
+     */
+    public enum Kind {
+        WORKBENCH, PERSPECTIVE, VIEW, DECLARATIVE_VIEW, COMPONENT
+    }
+
+    private final List<Entry> entries;
+    private final Set<Path> indexedRoots;
+
+    private ComponentIndex(final List<Entry> entries) {
+        this(entries, Collections.emptySet());
+    }
+
+    private ComponentIndex(final List<Entry> entries, final Set<Path> indexedRoots) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.indexedRoots = Collections.unmodifiableSet(indexedRoots);
+    }
+
+    /**
+     * Reads all index files visible to the class loader.
+     *
+     * @param loader the class loader
+     * @return the index, empty when no index file exists
+     */
+    public static ComponentIndex load(final ClassLoader loader) {
+        final List<Entry> entries = new ArrayList<>();
+        final Set<Path> indexedRoots = new HashSet<>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                final URL url = resources.nextElement();
+                read(url, entries);
+                final Path root = getRoot(url);
+                if (root != null) indexedRoots.add(root);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "component index not readable, scanning packages", e);
+            return new ComponentIndex(Collections.emptyList());
+        }
+        return new ComponentIndex(entries, indexedRoots);
+    }
+
+    /**
+     * Returns the classpath root (jar or class folder) containing an index file.
+     *
+     * @param url the url of the index file
+     * @return the normalized root, null when the url is neither in a jar nor in a folder
+     */
+    static Path getRoot(final URL url) {
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                final String path = url.getPath();
+                final int separator = path.lastIndexOf("!/");
+                if (separator < 0) return null;
+                return Paths.get(new URI(path.substring(0, separator))).toAbsolutePath().normalize();
+            }
+            if ("file".equals(url.getProtocol())) {
+                Path root = Paths.get(url.toURI());
+                for (int i = LOCATION.split("/").length; i > 0 && root != null; i--) {
+                    root = root.getParent();
+                }
+                return root == null ? null : root.toAbsolutePath().normalize();
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "classpath root of " + url + " unknown", e);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a prebuilt index file, e.g. written by {@link #write(Path)} after a classpath scan.
+     *
+     * @param file the index file
+     * @return the index, empty when the file does not exist or is not readable
+     */
+    public static ComponentIndex load(final Path file) {
+        if (!Files.isRegularFile(file)) return new ComponentIndex(Collections.emptyList());
+        final List<Entry> entries = new ArrayList<>();
+        try {
+            read(file.toUri().toURL(), entries);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "component index " + file + " not readable", e);
+            return new ComponentIndex(Collections.emptyList());
+        }
+        return new ComponentIndex(entries);
+    }
+
+    /**
+     * Creates the index of scanned classes, classes without a workbench, perspective or component annotation are
+     * ignored.
+     *
+     * @param classes the classes
+     * @return the index
+     */
+    @SuppressWarnings("rawtypes")
+    public static ComponentIndex of(final Collection<Class> classes) {
+        final List<Entry> entries = new ArrayList<>();
+        for (final Class<?> type : classes) {
+            final Entry entry = Entry.of(type);
+            if (entry != null) entries.add(entry);
+        }
+        return new ComponentIndex(entries);
+    }
+
+    private static void read(final URL url, final List<Entry> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Entry entry = Entry.parse(line);
+                if (entry != null) entries.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns all entries.
+     *
+     * @return an un-modifiable list of all entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the classpath roots (jars and class folders) containing an index file; the classes of these roots are
+     * all indexed, the other roots have to be scanned. Empty for a prebuilt index.
+     *
+     * @return an un-modifiable set of normalized paths
+     */
+    public Set<Path> getIndexedRoots() {
+        return indexedRoots;
+    }
+
+    /**
+     * Returns true if no index file was found.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Writes the index to a file, the file is replaced atomically.
+     *
+     * @param file the index file
+     * @throws IOException when the file is not writable
+     */
+    public void write(final Path file) throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (final Entry entry : entries) {
+                writer.write(entry.format());
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the indexed classes of a package and its sub packages without initializing them.
+     *
+     * @param loader      the class loader
+     * @param packageName the package name
+     * @return the indexed classes, classes of roots without an index file and nested classes are not included
+     * @throws ClassNotFoundException when an indexed class is not on the classpath
+     */
+    @SuppressWarnings("rawtypes")
+    public List<Class> getClasses(final ClassLoader loader, final String packageName) throws ClassNotFoundException {
+        final String prefix = packageName + ".";
+        final List<Class> result = new ArrayList<>();
+        for (final Entry entry : entries) {
+            // nested classes are not registered, like in a classpath scan
+            if (entry.getClassName().startsWith(prefix) && entry.getClassName().indexOf('$') < 0)
+                result.add(Class.forName(entry.getClassName(), false, loader));
+        }
+        return result;
+    }
+
+    /**
+     * One indexed class.
+     */
+    public static final class Entry {
+        private final Kind kind;
+        private final String id;
+        private final String className;
+
+        public Entry(final Kind kind, final String id, final String className) {
+            this.kind = kind;
+            this.id = id;
+            this.className = className;
+        }
+
+        private static Entry of(final Class<?> type) {
+            if (type.isAnnotationPresent(Workbench.class))
+                return new Entry(Kind.WORKBENCH, type.getAnnotation(Workbench.class).id(), type.getName());
+            if (type.isAnnotationPresent(Perspective.class))
+                return new Entry(Kind.PERSPECTIVE, type.getAnnotation(Perspective.class).id(), type.getName());
+            if (type.isAnnotationPresent(View.class))
+                return new Entry(Kind.VIEW, type.getAnnotation(View.class).id(), type.getName());
+            if (type.isAnnotationPresent(DeclarativeView.class))
+                return new Entry(Kind.DECLARATIVE_VIEW, type.getAnnotation(DeclarativeView.class).id(), type.getName());
+            if (type.isAnnotationPresent(Component.class))
+                return new Entry(Kind.COMPONENT, type.getAnnotation(Component.class).id(), type.getName());
+            return null;
+        }
+
+        private static Entry parse(final String line) {
+            final String[] columns = line.split(SEPARATOR);
+            if (line.startsWith("#") || columns.length != 3) return null;
+            try {
+                return new Entry(Kind.valueOf(columns[0]), columns[1], columns[2]);
+            } catch (IllegalArgumentException e) {
+                LOGGER.log(Level.FINE, "unknown component index entry: " + line, e);
+                return null;
+            }
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns the line of the entry in the index file.
+         *
+         * @return the line
+         */
+        public String format() {
+            return kind.name() + SEPARATOR + id + SEPARATOR + className;
+        }
+
+        @Override
+        public String toString() {
+            return format();
+        }
+    }
+}
@@ -27,12 +27,13 @@ package org.jacpfx.rcp.registry;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import org.jacpfx.api.component.SubComponent;
-import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.message.ComponentAddress;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +42,8 @@ import java.util.stream.Collectors;
  * @author Andy Moncsek
  */
 public class ComponentRegistry {
-    private static final Map<String, SubComponent<EventHandler<Event>, Event, Object>> componentsReg = new ConcurrentHashMap<>();
+    private static final Map<ComponentAddress, SubComponent<EventHandler<Event>, Event, Object>> componentsReg = new ConcurrentHashMap<>();
+    private static final AtomicLong version = new AtomicLong();
 
 
     /**
@@ -49,6 +51,17 @@ public class ComponentRegistry {
      */
     public static void clearOnShutdown() {
         componentsReg.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the registry version, which changes every time a component is registered or removed. Cached lookups
+     * (like the routing table of a message coordinator) compare this value to detect stale entries.
+     *
+     * @return the current registry version
+     */
+    public static long getVersion() {
+        return version.get();
     }
 
     /**
@@ -59,7 +72,9 @@ public class ComponentRegistry {
     public static void registerComponent(
             final SubComponent<EventHandler<Event>, Event, Object> component) {
         Objects.requireNonNull(component.getContext());
-        componentsReg.putIfAbsent(component.getContext().getFullyQualifiedId(), component);
+        if (componentsReg.putIfAbsent(ComponentAddress.of(component.getContext().getFullyQualifiedId()), component) == null) {
+            version.incrementAndGet();
+        }
     }
 
     /**
@@ -70,7 +85,9 @@ public class ComponentRegistry {
     public static void removeComponent(
             final SubComponent<EventHandler<Event>, Event, Object> component) {
         Objects.requireNonNull(component.getContext());
-        componentsReg.remove(component.getContext().getFullyQualifiedId());
+        if (componentsReg.remove(ComponentAddress.of(component.getContext().getFullyQualifiedId())) != null) {
+            version.incrementAndGet();
+        }
     }
 
 
@@ -97,10 +114,21 @@ public class ComponentRegistry {
      */
     public static SubComponent<EventHandler<Event>, Event, Object> findComponentByQualifiedId(
             final String targetId) {
-        return componentsReg.get(targetId);
+        return componentsReg.get(ComponentAddress.of(targetId));
 
     }
 
+    /**
+     * Find a component by its address
+     *
+     * @param address the qualified component address
+     * @return The @see{SubComponent}
+     */
+    public static SubComponent<EventHandler<Event>, Event, Object> findComponentByAddress(
+            final ComponentAddress address) {
+        return componentsReg.get(address);
+    }
+
     /**
      * Find a component by parent and componentId
      *
@@ -111,7 +139,7 @@ public class ComponentRegistry {
     public static SubComponent<EventHandler<Event>, Event, Object> findComponentByQualifiedId(
             final String parentId, final String componentId) {
 
-        return findComponentByQualifiedId(FXUtil.getQualifiedComponentId(parentId,componentId));
+        return componentsReg.get(ComponentAddress.of(parentId, componentId));
 
     }
 
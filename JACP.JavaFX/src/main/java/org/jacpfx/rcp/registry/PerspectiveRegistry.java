@@ -29,10 +29,11 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import org.jacpfx.api.component.Perspective;
-import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.message.ComponentAddress;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collector;
 
@@ -44,8 +45,11 @@ import java.util.stream.Collector;
  * Global registry with references to all perspective
  */
 public class PerspectiveRegistry {
-    private static final Map<String, Perspective<Node, EventHandler<Event>, Event, Object>> perspectiveReg = new ConcurrentHashMap<>();
+    private static final Map<ComponentAddress, Perspective<Node, EventHandler<Event>, Event, Object>> perspectiveReg = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Set<String>> declaredComponentIds = new ConcurrentHashMap<>();
+    private static final Set<String> deferredPerspectiveIds = ConcurrentHashMap.newKeySet();
     private static final AtomicReference<String> currentVisiblePerspectiveId = new AtomicReference<>();
+    private static final AtomicLong version = new AtomicLong();
     private static final Collector<Perspective<Node, EventHandler<Event>, Event, Object>, ?, TreeSet<Perspective<Node, EventHandler<Event>, Event, Object>>> collector = Collector.of(TreeSet::new, TreeSet::add,
             (left, right) -> {
                 left.addAll(right);
@@ -62,7 +66,18 @@ public class PerspectiveRegistry {
      */
     public static void clearOnShutdown() {
         perspectiveReg.clear();
-        ;
+        declaredComponentIds.clear();
+        deferredPerspectiveIds.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the registry version, which changes every time a perspective is registered or removed.
+     *
+     * @return the current registry version
+     */
+    public static long getVersion() {
+        return version.get();
     }
 
     /**
@@ -95,7 +110,9 @@ public class PerspectiveRegistry {
     public static void registerPerspective(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         Objects.requireNonNull(perspective.getContext());
-        perspectiveReg.putIfAbsent(perspective.getContext().getId(), perspective);
+        if (perspectiveReg.putIfAbsent(ComponentAddress.of(perspective.getContext().getId()), perspective) == null) {
+            version.incrementAndGet();
+        }
     }
 
     /**
@@ -106,7 +123,40 @@ public class PerspectiveRegistry {
     public static void removePerspective(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         Objects.requireNonNull(perspective.getContext());
-        perspectiveReg.remove(perspective.getContext().getId());
+        deferredPerspectiveIds.remove(perspective.getContext().getId());
+        if (perspectiveReg.remove(ComponentAddress.of(perspective.getContext().getId())) != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks a registered perspective as deferred. A deferred perspective is active, but its layout and components
+     * are created when it receives its first message or gets displayed.
+     *
+     * @param id, the perspective id
+     */
+    public static void deferPerspective(final String id) {
+        deferredPerspectiveIds.add(id);
+    }
+
+    /**
+     * Returns true when the perspective was deferred and is not materialized yet.
+     *
+     * @param id, the perspective id
+     * @return true if the perspective is deferred
+     */
+    public static boolean isDeferred(final String id) {
+        return deferredPerspectiveIds.contains(id);
+    }
+
+    /**
+     * Marks a deferred perspective as materialized.
+     *
+     * @param id, the perspective id
+     * @return true if the perspective was deferred before
+     */
+    public static boolean materializePerspective(final String id) {
+        return deferredPerspectiveIds.remove(id);
     }
 
     /**
@@ -149,7 +199,18 @@ public class PerspectiveRegistry {
      */
     public static Perspective<Node, EventHandler<Event>, Event, Object> findPerspectiveById(
             final String targetId) {
-        return perspectiveReg.get(targetId);
+        return perspectiveReg.get(ComponentAddress.of(targetId));
+    }
+
+    /**
+     * Returns a perspective by its address
+     *
+     * @param address , the target perspective address
+     * @return a perspective
+     */
+    public static Perspective<Node, EventHandler<Event>, Event, Object> findPerspectiveByAddress(
+            final ComponentAddress address) {
+        return perspectiveReg.get(address);
     }
 
     /**
@@ -161,7 +222,7 @@ public class PerspectiveRegistry {
      */
     public static Perspective<Node, EventHandler<Event>, Event, Object> findPerspectiveById(
             final String parentId, final String componentId) {
-        return findPerspectiveById(FXUtil.getQualifiedComponentId(parentId,componentId));
+        return perspectiveReg.get(ComponentAddress.of(parentId, componentId));
     }
 
 
@@ -175,17 +236,20 @@ public class PerspectiveRegistry {
     public static boolean perspectiveContainsComponentIdInAnnotation(final String parentId, final String componentId) {
         final Perspective<Node, EventHandler<Event>, Event, Object> perspective = findPerspectiveById(parentId);
         if (perspective == null) return false;
-        final Class perspectiveClass = perspective.getPerspective().getClass();
-        if (!perspectiveClass.isAnnotationPresent(org.jacpfx.api.annotations.perspective.Perspective.class))
-            return false;
-        final org.jacpfx.api.annotations.perspective.Perspective annotation = (org.jacpfx.api.annotations.perspective.Perspective) perspectiveClass.getAnnotation(org.jacpfx.api.annotations.perspective.Perspective.class);
-        return containsComponentInAnnotation(annotation, componentId);
+        return declaredComponentIds.computeIfAbsent(perspective.getPerspective().getClass(), PerspectiveRegistry::readDeclaredComponentIds)
+                .contains(componentId);
     }
 
-    private static boolean containsComponentInAnnotation(final org.jacpfx.api.annotations.perspective.Perspective annotation, final String componentId) {
-        final String[] componentIds = annotation.components();
-        Arrays.sort(componentIds);
-        return Arrays.binarySearch(componentIds, componentId) >= 0;
+    /**
+     * Reads the component ids declared in the perspective annotation, the result is cached per perspective class.
+     *
+     * @param perspectiveClass the perspective class
+     * @return an unmodifiable set of declared component ids
+     */
+    private static Set<String> readDeclaredComponentIds(final Class<?> perspectiveClass) {
+        final org.jacpfx.api.annotations.perspective.Perspective annotation = perspectiveClass.getAnnotation(org.jacpfx.api.annotations.perspective.Perspective.class);
+        if (annotation == null) return Collections.emptySet();
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(annotation.components())));
     }
 
 
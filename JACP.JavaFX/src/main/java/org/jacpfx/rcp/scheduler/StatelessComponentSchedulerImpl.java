@@ -37,18 +37,12 @@ import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.util.FXUtil;
 import org.jacpfx.rcp.worker.StateLessComponentRunWorker;
 
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class StatelessComponentSchedulerImpl implements
         StatelessComponentScheduler<EventHandler<Event>, Event, Object> {
 
     private final Launcher<?> launcher;
 
-    private static final ReadWriteLock lock = new ReentrantReadWriteLock();
-
 
     public StatelessComponentSchedulerImpl(final Launcher<?> launcher) {
         this.launcher = launcher;
@@ -61,71 +55,71 @@ public class StatelessComponentSchedulerImpl implements
     public final void incomingMessage(
             final Message<Event, Object> message,
             final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent) {
-        // TODO avoid locking of whole code block
-
-        // get active instance
-        final SubComponent<EventHandler<Event>, Event, Object> comp = getActiveComponent(baseComponent);
-        final List<SubComponent<EventHandler<Event>, Event, Object>> componentInstances = baseComponent
-                .getInstances();
-        final int currentSize = componentInstances.size();
-        if (comp != null) {
-            if (currentSize < AStatelessCallbackComponent.MAX_INCTANCE_COUNT) {
-                // create new instance as buffer
-                ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
-                componentInstances.add(getCloneBean(baseComponent,handle.getClass()));
-            } // End inner if
-            // run component in thread
-            instanceRun(baseComponent, comp, message);
-        } // End if
-        else {
-            // check if new instances can be created
-            if (currentSize < AStatelessCallbackComponent.MAX_INCTANCE_COUNT) {
-                createInstanceAndRun(baseComponent, message);
-            } // End if
-            else {
-                seekAndPutMessage(baseComponent, message);
-            } // End else
-        } // End else
+        final StatelessInstancePool pool = AStatelessCallbackComponent.class.cast(baseComponent).getInstancePool();
+        SubComponent<EventHandler<Event>, Event, Object> instance = pool.pollIdle();
+        if (instance == null && pool.tryReserveInstance()) {
+            instance = createInstance(baseComponent, pool);
+        }
+        if (instance != null) {
+            instanceRun(baseComponent, instance, message);
+            return;
+        }
+        // all instances are busy, the first instance finishing its message takes the pending message
+        pool.offerPending(message);
+        // an instance may have become idle before the message was queued
+        instance = pool.pollIdle();
+        if (instance != null) instanceRun(baseComponent, instance, null);
+    }
 
+    /**
+     * Creates the minimum number of instances of the component and runs their start methods, the instances are idle
+     * afterwards.
+     *
+     * @param baseComponent, the parent component
+     */
+    public final void warmUp(
+            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent) {
+        final StatelessInstancePool pool = AStatelessCallbackComponent.class.cast(baseComponent).getInstancePool();
+        for (int missing = pool.getMissingInstances(); missing > 0 && pool.tryReserveInstance(); missing--) {
+            instanceRun(baseComponent, createInstance(baseComponent, pool), null);
+        }
     }
 
     /**
-     * block component, put message to component's queue and run in thread
+     * run component instance in thread
      *
      * @param baseComponent, the parent component
-     * @param comp,          the child component
-     * @param message,       the message
+     * @param instance,      the instance
+     * @param message,       the message, null to handle the pending messages only
      */
     private void instanceRun(
             final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
-            final SubComponent<EventHandler<Event>, Event, Object> comp,
+            final SubComponent<EventHandler<Event>, Event, Object> instance,
             final Message<Event, Object> message) {
-        comp.putIncomingMessage(message);
         // TODO switch to embedded worker!!
         baseComponent.getExecutorService().submit(new StateLessComponentRunWorker(
-                comp, baseComponent));
+                instance, baseComponent, message));
     }
 
     /**
-     * if max thread count is not reached and all available component instances
-     * are blocked create a new one, block it an run in thread
+     * creates a new instance in a reserved pool slot
      *
      * @param baseComponent, the parent component
-     * @param message,       the current message
+     * @param pool,          the instance pool of the parent component
+     * @return the new instance
      */
-    private void createInstanceAndRun(
+    private SubComponent<EventHandler<Event>, Event, Object> createInstance(
             final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
-            final Message<Event, Object> message) {
-        ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
-        lock.writeLock().lock();
+            final StatelessInstancePool pool) {
+        final ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
         try {
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> comp = this
-                    .getCloneBean(baseComponent,
-                            handle.getClass());
-            baseComponent.getInstances().add(comp);
-            instanceRun(baseComponent, comp, message);
-        } finally {
-            lock.writeLock().unlock();
+            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> instance = this
+                    .getCloneBean(baseComponent, handle.getClass());
+            pool.addInstance(instance);
+            return instance;
+        } catch (final RuntimeException e) {
+            pool.cancelReservation();
+            throw e;
         }
     }
 
@@ -142,50 +136,4 @@ public class StatelessComponentSchedulerImpl implements
         return component.init(launcher.getBean(context.getParentId().concat(FXUtil.PATTERN_GLOBAL).concat(context.getId())), context);
     }
 
-    /**
-     * Returns a component instance that is currently not blocked.
-     *
-     * @param baseComponent, the parent component
-     * @return an available subcomponent
-     */
-    private SubComponent<EventHandler<Event>, Event, Object> getActiveComponent(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent) {
-        int size = baseComponent
-                .getInstances().size();
-        final AtomicInteger threadCount = baseComponent.getThreadCounter();
-        if (size == 0) return null;
-        final SubComponent<EventHandler<Event>, Event, Object> comp = baseComponent
-                .getInstances().get(getSeekValue(threadCount, size));
-
-        return !comp.isBlocked() ? comp : null;
-    }
-
-    /**
-     * seek to first running component in instance list and add message to queue
-     * of selected component
-     *
-     * @param baseComponent, the root component
-     * @param message,       the current message
-     */
-    private void seekAndPutMessage(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
-            final Message<Event, Object> message) {
-        // if max count reached, seek through component and add
-        // message to queue of oldest component
-        final int currentSize = baseComponent.getInstances().size();
-        final AtomicInteger threadCount = baseComponent.getThreadCounter();
-        final SubComponent<EventHandler<Event>, Event, Object> comp = baseComponent
-                .getInstances().get(getSeekValue(threadCount, currentSize));
-        // put message to queue
-        comp.putIncomingMessage(message);
-    }
-
-    private int getSeekValue(
-            final AtomicInteger threadCount, final int currentSize) {
-        final int seek = threadCount.incrementAndGet()
-                % currentSize;
-        threadCount.lazySet(seek);
-        return seek;
-    }
-
 }
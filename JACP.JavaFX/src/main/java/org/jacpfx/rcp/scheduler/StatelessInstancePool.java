@@ -0,0 +1,217 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessInstancePool.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.scheduler;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.message.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The instances of one stateless component. Idle instances are kept on a lock free stack, so the most recently used
+ * instance is reused first; messages arriving while all instances are busy and no further instance can be created
+ * are kept in one pending queue of the component, which every instance drains before it becomes idle again. A
+ * message is therefore never queued behind a busy instance while another instance is idle.
+ * <p>
+ * With an idle timeout, instances idle for longer than the timeout are evicted as long as more than the minimum
+ * number of instances exist.
+ *
+ * @author Andy Moncsek
+ */
+public class StatelessInstancePool {
+    private final int maxInstances;
+    private final int minInstances;
+    private final long idleTimeout;
+    private final AtomicInteger instanceCount = new AtomicInteger(0);
+    private final List<SubComponent<EventHandler<Event>, Event, Object>> instances = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<IdleInstance> idle = new ConcurrentLinkedDeque<>();
+    private final Queue<Message<Event, Object>> pending = new ConcurrentLinkedQueue<>();
+
+    public StatelessInstancePool(final int maxInstances) {
+        this(maxInstances, 0, 0);
+    }
+
+    /**
+     * Creates a pool keeping a minimum number of instances.
+     *
+     * @param maxInstances the maximum number of instances
+     * @param minInstances the number of instances kept when idle
+     * @param idleTimeout  the time in milliseconds after which an idle instance is evicted, 0 never evicts
+     */
+    public StatelessInstancePool(final int maxInstances, final int minInstances, final long idleTimeout) {
+        if (maxInstances < 1) throw new IllegalArgumentException("the maximum instance count must be greater than 0");
+        if (minInstances < 0) throw new IllegalArgumentException("the minimum instance count cannot be negative");
+        if (idleTimeout < 0) throw new IllegalArgumentException("the idle timeout cannot be negative");
+        this.maxInstances = maxInstances;
+        this.minInstances = Math.min(minInstances, maxInstances);
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Returns an idle instance or null if all instances are busy.
+     *
+     * @return an idle instance or null
+     */
+    public SubComponent<EventHandler<Event>, Event, Object> pollIdle() {
+        final IdleInstance entry = idle.pollFirst();
+        return entry != null ? entry.instance : null;
+    }
+
+    /**
+     * Returns an instance to the idle stack.
+     *
+     * @param instance the instance
+     */
+    public void release(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+        idle.offerFirst(new IdleInstance(instance, System.currentTimeMillis()));
+    }
+
+    /**
+     * Removes the instances idle for longer than the idle timeout while more than the minimum number of instances
+     * exist. The least recently used instances are at the bottom of the idle stack and are evicted first.
+     *
+     * @param now the current time in milliseconds
+     * @return the evicted instances
+     */
+    public List<SubComponent<EventHandler<Event>, Event, Object>> evictIdle(final long now) {
+        if (idleTimeout == 0) return Collections.emptyList();
+        final List<SubComponent<EventHandler<Event>, Event, Object>> evicted = new ArrayList<>();
+        for (; ; ) {
+            final IdleInstance oldest = idle.peekLast();
+            if (oldest == null || now - oldest.since < idleTimeout) break;
+            final int count = instanceCount.get();
+            if (count <= minInstances) break;
+            // the instance may have been taken meanwhile
+            if (!idle.removeLastOccurrence(oldest)) continue;
+            if (!instanceCount.compareAndSet(count, count - 1)) {
+                idle.offerLast(oldest);
+                continue;
+            }
+            instances.remove(oldest.instance);
+            evicted.add(oldest.instance);
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the number of instances to create to reach the minimum instance count.
+     *
+     * @return the number of missing instances
+     */
+    public int getMissingInstances() {
+        return Math.max(0, minInstances - instanceCount.get());
+    }
+
+    /**
+     * Reserves a slot for a new instance, the caller must either add the instance or cancel the reservation.
+     *
+     * @return true if the maximum instance count is not reached
+     */
+    public boolean tryReserveInstance() {
+        for (; ; ) {
+            final int count = instanceCount.get();
+            if (count >= maxInstances) return false;
+            if (instanceCount.compareAndSet(count, count + 1)) return true;
+        }
+    }
+
+    /**
+     * Cancels a reservation when the instance could not be created.
+     */
+    public void cancelReservation() {
+        instanceCount.decrementAndGet();
+    }
+
+    /**
+     * Adds a new, busy instance; the slot must be reserved by {@link #tryReserveInstance()}.
+     *
+     * @param instance the instance
+     */
+    public void addInstance(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+        instances.add(instance);
+    }
+
+    /**
+     * Queues a message for the next instance becoming idle.
+     *
+     * @param message the message
+     */
+    public void offerPending(final Message<Event, Object> message) {
+        pending.offer(message);
+    }
+
+    /**
+     * Returns the next pending message or null.
+     *
+     * @return the next pending message or null
+     */
+    public Message<Event, Object> pollPending() {
+        return pending.poll();
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    public List<SubComponent<EventHandler<Event>, Event, Object>> getInstances() {
+        return instances;
+    }
+
+    public AtomicInteger getInstanceCount() {
+        return instanceCount;
+    }
+
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    public int getMinInstances() {
+        return minInstances;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    private static final class IdleInstance {
+        private final SubComponent<EventHandler<Event>, Event, Object> instance;
+        private final long since;
+
+        private IdleInstance(final SubComponent<EventHandler<Event>, Event, Object> instance, final long since) {
+            this.instance = instance;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ClassFileAnnotations.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the names of the runtime visible class annotations from a class file, without loading the class.
+ *
+ * @author Andy Moncsek
+ */
+final class ClassFileAnnotations {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private ClassFileAnnotations() {
+
+    }
+
+    /**
+     * Returns the class names of the annotations of a class.
+     *
+     * @param classFile the class file
+     * @return the annotation class names, empty if the class has no annotations or is no valid class file
+     * @throws IOException when the class file is not readable
+     */
+    static List<String> read(final InputStream classFile) throws IOException {
+        final byte[] bytes = readAll(classFile);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 10 || in.readInt() != MAGIC) return Collections.emptyList();
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        final String[] utf8 = readConstantPool(in);
+        in.readUnsignedShort(); // access flags
+        in.readUnsignedShort(); // this class
+        in.readUnsignedShort(); // super class
+        skipFully(in, 2 * in.readUnsignedShort()); // interfaces
+        skipMembers(in); // fields
+        skipMembers(in); // methods
+        final int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            final String name = utf8[in.readUnsignedShort()];
+            final int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) return readAnnotations(in, utf8);
+            skipFully(in, length);
+        }
+        return Collections.emptyList();
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String[] readConstantPool(final DataInputStream in) throws IOException {
+        final int count = in.readUnsignedShort();
+        final String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    i++;
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                default:
+                    throw new IOException("unknown constant pool tag " + tag);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipMembers(final DataInputStream in) throws IOException {
+        final int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            skipFully(in, 6); // access flags, name, descriptor
+            final int attributes = in.readUnsignedShort();
+            for (int j = 0; j < attributes; j++) {
+                in.readUnsignedShort();
+                skipFully(in, in.readInt());
+            }
+        }
+    }
+
+    private static List<String> readAnnotations(final DataInputStream in, final String[] utf8) throws IOException {
+        final int count = in.readUnsignedShort();
+        final List<String> annotations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            annotations.add(toClassName(utf8[in.readUnsignedShort()]));
+            skipElementValuePairs(in);
+        }
+        return annotations;
+    }
+
+    private static void skipElementValuePairs(final DataInputStream in) throws IOException {
+        final int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.readUnsignedShort(); // element name
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(final DataInputStream in) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                skipFully(in, 4);
+                break;
+            case '@':
+                in.readUnsignedShort();
+                skipElementValuePairs(in);
+                break;
+            case '[':
+                final int values = in.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                skipFully(in, 2);
+        }
+    }
+
+    private static void skipFully(final DataInputStream in, final int length) throws IOException {
+        if (in.skipBytes(length) != length) throw new IOException("truncated class file");
+    }
+
+    /**
+     * Converts a field descriptor like Lorg/jacpfx/api/annotations/component/View; to a class name.
+     */
+    private static String toClassName(final String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+}
@@ -25,242 +25,210 @@
 
 package org.jacpfx.rcp.util;
 
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.annotations.workbench.Workbench;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Created with IntelliJ IDEA.
  * User: Andy Moncsek
  * Date: 19.07.13
  * Time: 10:43
- * Find classes for defined packages.
+ * Find classes for defined packages. The classpath directories and jars are scanned in parallel; the jars are read
+ * through their central directory. Only classes annotated as workbench, perspective or component are returned; the
+ * annotations are read from the class files, so the other classes are never loaded. The results of scanning the jars
+ * are kept in a {@link ScanCache}, so a warm start does not open unchanged jars.
  */
 public class ClassFinder {
     /**
      * Defined classpath
      */
     private static final String CLASSPATH = System.getProperty("java.class.path");
-    private static final String OS = System.getProperty("os.name").toLowerCase();
-    private static final String CLASS_DOT = ".";
-    private static final String CLASS_BACKSLASH_DOT = "\\.";
-    private static final String CLASS_SLASH = "/";
+    private static final char CLASS_DOT = '.';
+    private static final char CLASS_SLASH = '/';
     private static final String CLASS_DOLLAR = "$";
     private static final String CLASS_FILE = ".class";
-    private static final String CLASS_PROJECT_SEPERATOR = "classes";
-    private static final int CLASS_PROJECT_SEPERATOR_LENGTH = 8;
+    private static final Logger LOGGER = Logger.getLogger(ClassFinder.class.getName());
+    private static final Set<String> COMPONENT_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            Workbench.class.getName(), Perspective.class.getName(), View.class.getName(),
+            DeclarativeView.class.getName(), Component.class.getName()));
     /**
      * List with the directories on the classpath (containing .class files)
      */
     private final List<Path> binDirs;
     private final List<Path> jarsFiles;
-
-    private final PathMatcher matcher =
-            FileSystems.getDefault().getPathMatcher("glob:*.class");
-
-    private static final String FILE_SEPERATOR;
-
-    static {
-        FILE_SEPERATOR = isWindows() ? File.separator+File.separator: File.separator;
-    }
-
-    private static boolean isWindows() {
-
-        return (OS.contains("win"));
-
-    }
+    private final ScanCache cache;
 
     /**
      * Default constructur initializes the directories indicated by the
      * CLASSPATH, if they are not yet initialized.
      */
     public ClassFinder() {
-        binDirs = initClassPathDir();
-        jarsFiles = initClassPathJars();
+        this(Collections.emptySet());
     }
 
     /**
-     * Initialize the directories based on the classpath
+     * Initializes the directories and jars indicated by the CLASSPATH, except the roots already covered by a
+     * component index.
+     *
+     * @param indexedRoots the normalized classpath roots that are not scanned, see
+     *                     {@link org.jacpfx.rcp.registry.ComponentIndex#getIndexedRoots()}
      */
-    private List<Path> initClassPathDir() {
-        final String[] cs = CLASSPATH.split(File.pathSeparator);
-        final Stream<String> entries = Stream.of(cs);
-        return entries
-                .map(s -> FileSystems.getDefault().getPath(s))
-                .filter(s -> Files.isDirectory(s, LinkOption.NOFOLLOW_LINKS)).collect(Collectors.toList());
-
-    }
-
-    private List<Path> initClassPathJars() {
-        final String[] cs = CLASSPATH.split(File.pathSeparator);
-        final Stream<String> entries = Stream.of(cs);
-        return entries
+    public ClassFinder(final Collection<Path> indexedRoots) {
+        final List<Path> entries = Stream.of(CLASSPATH.split(File.pathSeparator))
+                .filter(s -> !s.isEmpty())
                 .map(s -> FileSystems.getDefault().getPath(s))
-                .filter(s -> Files.isRegularFile(s, LinkOption.NOFOLLOW_LINKS)).collect(Collectors.toList());
-
+                .filter(s -> !indexedRoots.contains(s.toAbsolutePath().normalize()))
+                .collect(Collectors.toList());
+        binDirs = entries.stream().filter(s -> Files.isDirectory(s)).collect(Collectors.toList());
+        jarsFiles = entries.stream().filter(s -> Files.isRegularFile(s)).collect(Collectors.toList());
+        cache = ScanCache.create(CLASSPATH);
     }
 
+    /**
+     * Returns the names of all top level classes of a package and its sub packages in a jar.
+     *
+     * @param jar         the jar file
+     * @param packageName name of the package as 'ch.sahits.civ'
+     * @return the class names
+     */
     public List<String> getClasseNamesInPackage
             (Path jar, String packageName) {
-        final List<String> classes = new ArrayList();
-        packageName = packageName.replaceAll(CLASS_BACKSLASH_DOT, CLASS_SLASH);
-        try {
-            final JarInputStream jarFile = new JarInputStream
-                    (Files.newInputStream(jar));
-            while (true) {
-                JarEntry jarEntry = jarFile.getNextJarEntry();
-                if (jarEntry == null) {
-                    break;
-                }
-                if ((jarEntry.getName().startsWith(packageName)) &&
-                        (jarEntry.getName().endsWith(CLASS_FILE))) {
-                    classes.add(jarEntry.getName().replaceAll(CLASS_SLASH, CLASS_BACKSLASH_DOT).replace(CLASS_FILE,""));
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return classes;
+        return scanJar(jar, packageName, false);
     }
 
-
     /**
-     * Retrive all classes of the indicated package. The package is searched in
-     * all classpath directories that are directories
+     * Retrive all workbench, perspective and component classes of the indicated package and its sub packages. The
+     * package is searched in all classpath directories and jars.
      *
      * @param packageName name of the package as 'ch.sahits.civ'
      * @return Array of found classes
      * @throws ClassNotFoundException no class was found in classpath
      */
     public Class[] getAll(final String packageName) throws ClassNotFoundException {
-
-        final String packageDir = convertPackege(packageName);
-        final List<String> files = new CopyOnWriteArrayList<>();
-        final PathMatcher folderMatcher =
-                FileSystems.getDefault().getPathMatcher("glob:**" + convertPackageToRegex(packageName) + "**");
-        final SimpleFileVisitor<Path> visitor = new CollectingFileVisitor(files, folderMatcher);
-        binDirs.parallelStream().forEach(dir -> {
+        final Set<String> classNames = new TreeSet<>();
+        Stream.concat(
+                binDirs.parallelStream().map(dir -> scanDirectory(dir, packageName)),
+                jarsFiles.parallelStream().map(jar -> scanJarCached(jar, packageName)))
+                .collect(Collectors.toList())
+                .forEach(classNames::addAll);
+        cache.store();
+        final ClassLoader loader = getClass().getClassLoader();
+        final List<Class> result = new ArrayList<>(classNames.size());
+        for (final String className : classNames) {
             try {
-                Files.walkFileTree(dir, visitor);
-            } catch (IOException e) {
-                e.printStackTrace();
+                result.add(Class.forName(className, false, loader));
+            } catch (LinkageError e) {
+                LOGGER.log(Level.WARNING, "class not loadable: " + className, e);
             }
-        });
-
-        final List<Class> result = exctractClasses(packageDir, files);
-        if(!result.isEmpty())return result.toArray(new Class[result.size()]);
-
-        return findClassesInJar(packageName);
-
-    }
-
-    private Class[] findClassesInJar(final String packageName) {
-        // scan jar files
-        final List<List<String>> res = jarsFiles.
-                stream().
-                map(path -> getClasseNamesInPackage(path, packageName)).
-                collect(Collectors.toList());
-        final Optional<List<Class>> classes = res.
-                stream().
-                reduce((a, b) -> {
-                    a.addAll(b);
-                    return a;
-                }).
-                map(this::loadClasses);
-        if(!classes.isPresent()) return null;
-        final List<Class> resultTmp = classes.get();
-        return resultTmp.toArray(new Class[resultTmp.size()]);
+        }
+        return result.toArray(new Class[result.size()]);
     }
 
-    private List<Class> loadClasses(List<String> files) {
-        return files
-                .stream()
-                .map(this::loadClass)
-                .filter(clazz -> clazz != null)
-                .collect(Collectors.toList());
-    }
+    private List<String> scanDirectory(final Path dir, final String packageName) {
+        final Path packageDir = dir.resolve(packageName.replace(CLASS_DOT, File.separatorChar));
+        if (!Files.isDirectory(packageDir)) return Collections.emptyList();
+        final List<String> classNames = new ArrayList<>();
+        try {
+            Files.walkFileTree(packageDir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (isTopLevelClass(file.getFileName().toString()) && isComponent(file))
+                        classNames.add(toClassName(dir.relativize(file).toString(), File.separatorChar));
+                    return FileVisitResult.CONTINUE;
+                }
 
-    private List<Class> exctractClasses(final String packageDir, List<String> files) {
-        return files.stream()
-                .map(Paths::get)
-                .map(path -> binDirs.stream()        // find the right classpath of file
-                        .filter(path::startsWith)
-                        .findFirst()
-                        .map(p -> p.relativize(path)))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(path -> path.startsWith(packageDir))
-                .map(path -> path.toString().replace(File.separator, CLASS_DOT))
-                .map(className -> className.substring(0, className.lastIndexOf(CLASS_FILE)))
-                .filter(classFile -> !classFile.contains(CLASS_DOLLAR))
-                .map(this::loadClass)
-                .filter(clazz -> clazz != null)
-                .collect(Collectors.toList());
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "directory not scanned: " + packageDir, e);
+        }
+        return classNames;
     }
 
-    private Class<?> loadClass(String file) {
+    private List<String> scanJarCached(final Path jar, final String packageName) {
+        final long lastModified;
+        final long size;
         try {
-            return this.getClass().getClassLoader().loadClass(file);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            final BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+            lastModified = attributes.lastModifiedTime().toMillis();
+            size = attributes.size();
+        } catch (IOException e) {
+            return Collections.emptyList();
         }
+        final List<String> cached = cache.get(jar, lastModified, size, packageName);
+        if (cached != null) return cached;
+        final List<String> classNames = scanJar(jar, packageName, true);
+        cache.put(jar, lastModified, size, packageName, classNames);
+        return classNames;
     }
 
-
-    /**
-     * Convert the package name into a relative directory path
-     *
-     * @param packageName name of the package as 'ch.sahits.civ'
-     * @return relativ directory to the package
-     */
-    private String convertPackege(String packageName) {
-
-        return packageName.replace(CLASS_DOT, File.separator);
+    private List<String> scanJar(final Path jar, final String packageName, final boolean componentsOnly) {
+        final String packagePath = packageName.replace(CLASS_DOT, CLASS_SLASH) + CLASS_SLASH;
+        final List<String> classNames = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (!name.startsWith(packagePath) || !isTopLevelClass(name)) continue;
+                if (componentsOnly && !isComponent(zip, entry)) continue;
+                classNames.add(toClassName(name, CLASS_SLASH));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "jar not scanned: " + jar, e);
+        }
+        return classNames;
     }
 
-    private String convertPackageToRegex(String packageName) {
-        return packageName.replace(CLASS_DOT, FILE_SEPERATOR);
+    private static boolean isTopLevelClass(final String name) {
+        return name.endsWith(CLASS_FILE) && !name.contains(CLASS_DOLLAR);
     }
 
-    private class CollectingFileVisitor extends SimpleFileVisitor<Path> {
-        private final List<String> files;
-        private final PathMatcher folderMatcher;
-
-        public CollectingFileVisitor(final List<String> files, final PathMatcher folderMatcher) {
-            this.files = files;
-            this.folderMatcher = folderMatcher;
-        }
-
-        @Override
-        public FileVisitResult preVisitDirectory(Path dir,
-                                                 BasicFileAttributes attrs) {
-            return FileVisitResult.CONTINUE;
+    private static boolean isComponent(final Path classFile) {
+        try (InputStream in = Files.newInputStream(classFile)) {
+            return isComponent(ClassFileAnnotations.read(in));
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "class file not readable: " + classFile, e);
+            return false;
         }
+    }
 
-        @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-            final boolean matchesFolder = folderMatcher.matches(file);
-            if (matchesFolder && matcher.matches(file.getFileName())) {
-                files.add(file.toString());
-            }
-            return matchesFolder ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+    private static boolean isComponent(final ZipFile zip, final ZipEntry entry) {
+        try (InputStream in = zip.getInputStream(entry)) {
+            return isComponent(ClassFileAnnotations.read(in));
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "class file not readable: " + zip.getName() + "!" + entry.getName(), e);
+            return false;
         }
+    }
 
-        @Override
-        public FileVisitResult visitFileFailed(Path file, IOException e) {
-            return FileVisitResult.CONTINUE;
+    private static boolean isComponent(final List<String> annotations) {
+        for (final String annotation : annotations) {
+            if (COMPONENT_ANNOTATIONS.contains(annotation)) return true;
         }
+        return false;
     }
 
-
+    private static String toClassName(final String path, final char separator) {
+        return path.substring(0, path.length() - CLASS_FILE.length()).replace(separator, CLASS_DOT);
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeadLetterService.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import org.jacpfx.api.message.DeadLetterHandler;
+import org.jacpfx.api.message.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Passes undelivered messages to all {@link DeadLetterHandler}s registered with {@link ServiceLoader}. When no handler
+ * is registered the messages are logged.
+ *
+ * @author Andy Moncsek
+ */
+public class DeadLetterService implements DeadLetterHandler {
+    private static DeadLetterService service;
+    private final List<DeadLetterHandler> handler = new ArrayList<>();
+
+    private DeadLetterService() {
+        final ServiceLoader<DeadLetterHandler> loader = ServiceLoader.load(DeadLetterHandler.class);
+        if (loader.iterator().hasNext()) {
+            loader.forEach(handler::add);
+        } else {
+            handler.add(new LoggingHandler());
+        }
+    }
+
+    public static synchronized DeadLetterService getInstance() {
+        if (service == null) {
+            service = new DeadLetterService();
+        }
+        return service;
+    }
+
+    @Override
+    public void onDeadLetter(final Message<?, ?> m) {
+        handler.forEach(h -> h.onDeadLetter(m));
+    }
+
+    private static class LoggingHandler implements DeadLetterHandler {
+        private final Logger logger = Logger.getLogger(DeadLetterService.class.getName());
+
+        @Override
+        public void onDeadLetter(final Message<?, ?> m) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(">> inbox of " + m.getTargetId() + " full, message not delivered: " + m);
+            }
+        }
+    }
+}
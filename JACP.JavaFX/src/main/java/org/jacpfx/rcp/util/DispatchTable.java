@@ -0,0 +1,256 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DispatchTable.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.exceptions.AnnotationMissconfigurationException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@link OnMessage} and {@link OnAsyncMessage} methods of a component class by message type. A table is built once
+ * per component class and shared by all instances. A message body is dispatched to the method declared for its class
+ * or, if there is none, for its nearest superclass or interface; the resolved method is memoized per body class, so
+ * dispatch is a single map lookup after the first message of a type. When the jacpfx.Processor generated a
+ * {@link MessageDispatcher} for the class, the table is filled by the dispatcher and the methods are called without
+ * reflection.
+ *
+ * @author Andy Moncsek
+ */
+public final class DispatchTable {
+    private static final Map<Class<?>, DispatchTable> tables = new ConcurrentHashMap<>();
+
+    private final TypeIndex onMessage;
+    private final TypeIndex onAsyncMessage;
+    private final TypeIndex onMessageBatch;
+    private final TypeIndex onAsyncMessageBatch;
+
+    private DispatchTable(final Builder builder) {
+        this.onMessage = new TypeIndex(builder.sync);
+        this.onAsyncMessage = new TypeIndex(builder.async);
+        this.onMessageBatch = new TypeIndex(builder.syncBatch);
+        this.onAsyncMessageBatch = new TypeIndex(builder.asyncBatch);
+    }
+
+    private static DispatchTable create(final Class<?> handleClass) {
+        final Builder builder = new Builder(handleClass);
+        final MessageDispatcher dispatcher = findDispatcher(handleClass);
+        if (dispatcher != null) {
+            dispatcher.register(builder);
+        } else {
+            registerMethods(builder, handleClass);
+        }
+        return new DispatchTable(builder);
+    }
+
+    private static MessageDispatcher findDispatcher(final Class<?> handleClass) {
+        try {
+            final Class<?> dispatcherClass = Class.forName(handleClass.getName() + MessageDispatcher.SUFFIX, true, handleClass.getClassLoader());
+            return MessageDispatcher.class.isAssignableFrom(dispatcherClass) ?
+                    (MessageDispatcher) dispatcherClass.getDeclaredConstructor().newInstance() :
+                    null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            Logger.getLogger(DispatchTable.class.getName()).log(Level.FINE, "dispatcher of " + handleClass.getName() + " not usable", e);
+            return null;
+        }
+    }
+
+    private static void registerMethods(final Builder builder, final Class<?> handleClass) {
+        for (final Method method : handleClass.getMethods()) {
+            final OnMessage onMessageAnnotation = method.getAnnotation(OnMessage.class);
+            if (onMessageAnnotation != null) {
+                builder.register(onMessageAnnotation.batch() ? builder.syncBatch : builder.sync, onMessageAnnotation.value(),
+                        method.getName(), OnMessage.class, HandlerInvoker.of(method));
+            }
+            final OnAsyncMessage onAsyncMessageAnnotation = method.getAnnotation(OnAsyncMessage.class);
+            if (onAsyncMessageAnnotation != null) {
+                builder.register(onAsyncMessageAnnotation.batch() ? builder.asyncBatch : builder.async, onAsyncMessageAnnotation.value(),
+                        method.getName(), OnAsyncMessage.class, HandlerInvoker.of(method));
+            }
+        }
+    }
+
+    /**
+     * Returns the dispatch table of a component class.
+     *
+     * @param handleClass the component class
+     * @return the dispatch table
+     * @throws AnnotationMissconfigurationException when two methods handle the same message type
+     */
+    public static DispatchTable of(final Class<?> handleClass) {
+        final DispatchTable table = tables.get(handleClass);
+        return table != null ? table : tables.computeIfAbsent(handleClass, DispatchTable::create);
+    }
+
+    /**
+     * Returns the {@link OnMessage} method for a message body type.
+     *
+     * @param bodyType the type of the message body
+     * @return the invoker of the method or null
+     */
+    public HandlerInvoker findOnMessage(final Class<?> bodyType) {
+        return onMessage.find(bodyType);
+    }
+
+    /**
+     * Returns the {@link OnAsyncMessage} method for a message body type.
+     *
+     * @param bodyType the type of the message body
+     * @return the invoker of the method or null
+     */
+    public HandlerInvoker findOnAsyncMessage(final Class<?> bodyType) {
+        return onAsyncMessage.find(bodyType);
+    }
+
+    /**
+     * Returns the {@link OnMessage} batch method for a batch element type.
+     *
+     * @param elementType the common type of the batch elements, may be null
+     * @return the invoker of the method or null
+     */
+    public HandlerInvoker findOnMessageBatch(final Class<?> elementType) {
+        return onMessageBatch.find(elementType);
+    }
+
+    /**
+     * Returns the {@link OnAsyncMessage} batch method for a batch element type.
+     *
+     * @param elementType the common type of the batch elements, may be null
+     * @return the invoker of the method or null
+     */
+    public HandlerInvoker findOnAsyncMessageBatch(final Class<?> elementType) {
+        return onAsyncMessageBatch.find(elementType);
+    }
+
+    /**
+     * Collects the methods of a component class, used by the generated {@link MessageDispatcher}s.
+     */
+    public static final class Builder {
+        private final Class<?> handleClass;
+        private final Map<Class<?>, HandlerInvoker> sync = new HashMap<>();
+        private final Map<Class<?>, HandlerInvoker> async = new HashMap<>();
+        private final Map<Class<?>, HandlerInvoker> syncBatch = new HashMap<>();
+        private final Map<Class<?>, HandlerInvoker> asyncBatch = new HashMap<>();
+        private final Map<HandlerInvoker, String> names = new HashMap<>();
+
+        private Builder(final Class<?> handleClass) {
+            this.handleClass = handleClass;
+        }
+
+        /**
+         * Registers an {@link OnMessage} method.
+         *
+         * @param type           the message type of the method
+         * @param batch          true for a batch method
+         * @param name           the method name
+         * @param parameterTypes the parameter types of the method
+         * @param call           the call of the method
+         * @return this builder
+         */
+        public Builder onMessage(final Class<?> type, final boolean batch, final String name,
+                                 final Class<?>[] parameterTypes, final HandlerInvoker.Call call) {
+            register(batch ? syncBatch : sync, type, name, OnMessage.class, HandlerInvoker.of(OnMessage.class, parameterTypes, call));
+            return this;
+        }
+
+        /**
+         * Registers an {@link OnAsyncMessage} method.
+         *
+         * @param type           the message type of the method
+         * @param batch          true for a batch method
+         * @param name           the method name
+         * @param parameterTypes the parameter types of the method
+         * @param call           the call of the method
+         * @return this builder
+         */
+        public Builder onAsyncMessage(final Class<?> type, final boolean batch, final String name,
+                                      final Class<?>[] parameterTypes, final HandlerInvoker.Call call) {
+            register(batch ? asyncBatch : async, type, name, OnAsyncMessage.class, HandlerInvoker.of(OnAsyncMessage.class, parameterTypes, call));
+            return this;
+        }
+
+        private void register(final Map<Class<?>, HandlerInvoker> methods, final Class<?> type, final String name,
+                              final Class<?> annotation, final HandlerInvoker invoker) {
+            final HandlerInvoker previous = methods.putIfAbsent(type, invoker);
+            if (previous != null)
+                throw new AnnotationMissconfigurationException("duplicate @" + annotation.getSimpleName() + "(" + type.getName() + ".class) methods in "
+                        + handleClass.getName() + ": " + names.get(previous) + " and " + name);
+            names.put(invoker, name);
+        }
+    }
+
+    /**
+     * The methods of one kind by declared type, with the memoized resolution of body types.
+     */
+    private static final class TypeIndex {
+        private final Map<Class<?>, HandlerInvoker> declared;
+        private final Map<Class<?>, Optional<HandlerInvoker>> resolved = new ConcurrentHashMap<>();
+
+        private TypeIndex(final Map<Class<?>, HandlerInvoker> declared) {
+            this.declared = declared.isEmpty() ? Collections.emptyMap() : declared;
+        }
+
+        private HandlerInvoker find(final Class<?> type) {
+            if (type == null || declared.isEmpty()) return null;
+            final Optional<HandlerInvoker> invoker = resolved.get(type);
+            if (invoker != null) return invoker.orElse(null);
+            return resolved.computeIfAbsent(type, this::resolve).orElse(null);
+        }
+
+        /**
+         * Searches the type, its superclasses and interfaces breadth first, so the nearest declaration wins; at the
+         * same distance a superclass wins over an interface.
+         */
+        private Optional<HandlerInvoker> resolve(final Class<?> type) {
+            final Deque<Class<?>> queue = new ArrayDeque<>();
+            final Set<Class<?>> visited = new HashSet<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                final Class<?> current = queue.poll();
+                if (!visited.add(current)) continue;
+                final HandlerInvoker invoker = declared.get(current);
+                if (invoker != null) return Optional.of(invoker);
+                if (current.getSuperclass() != null) queue.add(current.getSuperclass());
+                Collections.addAll(queue, current.getInterfaces());
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -33,6 +33,9 @@ import javafx.scene.Parent;
 import org.jacpfx.api.annotations.Resource;
 import org.jacpfx.api.component.Injectable;
 import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.PendingRequests;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -40,6 +43,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -66,9 +70,7 @@ public class FXUtil {
     public static final String IDECLARATIVECOMPONENT_BUNDLE_LOCATION = "resourceBundleLocation";
     public static final String AFXPERSPECTIVE_PERSPECTIVE_LAYOUT = "perspectiveLayout";
     private final static String PATTERN_LOCALE = "_";
-    private final static char PATTERN_SPLIT = '.';
     public final static String PATTERN_GLOBAL = ".";
-    private final static int MAX_SPLIT = 3;
 
 
     /**
@@ -144,37 +146,20 @@ public class FXUtil {
     public static void invokeHandleMethodsByAnnotation(
             final Class annotation, final Object component,
             final Object... value) {
-        final Class<?> componentClass = component.getClass();
-        final Method[] methods = componentClass.getMethods();
+        final HandlerInvoker invoker = HandlerInvoker.find(component.getClass(), annotation);
+        if (invoker == null) return;
         final Thread t = Thread.currentThread();
-        for (final Method m : methods) {
-            if (m.isAnnotationPresent(annotation)) {
-                try {
-                    final Class<?>[] types = m.getParameterTypes();
-                    if (types.length == value.length) {
-                        m.invoke(component, value);
-                        return;
-                    }
-                    if (types.length > 0) {
-                        m.invoke(component, getValidParameterList(types, value));
-                        return;
-                    }
-
-                    m.invoke(component);
-                    return;
-
-                } catch (final IllegalArgumentException e) {
-                    throw new UnsupportedOperationException(
-                            "use @PostConstruct and @PreDestroy either with paramter extending BaseLayout<Node> layout (like FXComponentLayout) or with no arguments  ",
-                            e.getCause());
-                } catch (final IllegalAccessException | InvocationTargetException e) {
-                    Logger.getLogger(FXUtil.class.getName()).log(Level.SEVERE,
-                            null, e);
-                    if (e.getCause() != null)
-                        t.getUncaughtExceptionHandler().uncaughtException(t, e.getCause());
-                }
-                break;
-            }
+        try {
+            invoker.invokeInOrder(component, value);
+        } catch (final IllegalArgumentException e) {
+            throw new UnsupportedOperationException(
+                    "use @PostConstruct and @PreDestroy either with paramter extending BaseLayout<Node> layout (like FXComponentLayout) or with no arguments  ",
+                    e.getCause());
+        } catch (final InvocationTargetException e) {
+            Logger.getLogger(FXUtil.class.getName()).log(Level.SEVERE,
+                    null, e);
+            if (e.getCause() != null)
+                t.getUncaughtExceptionHandler().uncaughtException(t, e.getCause());
         }
     }
 
@@ -188,31 +173,66 @@ public class FXUtil {
     public static Object invokeMethod(
             final Class annotation, Method method, final Object component,
             final Object... value) {
+        final HandlerInvoker invoker = HandlerInvoker.of(method);
+        if (!invoker.isAnnotationPresent(annotation)) return null;
+        return invokeMethod(invoker, component, value);
+    }
+
+    /**
+     * invoke a handler method of a component and pass value
+     *
+     * @param invoker   , the invoker of the method
+     * @param component , the component with the method
+     * @param value     , the values to pass to the method
+     * @return the return value of the method
+     */
+    public static Object invokeMethod(final HandlerInvoker invoker, final Object component,
+                                      final Object... value) {
         final Thread t = Thread.currentThread();
-        final Object[] nonNullValues = value;
-        if (method.isAnnotationPresent(annotation)) {
-            try {
-                final Class<?>[] types = method.getParameterTypes();
-                if (types.length > 0) {
-                    return method.invoke(component, getValidParameterList(types, nonNullValues));
-                }
-
-                return method.invoke(component);
-
-            } catch (final IllegalArgumentException e) {
-                throw new UnsupportedOperationException(
-                        "use @PostConstruct and @PreDestroy either with paramter extending BaseLayout<Node> layout (like FXComponentLayout) or with no arguments  ",
-                        e.getCause());
-            } catch (final IllegalAccessException | InvocationTargetException e) {
-                Logger.getLogger(FXUtil.class.getName()).log(Level.SEVERE,
-                        null, e);
-                if (e.getCause() != null)
-                    t.getUncaughtExceptionHandler().uncaughtException(t, e.getCause());
-            }
+        try {
+            return invoker.invoke(component, value);
+        } catch (final IllegalArgumentException e) {
+            throw invalidArguments(e);
+        } catch (final InvocationTargetException e) {
+            Logger.getLogger(FXUtil.class.getName()).log(Level.SEVERE,
+                    null, e);
+            if (e.getCause() != null)
+                t.getUncaughtExceptionHandler().uncaughtException(t, e.getCause());
         }
         return null;
     }
 
+    /**
+     * invoke a message handling method of a component and pass value; when the message is a request the exception
+     * of the method is thrown, so the worker can complete the request exceptionally
+     *
+     * @param invoker   , the invoker of the method
+     * @param message   , the handled message
+     * @param component , the component with the method
+     * @param value     , the values to pass to the method
+     * @return the return value of the method
+     */
+    public static Object invokeMessageHandler(final HandlerInvoker invoker, final Message<Event, Object> message,
+                                              final Object component, final Object... value) {
+        if (!PendingRequests.isRequest(message)) return invokeMethod(invoker, component, value);
+        try {
+            return invoker.invoke(component, value);
+        } catch (final IllegalArgumentException e) {
+            throw invalidArguments(e);
+        } catch (final InvocationTargetException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static UnsupportedOperationException invalidArguments(final IllegalArgumentException e) {
+        return new UnsupportedOperationException(
+                "use @PostConstruct and @PreDestroy either with paramter extending BaseLayout<Node> layout (like FXComponentLayout) or with no arguments  ",
+                e.getCause());
+    }
+
     /**
      * Injects all Resource memberc like Context
      *
@@ -264,37 +284,6 @@ public class FXUtil {
         }
     }
 
-    private static Object[] getValidParameterList(final Class<?>[] types,
-                                                  Object... value) {
-
-        Object[] result = new Object[types.length];
-        int i = 0;
-        for (Class clazz : types) {
-            result[i] = findByClass(clazz, value);
-            i++;
-        }
-        return result;
-    }
-
-    /**
-     * Returns an object instance by class
-     *
-     * @param key
-     * @param values
-     * @return The instance
-     */
-    private static Object findByClass(Class<?> key, Object... values) {
-        if (key == null)
-            return null;
-        for (Object val : values) {
-            if (val == null) continue;
-            final Class<?> clazz = val.getClass();
-            if (key.isAssignableFrom(clazz) || clazz.isAssignableFrom(key))
-                return val;
-        }
-        return null;
-    }
-
     /**
      * Returns the correct locale by String
      *
@@ -364,10 +353,7 @@ public class FXUtil {
      * @return returns the perspective id
      */
     public static String getTargetPerspectiveId(final String messageId) {
-        if (!FXUtil.isLocalMessage(messageId)) {
-            return getParentFromId(messageId);
-        }
-        return messageId;
+        return ComponentAddress.of(messageId).getPerspectiveId();
     }
 
     /**
@@ -377,8 +363,7 @@ public class FXUtil {
      * @return returns the first part of message id "parent.child"
      */
     public static String getParentFromId(final String messageId) {
-        final char[][] targetId = FXUtil.getTargetId(messageId);
-        return new String(targetId[0]);
+        return ComponentAddress.of(messageId).getPerspectiveId();
     }
 
     /**
@@ -388,11 +373,7 @@ public class FXUtil {
      * @return returns the component id
      */
     public static String getTargetComponentId(final String messageId) {
-        if (!FXUtil.isLocalMessage(messageId)) {
-            final char[][] targetId = FXUtil.getTargetId(messageId);
-            return new String(targetId[1]);
-        }
-        return messageId;
+        return ComponentAddress.of(messageId).getComponentId();
     }
 
     /**
@@ -403,9 +384,7 @@ public class FXUtil {
      * @return The qualified componentId
      */
     public static String getQualifiedComponentId(final String parentId, final String componentId) {
-        if (parentId == null) return componentId;
-        return parentId.concat(PATTERN_GLOBAL).concat(componentId);
-
+        return ComponentAddress.of(parentId, componentId).getId();
     }
 
     /**
@@ -418,42 +397,5 @@ public class FXUtil {
         return messageId.indexOf(PATTERN_GLOBAL) <= -1;
     }
 
-    /**
-     * returns target message with perspective and component name as array
-     *
-     * @param messageId the message id to analyze
-     * @return returns a string array of the message id
-     */
-    private static char[][] getTargetId(final String messageId) {
-        return split(messageId.toCharArray(), PATTERN_SPLIT);
-    }
-
-    private static char[][] split(final char[] s,
-                                  final char splitChar) {
-        char[][] result = new char[MAX_SPLIT][];
-        final int length = s.length;
-        int offset = 0;
-        int count = 0;
-        int matchCount = 0;
-        for (int i = 0; i < length; i++) {
-            if (s[i] == splitChar) {
-                if (count > 0) {
-                    if (matchCount == MAX_SPLIT - 1) return result;
-                    result[matchCount] = Arrays.copyOfRange(s, offset, offset + count);
-                    matchCount++;
-                }
-                offset = i + 1;
-                count = 0;
-            } else {
-                count++;
-            }
-        }
-        if (count > 0) {
-            if (matchCount == MAX_SPLIT - 1) return result;
-            result[matchCount] = Arrays.copyOfRange(s, offset, offset + count);
-        }
-        return result;
-    }
-
 
 }
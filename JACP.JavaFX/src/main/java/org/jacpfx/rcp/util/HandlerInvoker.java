@@ -0,0 +1,350 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [HandlerInvoker.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled invoker of an annotated handler method (like @OnMessage, @OnAsyncMessage, @PostConstruct,
+ * @PreDestroy, @OnShow and @OnHide). The method is bound to a {@link MethodHandle} once; the mapping of the passed
+ * values to the method parameters is computed once per combination of value types. The mappings of the last few
+ * combinations are kept, so invocations alternating between them (like a batch and a single message, or different
+ * body types) neither scan the parameter types nor allocate an argument array.
+ * Invokers of methods indexed by the jacpfx.Processor at compile time call the method directly through a generated
+ * {@link Call} and need no reflection at all.
+ *
+ * @author Andy Moncsek
+ */
+public final class HandlerInvoker {
+    private static final int MAX_EXACT_ARITY = 4;
+    private static final int MAX_PLANS = 4;
+    private static final Plan[] NO_PLANS = new Plan[0];
+    private static final Map<Method, HandlerInvoker> invokers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<Class<?>, HandlerInvoker>> annotatedInvokers = new ConcurrentHashMap<>();
+    private static final HandlerInvoker NONE = new HandlerInvoker();
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] annotationTypes;
+    private final MethodHandle handle;
+    private final Call call;
+    private volatile Plan[] plans = NO_PLANS;
+
+    private HandlerInvoker() {
+        this.method = null;
+        this.parameterTypes = new Class<?>[0];
+        this.annotationTypes = null;
+        this.handle = null;
+        this.call = null;
+    }
+
+    private HandlerInvoker(final Class<?>[] annotationTypes, final Class<?>[] parameterTypes, final Call call) {
+        this.method = null;
+        this.parameterTypes = parameterTypes;
+        this.annotationTypes = annotationTypes;
+        this.handle = null;
+        this.call = call;
+    }
+
+    private HandlerInvoker(final Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        final Annotation[] annotations = method.getDeclaredAnnotations();
+        this.annotationTypes = new Class<?>[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            this.annotationTypes[i] = annotations[i].annotationType();
+        }
+        this.handle = createHandle(method, parameterTypes.length);
+        this.call = null;
+    }
+
+    /**
+     * Returns the invoker of a method.
+     *
+     * @param method the handler method
+     * @return the invoker
+     */
+    public static HandlerInvoker of(final Method method) {
+        final HandlerInvoker invoker = invokers.get(method);
+        return invoker != null ? invoker : invokers.computeIfAbsent(method, HandlerInvoker::new);
+    }
+
+    /**
+     * Returns an invoker calling a method directly, used by generated dispatchers.
+     *
+     * @param annotation     the annotation of the method
+     * @param parameterTypes the parameter types of the method
+     * @param call           the call of the method
+     * @return the invoker
+     */
+    public static HandlerInvoker of(final Class<? extends Annotation> annotation, final Class<?>[] parameterTypes, final Call call) {
+        return new HandlerInvoker(new Class<?>[]{annotation}, parameterTypes.clone(), call);
+    }
+
+    /**
+     * Returns the invoker of the first public method of a class annotated with the annotation.
+     *
+     * @param type       the component class
+     * @param annotation the annotation
+     * @return the invoker or null if no method is annotated
+     */
+    public static HandlerInvoker find(final Class<?> type, final Class<? extends Annotation> annotation) {
+        final HandlerInvoker invoker = annotatedInvokers.
+                computeIfAbsent(type, key -> new ConcurrentHashMap<>()).
+                computeIfAbsent(annotation, key -> findAnnotatedMethod(type, annotation));
+        return invoker == NONE ? null : invoker;
+    }
+
+    private static HandlerInvoker findAnnotatedMethod(final Class<?> type, final Class<? extends Annotation> annotation) {
+        for (final Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(annotation)) return of(method);
+        }
+        return NONE;
+    }
+
+    private static MethodHandle createHandle(final Method method, final int arity) {
+        try {
+            if (!method.isAccessible()) method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            return arity <= MAX_EXACT_ARITY ?
+                    handle.asType(MethodType.genericMethodType(arity + 1)) :
+                    handle.asSpreader(Object[].class, arity).asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            // fall back to reflection
+            return null;
+        }
+    }
+
+    /**
+     * Returns the method, or null if the invoker calls a generated dispatcher.
+     *
+     * @return the method or null
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns true if the method is annotated with the annotation.
+     *
+     * @param annotation the annotation
+     * @return true if annotated
+     */
+    public boolean isAnnotationPresent(final Class<?> annotation) {
+        for (final Class<?> type : annotationTypes) {
+            if (type == annotation) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Invokes the method; every parameter gets the first value of a matching type, or null.
+     *
+     * @param target the component
+     * @param values the available values
+     * @return the return value of the method
+     * @throws IllegalArgumentException  when a value cannot be passed to the method
+     * @throws InvocationTargetException wraps an exception thrown by the method
+     */
+    public Object invoke(final Object target, final Object... values) throws InvocationTargetException {
+        return invoke(false, target, values);
+    }
+
+    /**
+     * Invokes the method; when the method has as many parameters as values are passed, the values are passed in
+     * order, otherwise like {@link #invoke(Object, Object...)}.
+     *
+     * @param target the component
+     * @param values the available values
+     * @return the return value of the method
+     * @throws IllegalArgumentException  when a value cannot be passed to the method
+     * @throws InvocationTargetException wraps an exception thrown by the method
+     */
+    public Object invokeInOrder(final Object target, final Object... values) throws InvocationTargetException {
+        return invoke(true, target, values);
+    }
+
+    private Object invoke(final boolean inOrder, final Object target, final Object[] values) throws InvocationTargetException {
+        final Plan current = plan(inOrder, values);
+        if (!current.valid) throw new IllegalArgumentException("argument type mismatch");
+        if (call != null) return invokeCall(target, current.arguments(values));
+        if (handle == null) return invokeReflective(target, current.arguments(values));
+        try {
+            return invokeHandle(target, values, current);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Returns the cached plan for the value types or computes a new one, which replaces the oldest cached plan when the
+     * cache is full.
+     */
+    private Plan plan(final boolean inOrder, final Object[] values) {
+        final Plan[] cached = this.plans;
+        for (final Plan plan : cached) {
+            if (plan.matches(inOrder, values)) return plan;
+        }
+        final Plan plan = new Plan(inOrder, values, parameterTypes);
+        final Plan[] next = new Plan[Math.min(cached.length + 1, MAX_PLANS)];
+        next[0] = plan;
+        System.arraycopy(cached, 0, next, 1, next.length - 1);
+        this.plans = next;
+        return plan;
+    }
+
+    private Object invokeHandle(final Object target, final Object[] values, final Plan current) throws Throwable {
+        final int[] mapping = current.mapping;
+        switch (mapping.length) {
+            case 0:
+                return (Object) handle.invokeExact(target);
+            case 1:
+                return (Object) handle.invokeExact(target, arg(mapping[0], values));
+            case 2:
+                return (Object) handle.invokeExact(target, arg(mapping[0], values), arg(mapping[1], values));
+            case 3:
+                return (Object) handle.invokeExact(target, arg(mapping[0], values), arg(mapping[1], values),
+                        arg(mapping[2], values));
+            case 4:
+                return (Object) handle.invokeExact(target, arg(mapping[0], values), arg(mapping[1], values),
+                        arg(mapping[2], values), arg(mapping[3], values));
+            default:
+                return (Object) handle.invokeExact(target, current.arguments(values));
+        }
+    }
+
+    private Object invokeCall(final Object target, final Object[] arguments) throws InvocationTargetException {
+        try {
+            return call.call(target, arguments);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private Object invokeReflective(final Object target, final Object[] arguments) throws InvocationTargetException {
+        try {
+            return method.invoke(target, arguments);
+        } catch (IllegalAccessException e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static Object arg(final int index, final Object[] values) {
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * A direct call of a handler method.
+     */
+    @FunctionalInterface
+    public interface Call {
+        /**
+         * Calls the method.
+         *
+         * @param target    the component
+         * @param arguments the arguments in parameter order
+         * @return the return value of the method, null for void methods
+         * @throws Throwable any exception thrown by the method
+         */
+        Object call(Object target, Object[] arguments) throws Throwable;
+    }
+
+    /**
+     * The mapping of values to parameters for one combination of value types.
+     */
+    private static final class Plan {
+        private final boolean inOrder;
+        private final Class<?>[] valueTypes;
+        private final int[] mapping;
+        private final boolean valid;
+
+        private Plan(final boolean inOrder, final Object[] values, final Class<?>[] parameterTypes) {
+            this.inOrder = inOrder;
+            this.valueTypes = new Class<?>[values.length];
+            for (int i = 0; i < values.length; i++) {
+                this.valueTypes[i] = values[i] != null ? values[i].getClass() : null;
+            }
+            this.mapping = new int[parameterTypes.length];
+            boolean assignable = true;
+            final boolean passInOrder = inOrder && parameterTypes.length == values.length;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                final int index = passInOrder ? i : findByClass(parameterTypes[i], valueTypes);
+                mapping[i] = index;
+                final Class<?> type = parameterTypes[i];
+                if (index < 0 || valueTypes[index] == null) {
+                    if (type.isPrimitive()) assignable = false;
+                } else if (!box(type).isAssignableFrom(valueTypes[index])) {
+                    assignable = false;
+                }
+            }
+            this.valid = assignable;
+        }
+
+        /**
+         * Returns the first value matching the parameter type, like the former reflective lookup.
+         */
+        private static int findByClass(final Class<?> parameterType, final Class<?>[] valueTypes) {
+            final Class<?> key = box(parameterType);
+            for (int i = 0; i < valueTypes.length; i++) {
+                final Class<?> clazz = valueTypes[i];
+                if (clazz == null) continue;
+                if (key.isAssignableFrom(clazz) || clazz.isAssignableFrom(key)) return i;
+            }
+            return -1;
+        }
+
+        private static Class<?> box(final Class<?> type) {
+            if (!type.isPrimitive()) return type;
+            return MethodType.methodType(type).wrap().returnType();
+        }
+
+        private boolean matches(final boolean inOrder, final Object[] values) {
+            if (this.inOrder != inOrder || values.length != valueTypes.length) return false;
+            for (int i = 0; i < values.length; i++) {
+                final Object value = values[i];
+                if ((value == null ? null : value.getClass()) != valueTypes[i]) return false;
+            }
+            return true;
+        }
+
+        private Object[] arguments(final Object[] values) {
+            final Object[] result = new Object[mapping.length];
+            for (int i = 0; i < mapping.length; i++) {
+                result[i] = arg(mapping[i], values);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageDispatcher.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+/**
+ * Registers the {@link org.jacpfx.api.annotations.method.OnMessage} and
+ * {@link org.jacpfx.api.annotations.method.OnAsyncMessage} methods of a component class in its {@link DispatchTable}.
+ * Implementations are generated by the jacpfx.Processor at compile time and named like the component class with the
+ * {@link #SUFFIX}; they call the methods directly, so no reflection is needed to dispatch messages.
+ *
+ * @author Andy Moncsek
+ */
+public interface MessageDispatcher {
+    /**
+     * The suffix of the generated dispatcher class name, appended to the binary name of the component class.
+     */
+    String SUFFIX = "_JacpDispatcher";
+
+    /**
+     * Registers all handler methods.
+     *
+     * @param builder the builder of the dispatch table
+     */
+    void register(DispatchTable.Builder builder);
+}
@@ -0,0 +1,175 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ScanCache.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The persistent results of scanning jars, by jar and package. An entry is valid as long as the last modified time
+ * and the size of the jar are unchanged, so a warm start does not open the jars. Set the system property
+ * {@value #CACHE_PROPERTY} to the cache file, or to "false" to disable the cache; by default the cache is stored in
+ * the directory .jacpfx/cache of the user home, one file per classpath. The first line of the file names the format
+ * version, a file of another version is ignored and replaced.
+ *
+ * @author Andy Moncsek
+ */
+final class ScanCache {
+    static final String CACHE_PROPERTY = "jacpfx.scan.cache";
+    private static final Logger LOGGER = Logger.getLogger(ScanCache.class.getName());
+    private static final String SEPARATOR = "\t";
+    private static final String CLASS_SEPARATOR = ",";
+    static final String HEADER = "# jacpfx scan cache v1";
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    private ScanCache(final Path file) {
+        this.file = file;
+        if (file != null) load();
+    }
+
+    /**
+     * Creates the cache of a classpath.
+     *
+     * @param classpath the classpath
+     * @return the cache
+     */
+    static ScanCache create(final String classpath) {
+        final String location = System.getProperty(CACHE_PROPERTY);
+        if ("false".equalsIgnoreCase(location)) return new ScanCache(null);
+        if (location != null && !location.isEmpty()) return new ScanCache(Paths.get(location));
+        return new ScanCache(Paths.get(System.getProperty("user.home"), ".jacpfx", "cache",
+                "scan-" + Integer.toHexString(classpath.hashCode()) + ".cache"));
+    }
+
+    /**
+     * Returns the cached class names of a package in a jar.
+     *
+     * @param jar          the jar
+     * @param lastModified the last modified time of the jar
+     * @param size         the size of the jar
+     * @param packageName  the package
+     * @return the class names, or null if not cached or the jar changed
+     */
+    List<String> get(final Path jar, final long lastModified, final long size, final String packageName) {
+        final Entry entry = entries.get(key(jar, packageName));
+        return entry != null && entry.lastModified == lastModified && entry.size == size ? entry.classNames : null;
+    }
+
+    /**
+     * Caches the class names of a package in a jar.
+     *
+     * @param jar          the jar
+     * @param lastModified the last modified time of the jar
+     * @param size         the size of the jar
+     * @param packageName  the package
+     * @param classNames   the class names
+     */
+    void put(final Path jar, final long lastModified, final long size, final String packageName, final List<String> classNames) {
+        if (file == null) return;
+        entries.put(key(jar, packageName), new Entry(lastModified, size, Collections.unmodifiableList(classNames)));
+        modified = true;
+    }
+
+    /**
+     * Writes the cache if entries were added.
+     */
+    void store() {
+        if (file == null || !modified) return;
+        modified = false;
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent() != null ? file.getParent() : Paths.get("."), "scan", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    final Entry value = entry.getValue();
+                    writer.write(entry.getKey() + SEPARATOR + value.lastModified + SEPARATOR + value.size + SEPARATOR
+                            + String.join(CLASS_SEPARATOR, value.classNames));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.log(Level.FINE, "scan cache not written: " + file, e);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) return;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                LOGGER.fine("scan cache of another version ignored: " + file);
+                return;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] columns = line.split(SEPARATOR, -1);
+                if (columns.length != 5) continue;
+                final List<String> classNames = columns[4].isEmpty() ?
+                        Collections.emptyList() :
+                        Collections.unmodifiableList(Arrays.asList(columns[4].split(CLASS_SEPARATOR)));
+                entries.put(columns[0] + SEPARATOR + columns[1],
+                        new Entry(Long.parseLong(columns[2]), Long.parseLong(columns[3]), classNames));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "scan cache not readable: " + file, e);
+            entries.clear();
+        }
+    }
+
+    private static String key(final Path jar, final String packageName) {
+        return jar.toAbsolutePath() + SEPARATOR + packageName;
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final List<String> classNames;
+
+        private Entry(final long lastModified, final long size, final List<String> classNames) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.classNames = classNames;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StartupExecutor.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides the thread pool of the parallel startup mode. In parallel startup perspectives and components are
+ * created, and their FXML is loaded, on this pool; only the attachment to the scene graph runs on the FX
+ * application thread.
+ *
+ * @author Andy Moncsek
+ */
+public final class StartupExecutor {
+    private static volatile boolean parallel = false;
+    private static ExecutorService pool;
+
+    private StartupExecutor() {
+    }
+
+    /**
+     * Enables or disables the parallel startup mode. The workbench disables the mode when the startup perspectives
+     * are attached.
+     *
+     * @param parallelStartup true to enable the parallel startup
+     */
+    public static void configure(final boolean parallelStartup) {
+        parallel = parallelStartup;
+    }
+
+    /**
+     * Returns true when the parallel startup mode is enabled.
+     *
+     * @return true in parallel startup mode
+     */
+    public static boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns the startup pool, one thread per available processor.
+     *
+     * @return the startup executor
+     */
+    public static synchronized ExecutorService get() {
+        if (pool == null || pool.isShutdown()) {
+            final ThreadFactory factory = new HandlerThreadFactory("StartupExecutor:");
+            pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                final Thread thread = factory.newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+            ShutdownThreadsHandler.registerExecutor(pool);
+        }
+        return pool;
+    }
+}
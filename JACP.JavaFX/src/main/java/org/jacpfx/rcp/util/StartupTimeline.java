@@ -0,0 +1,159 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StartupTimeline.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the phases of the application startup (perspective preparation, perspective attachment, component
+ * initialisation) with the executing thread, and logs a timeline report when the last open phase has finished.
+ * The timeline records nothing until it was started by the workbench.
+ *
+ * @author Andy Moncsek
+ */
+public final class StartupTimeline {
+    private static final Logger logger = Logger.getLogger(StartupTimeline.class.getName());
+    private static final Map<String, Long> openPhases = new ConcurrentHashMap<>();
+    private static final Queue<Phase> phases = new ConcurrentLinkedQueue<>();
+    private static final List<Runnable> finishedListeners = new ArrayList<>();
+    private static volatile boolean recording;
+    private static volatile long origin;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Resets the timeline and starts recording.
+     *
+     * @param enabled false to record nothing
+     */
+    public static synchronized void start(final boolean enabled) {
+        openPhases.clear();
+        phases.clear();
+        finishedListeners.clear();
+        origin = System.nanoTime();
+        recording = enabled;
+    }
+
+    /**
+     * Returns true while the startup is recorded.
+     *
+     * @return true while recording
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Registers an action executed once after the last open phase has ended, the action is executed immediately
+     * when no startup is recorded.
+     *
+     * @param action the action
+     */
+    public static void whenFinished(final Runnable action) {
+        synchronized (StartupTimeline.class) {
+            if (recording) {
+                finishedListeners.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Opens a phase, the report is not logged before all open phases have ended.
+     *
+     * @param phase the unique name of the phase
+     */
+    public static void begin(final String phase) {
+        if (!recording) return;
+        openPhases.putIfAbsent(phase, System.nanoTime());
+    }
+
+    /**
+     * Ends a phase; ending a phase that was never opened has no effect.
+     *
+     * @param phase the name of the phase
+     */
+    public static void end(final String phase) {
+        if (!recording) return;
+        final Long begin = openPhases.remove(phase);
+        if (begin == null) return;
+        phases.add(new Phase(phase, Thread.currentThread().getName(), begin - origin, System.nanoTime() - begin));
+        if (openPhases.isEmpty()) finish();
+    }
+
+    private static void finish() {
+        final List<Runnable> listeners;
+        synchronized (StartupTimeline.class) {
+            if (!recording || !openPhases.isEmpty()) return;
+            recording = false;
+            listeners = new ArrayList<>(finishedListeners);
+            finishedListeners.clear();
+        }
+        if (logger.isLoggable(Level.INFO)) logger.info(report());
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Returns the report of all ended phases ordered by their start.
+     *
+     * @return the timeline report
+     */
+    public static String report() {
+        final List<Phase> ordered = new ArrayList<>(phases);
+        ordered.sort(Comparator.comparingLong(p -> p.start));
+        final long total = ordered.stream().mapToLong(p -> p.start + p.duration).max().orElse(0L);
+        final StringBuilder report = new StringBuilder("startup timeline (").
+                append(TimeUnit.NANOSECONDS.toMillis(total)).append(" ms):");
+        ordered.forEach(p -> report.append(String.format("%n  %6d ms +%6d ms  %-40s [%s]",
+                TimeUnit.NANOSECONDS.toMillis(p.start), TimeUnit.NANOSECONDS.toMillis(p.duration), p.name, p.thread)));
+        return report.toString();
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final String thread;
+        private final long start;
+        private final long duration;
+
+        private Phase(final String name, final String thread, final long start, final long duration) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+}
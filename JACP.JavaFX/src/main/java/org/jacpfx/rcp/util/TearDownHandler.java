@@ -32,6 +32,7 @@ import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.workbench.Base;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.component.CallbackComponent;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
@@ -184,7 +185,7 @@ public class TearDownHandler {
                     }));
             }
             awaitTermination(set);
-            tmp.getExecutorService().shutdownNow();
+            AStatelessCallbackComponent.class.cast(component).shutdownExecutor();
             instances.clear();
 
         } else {
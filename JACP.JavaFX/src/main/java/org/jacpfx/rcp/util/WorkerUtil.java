@@ -35,14 +35,16 @@ import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.component.UIComponent;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
 import org.jacpfx.api.util.UIType;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
 
 import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 
 /**
  * Created with IntelliJ IDEA.
@@ -100,7 +102,8 @@ public class WorkerUtil {
     }
 
     /**
-     * delegate component handle return value to specified target
+     * delegate component handle return value to specified target, the return value of a request completes the
+     * future of the request instead
      *
      * @param comp,     the component
      * @param targetId, the message target id
@@ -111,6 +114,7 @@ public class WorkerUtil {
             final SubComponent<EventHandler<Event>, Event, Object> comp,
             final String targetId, final Object value,
             final Message<Event, Object> action) {
+        if (PendingRequests.complete(action, value)) return;
         if (value != null && targetId != null
                 && !action.messageBodyEquals("init")) {
             comp.getContext().send(targetId, value);
@@ -154,16 +158,45 @@ public class WorkerUtil {
      * @param handleReturnValue the UI return value after "handle(message)" {@link org.jacpfx.api.component.ComponentHandle#handle(org.jacpfx.api.message.Message)} was executed
      * @param component,        a component
      * @param message,          the current message
+     * @return the return value of the post handle method
      * @throws java.lang.Exception when an Exception occures while execute {@link org.jacpfx.api.component.ComponentView#postHandle(Object, org.jacpfx.api.message.Message)}
      */
-    public static void executeTypedComponentViewPostHandle(final Object handleReturnValue,
-                                                      final EmbeddedFXComponent component, final Message<Event, Object> message, final Method method) throws Exception {
+    public static Object executeTypedComponentViewPostHandle(final Object handleReturnValue,
+                                                      final EmbeddedFXComponent component, final Message<Event, Object> message, final HandlerInvoker method) throws Exception {
 
         final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        FXUtil.invokeMethod(OnMessage.class,method,componentViewHandle,handleReturnValue,message);
+        return FXUtil.invokeMessageHandler(method, message, componentViewHandle, handleReturnValue, message);
 
     }
 
+    /**
+     * Executes a batch post handle method in application main thread. The method is invoked with the batch, the
+     * message and the result value of the asynchronous batch method.
+     *
+     * @param handleReturnValue the return value of the {@link org.jacpfx.api.annotations.method.OnAsyncMessage} batch method, may be null
+     * @param component,        a component
+     * @param batch,            the message batch
+     * @param message,          the current message
+     * @param method,           the {@link org.jacpfx.api.annotations.method.OnMessage} batch method
+     */
+    public static void executeTypedComponentViewBatchPostHandle(final Object handleReturnValue,
+                                                                final EmbeddedFXComponent component, final MessageBatch<?> batch,
+                                                                final Message<Event, Object> message, final HandlerInvoker method) {
+        final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
+        FXUtil.invokeMethod(method, componentViewHandle, batch, message, handleReturnValue);
+    }
+
+    /**
+     * Creates the message for one element of a batch, the message has the same source, target and event as the batch message.
+     *
+     * @param batchMessage the message containing the batch
+     * @param element      the batch element
+     * @return a message with the element as body
+     */
+    public static Message<Event, Object> createBatchElementMessage(final Message<Event, Object> batchMessage, final Object element) {
+        return new MessageImpl(batchMessage.getSourceId(), batchMessage.getTargetId(), element, batchMessage.getSourceEvent());
+    }
+
     /**
      * Move component to new target in perspective.
      *
@@ -206,26 +239,17 @@ public class WorkerUtil {
      */
     public static Node prepareAndRunTypedHandleMethod(
             final UIComponent<Node, EventHandler<Event>, Event, Object> component,
-            final Message<Event, Object> message, BiConsumer<Object,Method> runOnFXThread) throws Exception {
+            final Message<Event, Object> message, BiConsumer<Object, HandlerInvoker> runOnFXThread) throws Exception {
 
         final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        final Optional<Method> asnc = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).filter(method1 -> message.getMessageBody().getClass().isAssignableFrom(method1.getAnnotation(OnAsyncMessage.class).value())).findFirst();
-        final Optional<Method> sync = Stream.of(componentViewHandle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnMessage.class)).
-                filter(method1 -> message.getMessageBody().getClass().isAssignableFrom(method1.getAnnotation(OnMessage.class).value())).findFirst();
-        asnc.ifPresent(method -> {
-            final Object handleReturnValue = FXUtil.invokeMethod(OnAsyncMessage.class,method,componentViewHandle,message);
-            sync.ifPresent(methodSync -> {
-                runOnFXThread.accept(handleReturnValue,methodSync);
-            });
-            System.out.println("invoke");
-        });
-        if(!asnc.isPresent()) {
-            sync.ifPresent(methodSync -> {
-                runOnFXThread.accept(null,methodSync);
-            });
-        }
-        System.out.println("handle");
+        final DispatchTable dispatchTable = DispatchTable.of(componentViewHandle.getClass());
+        final Class<?> messageType = message.getMessageBody().getClass();
+        final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(messageType);
+        final Object handleReturnValue = asyncMethod != null ?
+                FXUtil.invokeMethod(asyncMethod, componentViewHandle, message) :
+                null;
+        final HandlerInvoker syncMethod = dispatchTable.findOnMessage(messageType);
+        if (syncMethod != null) runOnFXThread.accept(handleReturnValue, syncMethod);
         return componentViewHandle.handle(message);
     }
 
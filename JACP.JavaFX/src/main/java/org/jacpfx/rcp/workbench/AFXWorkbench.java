@@ -48,17 +48,25 @@ import org.jacpfx.rcp.components.managedFragment.ManagedFragment;
 import org.jacpfx.rcp.components.workbench.WorkbenchDecorator;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.coordinator.DirectRouter;
 import org.jacpfx.rcp.coordinator.MessageCoordinator;
 import org.jacpfx.rcp.delegator.ComponentDelegatorImpl;
 import org.jacpfx.rcp.delegator.MessageDelegatorImpl;
 import org.jacpfx.rcp.handler.PerspectiveHandlerImpl;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.message.MessageImpl;
 import org.jacpfx.rcp.perspective.AFXPerspective;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.*;
+import org.jacpfx.rcp.worker.ComponentWorkerScheduler;
+import org.jacpfx.rcp.worker.FXUpdateScheduler;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
@@ -90,6 +98,7 @@ public abstract class AFXWorkbench
     private Stage stage;
     private Context context;
     private FXWorkbench handle;
+    private WorkbenchConfiguration configuration;
 
     /**
      * JavaFX specific start sequence
@@ -105,7 +114,9 @@ public abstract class AFXWorkbench
         initWorkbenchHandle(stage);
 
         log("3: handle initialisation sequence");
+        StartupTimeline.begin("create perspectives");
         perspectives = WorkbenchUtil.getInstance(launcher).createPerspectiveInstances(getWorkbenchAnnotation());
+        StartupTimeline.end("create perspectives");
         if (perspectives == null) return;
 
         initSubsystem();
@@ -134,6 +145,9 @@ public abstract class AFXWorkbench
             TearDownHandler.handleGlobalTearDown();
             ComponentRegistry.clearOnShutdown();
             PerspectiveRegistry.clearOnShutdown();
+            ComponentAddress.clearOnShutdown();
+            DirectRouter.clearOnShutdown();
+            PendingRequests.clearOnShutdown();
             Platform.exit();
         });
 
@@ -155,16 +169,30 @@ public abstract class AFXWorkbench
         this.launcher = launcher;
         ManagedFragment.initManagedFragment(launcher);
         final Workbench annotation = getWorkbenchAnnotation();
-        messageCoordinator = MessageCoordinator.build().
-                parentId(annotation.id()).
-                launcher(launcher).
-                delegateQueue(messageDelegator.getMessageDelegateQueue()).
-                handler(null);
+        if (configuration == null) configuration = WorkbenchConfiguration.fromAnnotation(annotation);
+        ComponentWorkerScheduler.configure(configuration.getWorkerMode(), configuration.getWorkerPoolSize());
+        FXUpdateScheduler.configure(configuration.isPulseAlignedUpdates(), configuration.getPulseBudgetMillis());
+        StartupExecutor.configure(configuration.isParallelStartup());
+        DirectRouter.configure(configuration.isDirectRouting());
+        StartupTimeline.start(configuration.isParallelStartup() || configuration.isStartupTimeline() || logger.isLoggable(Level.FINE));
+        StartupTimeline.begin("init workbench");
+        messageCoordinator = createMessageCoordinator(annotation.id(), null);
         context = new JacpContextImpl(annotation.id(), messageCoordinator.getMessageQueue());
         FXUtil.performResourceInjection(handle, context);
         start(Stage.class.cast(root));
         GlobalMediator.getInstance().handleWorkbenchToolBarButtons(annotation.id(), true);
         logger.info("INIT");
+        StartupTimeline.end("init workbench");
+    }
+
+    private MessageCoordinator createMessageCoordinator(final String parentId, final ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> handler) {
+        return MessageCoordinator.build().
+                parentId(parentId).
+                launcher(launcher).
+                delegateQueue(messageDelegator.getMessageDelegateQueue()).
+                handler(handler).
+                messageQueue(new BoundedMessageQueue<>(configuration.getMessageQueueCapacity(), configuration.getBackpressure())).
+                shards(configuration.getCoordinatorShards());
     }
 
     private Workbench getWorkbenchAnnotation() {
@@ -182,6 +210,8 @@ public abstract class AFXWorkbench
                 peek(this::registerComponent).
                 filter(p -> p.getContext().isActive()).
                 collect(Collectors.toList());
+        if (configuration.isLazyPerspectives()) deferHiddenPerspectives(activePerspectives);
+        if (configuration.isParallelStartup()) prepareActivePerspectives(activePerspectives);
 
         final AtomicInteger of = new AtomicInteger(activePerspectives.size());
         activePerspectives.
@@ -198,9 +228,48 @@ public abstract class AFXWorkbench
                     activePerspectives.
                             forEach(persp -> GlobalMediator.getInstance().handleToolBarButtons(persp, false));
                 });
+        // the startup perspectives are attached, perspectives and components initialized later are attached at once
+        StartupExecutor.configure(false);
     }
 
 
+    /**
+     * Keeps only the perspective displayed at startup in the list, all other active perspectives are marked as
+     * deferred and get initialized on their first message or when they get displayed.
+     *
+     * @param activePerspectives all active perspectives
+     */
+    private void deferHiddenPerspectives(final List<Perspective<Node, EventHandler<Event>, Event, Object>> activePerspectives) {
+        if (activePerspectives.size() < 2) return;
+        final List<Perspective<Node, EventHandler<Event>, Event, Object>> hidden = activePerspectives.subList(0, activePerspectives.size() - 1);
+        hidden.forEach(p -> {
+            log("3.4.0: defer perspective " + p.getContext().getId());
+            PerspectiveRegistry.deferPerspective(p.getContext().getId());
+        });
+        hidden.clear();
+    }
+
+    /**
+     * Creates the layouts, loads the FXML and creates the subcomponents of all active perspectives concurrently on the
+     * startup pool; the calling FX application thread joins before the perspectives are attached.
+     *
+     * @param activePerspectives all active perspectives
+     */
+    private void prepareActivePerspectives(final List<Perspective<Node, EventHandler<Event>, Event, Object>> activePerspectives) {
+        log("3.4.0: prepare active perspectives in parallel");
+        final PerspectiveHandlerImpl handler = PerspectiveHandlerImpl.class.cast(componentHandler);
+        final CompletableFuture<?>[] prepared = activePerspectives.
+                stream().
+                map(p -> CompletableFuture.runAsync(() -> handler.preparePerspective(p), StartupExecutor.get())).
+                toArray(CompletableFuture[]::new);
+        final Thread t = Thread.currentThread();
+        try {
+            CompletableFuture.allOf(prepared).join();
+        } catch (CompletionException e) {
+            t.getUncaughtExceptionHandler().uncaughtException(t, e.getCause());
+        }
+    }
+
     private void initActivePerspective(Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         log("3.4.1: register component: " + perspective.getContext().getId());
         final CountDownLatch waitForInit = new CountDownLatch(1);
@@ -260,11 +329,7 @@ public abstract class AFXWorkbench
     public final void registerComponent(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         final String perspectiveId = PerspectiveUtil.getPerspectiveIdFromAnnotation(perspective);
-        final MessageCoordinator messageCoordinatorLocal = MessageCoordinator.build().
-                parentId(perspectiveId).
-                launcher(launcher).
-                delegateQueue(messageDelegator.getMessageDelegateQueue()).
-                handler(componentHandler);
+        final MessageCoordinator messageCoordinatorLocal = createMessageCoordinator(perspectiveId, componentHandler);
         // use compleatableFuture
         perspective.init(componentDelegator.getComponentDelegateQueue(),
                 messageDelegator.getMessageDelegateQueue(),
@@ -343,4 +408,17 @@ public abstract class AFXWorkbench
     protected void setWorkbenchDecorator(WorkbenchDecorator workbenchDecorator) {
         this.workbenchDecorator = workbenchDecorator;
     }
+
+    /**
+     * Returns the runtime settings of the workbench.
+     *
+     * @return the workbench configuration
+     */
+    public WorkbenchConfiguration getWorkbenchConfiguration() {
+        return this.configuration;
+    }
+
+    protected void setWorkbenchConfiguration(WorkbenchConfiguration configuration) {
+        this.configuration = configuration;
+    }
 }
@@ -41,4 +41,9 @@ public class EmbeddedFXWorkbench extends AFXWorkbench {
         this.setWorkbenchDecorator(decorator);
     }
 
+    public EmbeddedFXWorkbench(final FXWorkbench handler, final WorkbenchDecorator decorator, final WorkbenchConfiguration configuration){
+        this(handler, decorator);
+        this.setWorkbenchConfiguration(configuration);
+    }
+
 }
@@ -0,0 +1,249 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [WorkbenchConfiguration.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.workbench;
+
+import org.jacpfx.api.annotations.workbench.Workbench;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.scheduler.WorkerMode;
+
+/**
+ * The runtime settings of a workbench. The settings are initialized from the {@link Workbench} annotation and
+ * can be changed by the launcher before the workbench is started.
+ *
+ * @author Andy Moncsek
+ */
+public class WorkbenchConfiguration {
+    private BackpressurePolicy backpressure = BackpressurePolicy.TRANSFER;
+    private int messageQueueCapacity = 10000;
+    private int coordinatorShards = 1;
+    private WorkerMode workerMode = WorkerMode.THREAD;
+    private int workerPoolSize = 0;
+    private boolean parallelStartup = false;
+    private boolean lazyPerspectives = false;
+    private boolean startupTimeline = false;
+    private boolean pulseAlignedUpdates = false;
+    private int pulseBudgetMillis = 8;
+    private boolean directRouting = false;
+
+    /**
+     * Creates the configuration defined in the workbench annotation.
+     *
+     * @param annotation the workbench annotation
+     * @return the workbench configuration
+     */
+    public static WorkbenchConfiguration fromAnnotation(final Workbench annotation) {
+        return new WorkbenchConfiguration().
+                backpressure(annotation.backpressure()).
+                messageQueueCapacity(annotation.messageQueueCapacity()).
+                coordinatorShards(annotation.coordinatorShards()).
+                workerMode(annotation.workerMode()).
+                workerPoolSize(annotation.workerPoolSize()).
+                parallelStartup(annotation.parallelStartup()).
+                lazyPerspectives(annotation.lazyPerspectives()).
+                pulseAlignedUpdates(annotation.pulseAlignedUpdates()).
+                pulseBudgetMillis(annotation.pulseBudgetMillis()).
+                directRouting(annotation.directRouting());
+    }
+
+    /**
+     * Defines how messages are passed to the message queues of the workbench and its perspectives.
+     *
+     * @param backpressure the backpressure policy
+     * @return the configuration
+     */
+    public WorkbenchConfiguration backpressure(final BackpressurePolicy backpressure) {
+        if (backpressure == null) throw new IllegalArgumentException("backpressure policy cannot be null");
+        this.backpressure = backpressure;
+        return this;
+    }
+
+    /**
+     * Defines the maximum number of queued messages per message queue.
+     *
+     * @param messageQueueCapacity the message queue capacity
+     * @return the configuration
+     */
+    public WorkbenchConfiguration messageQueueCapacity(final int messageQueueCapacity) {
+        if (messageQueueCapacity < 1)
+            throw new IllegalArgumentException("the message queue capacity must be greater than 0");
+        this.messageQueueCapacity = messageQueueCapacity;
+        return this;
+    }
+
+    /**
+     * Defines the number of routing threads of the workbench and of every perspective message coordinator.
+     *
+     * @param coordinatorShards the number of routing threads
+     * @return the configuration
+     */
+    public WorkbenchConfiguration coordinatorShards(final int coordinatorShards) {
+        if (coordinatorShards < 1)
+            throw new IllegalArgumentException("the coordinator shard count must be greater than 0");
+        this.coordinatorShards = coordinatorShards;
+        return this;
+    }
+
+    /**
+     * Defines how the message workers of FXComponents and CallbackComponents are executed.
+     *
+     * @param workerMode the worker mode
+     * @return the configuration
+     */
+    public WorkbenchConfiguration workerMode(final WorkerMode workerMode) {
+        if (workerMode == null) throw new IllegalArgumentException("worker mode cannot be null");
+        this.workerMode = workerMode;
+        return this;
+    }
+
+    /**
+     * Defines the number of threads shared by all components in {@link WorkerMode#SHARED_POOL} mode, 0 uses twice the
+     * number of available processors.
+     *
+     * @param workerPoolSize the size of the shared worker pool
+     * @return the configuration
+     */
+    public WorkbenchConfiguration workerPoolSize(final int workerPoolSize) {
+        if (workerPoolSize < 0)
+            throw new IllegalArgumentException("the worker pool size cannot be negative");
+        this.workerPoolSize = workerPoolSize;
+        return this;
+    }
+
+    /**
+     * Defines if perspectives and components are created, and their FXML is loaded, concurrently off the FX
+     * application thread.
+     *
+     * @param parallelStartup true to enable the parallel startup
+     * @return the configuration
+     */
+    public WorkbenchConfiguration parallelStartup(final boolean parallelStartup) {
+        this.parallelStartup = parallelStartup;
+        return this;
+    }
+
+    /**
+     * Defines if only the perspective displayed at startup is initialized, all other active perspectives get
+     * initialized on their first message or when they get displayed.
+     *
+     * @param lazyPerspectives true to defer the initialization of perspectives
+     * @return the configuration
+     */
+    public WorkbenchConfiguration lazyPerspectives(final boolean lazyPerspectives) {
+        this.lazyPerspectives = lazyPerspectives;
+        return this;
+    }
+
+    /**
+     * Defines if the startup phases are recorded and reported, the timeline is always recorded in parallel startup
+     * mode.
+     *
+     * @param startupTimeline true to record the startup timeline
+     * @return the configuration
+     */
+    public WorkbenchConfiguration startupTimeline(final boolean startupTimeline) {
+        this.startupTimeline = startupTimeline;
+        return this;
+    }
+
+    /**
+     * Defines if FXComponents publish their results once per JavaFX pulse.
+     *
+     * @param pulseAlignedUpdates true to align the FXComponent updates to the pulse
+     * @return the configuration
+     */
+    public WorkbenchConfiguration pulseAlignedUpdates(final boolean pulseAlignedUpdates) {
+        this.pulseAlignedUpdates = pulseAlignedUpdates;
+        return this;
+    }
+
+    /**
+     * Defines the maximum time per frame spent on pulse aligned updates.
+     *
+     * @param pulseBudgetMillis the frame budget in milliseconds
+     * @return the configuration
+     */
+    public WorkbenchConfiguration pulseBudgetMillis(final int pulseBudgetMillis) {
+        if (pulseBudgetMillis < 1)
+            throw new IllegalArgumentException("the pulse budget must be greater than 0");
+        this.pulseBudgetMillis = pulseBudgetMillis;
+        return this;
+    }
+
+    /**
+     * Defines if messages to active components are delivered from the sending thread.
+     *
+     * @param directRouting true to enable direct routing
+     * @return the configuration
+     */
+    public WorkbenchConfiguration directRouting(final boolean directRouting) {
+        this.directRouting = directRouting;
+        return this;
+    }
+
+    public BackpressurePolicy getBackpressure() {
+        return backpressure;
+    }
+
+    public int getMessageQueueCapacity() {
+        return messageQueueCapacity;
+    }
+
+    public int getCoordinatorShards() {
+        return coordinatorShards;
+    }
+
+    public WorkerMode getWorkerMode() {
+        return workerMode;
+    }
+
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
+    public boolean isParallelStartup() {
+        return parallelStartup;
+    }
+
+    public boolean isLazyPerspectives() {
+        return lazyPerspectives;
+    }
+
+    public boolean isStartupTimeline() {
+        return startupTimeline;
+    }
+
+    public boolean isPulseAlignedUpdates() {
+        return pulseAlignedUpdates;
+    }
+
+    public int getPulseBudgetMillis() {
+        return pulseBudgetMillis;
+    }
+
+    public boolean isDirectRouting() {
+        return directRouting;
+    }
+}
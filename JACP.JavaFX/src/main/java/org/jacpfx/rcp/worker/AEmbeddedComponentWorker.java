@@ -32,25 +32,70 @@ import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.exceptions.InvalidComponentMatch;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.util.DispatchTable;
 import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.HandlerInvoker;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * handles component methods in own thread;
+ * Handles the incoming messages of a stateful component sequentially, either in an own thread or, in
+ * {@link org.jacpfx.api.scheduler.WorkerMode#SHARED_POOL} mode, in a shared pool while the inbox contains messages.
  *
  * @author Andy Moncsek
  */
-public abstract class AEmbeddedComponentWorker extends Thread {
+public abstract class AEmbeddedComponentWorker implements Runnable {
+    static final int DRAIN_LIMIT = 64;
+    private final ASubComponent owner;
+    private final String name;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicBoolean stopHandled = new AtomicBoolean(false);
+    private volatile boolean stopped;
+    private volatile boolean started;
+    private volatile Executor executor;
+    private Thread thread;
 
 
-    AEmbeddedComponentWorker(final String name) {
-        super(name);
-        this.setDaemon(true);
+    AEmbeddedComponentWorker(final ASubComponent owner) {
+        this.owner = owner;
+        this.name = owner.getContext().getId();
+    }
+
+    /**
+     * Handles one incoming message.
+     *
+     * @param message the message
+     * @return false if the worker should stop
+     * @throws InterruptedException when the worker was stopped while handling the message
+     */
+    abstract boolean handleMessage(final Message<Event, Object> message) throws InterruptedException;
+
+    /**
+     * Invoked once before the first message is handled.
+     */
+    void onStart() {
+    }
+
+    /**
+     * Invoked once after the worker stopped.
+     */
+    void onStop() {
     }
 
     /**
@@ -58,6 +103,121 @@ public abstract class AEmbeddedComponentWorker extends Thread {
      */
     public abstract void cleanAfterInterrupt();
 
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Starts the worker in the configured worker mode.
+     */
+    public final void start() {
+        ComponentWorkerScheduler.start(this);
+    }
+
+    /**
+     * Stops the worker, a message currently handled is interrupted.
+     */
+    public final void stop() {
+        this.stopped = true;
+        final Thread current;
+        synchronized (this) {
+            current = this.thread;
+            if (current != null) current.interrupt();
+        }
+        if (executor != null) {
+            schedule();
+        } else if (current != null) {
+            ShutdownThreadsHandler.unRegisterThread(current);
+        }
+    }
+
+    /**
+     * Notifies the worker about a new message in the component inbox.
+     */
+    public final void messageArrived() {
+        if (executor != null && !stopped) schedule();
+    }
+
+    /**
+     * Handles messages in an own thread until the worker is stopped.
+     */
+    @Override
+    public final void run() {
+        try {
+            onStart();
+            // clears the interrupt flag, so the teardown in onStop is not interrupted
+            while (!stopped && !Thread.interrupted()) {
+                if (!handleMessage(owner.getNextIncomingMessage())) break;
+            }
+        } catch (InterruptedException e) {
+            // worker was stopped
+        } finally {
+            onStop();
+        }
+    }
+
+    final void startThread(final ThreadFactory factory) {
+        final Thread worker = ComponentWorkerScheduler.newThread(factory, this);
+        synchronized (this) {
+            this.thread = worker;
+        }
+        worker.start();
+    }
+
+    final void startShared(final Executor executor) {
+        this.executor = executor;
+        // the first run performs the start even when no message is queued
+        schedule();
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) return;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Handles the queued messages in a pool thread; handles at most DRAIN_LIMIT messages at once so that one busy
+     * component does not occupy a pool thread.
+     */
+    private void drain() {
+        synchronized (this) {
+            this.thread = Thread.currentThread();
+        }
+        try {
+            if (!started && !stopped) {
+                started = true;
+                onStart();
+            }
+            int handled = 0;
+            Message<Event, Object> message;
+            while (!stopped && handled++ < DRAIN_LIMIT && (message = owner.pollNextIncomingMessage()) != null) {
+                if (!handleMessage(message)) stopped = true;
+            }
+        } catch (InterruptedException e) {
+            stopped = true;
+        } catch (RuntimeException e) {
+            final Thread t = Thread.currentThread();
+            t.getUncaughtExceptionHandler().uncaughtException(t, e);
+        } finally {
+            synchronized (this) {
+                this.thread = null;
+            }
+            // the pool thread is reused, clear a pending stop interrupt
+            Thread.interrupted();
+            // released before checking the state, a stop or a message arriving afterwards schedules a new run
+            scheduled.set(false);
+            if (stopped) {
+                if (started && stopHandled.compareAndSet(false, true)) onStop();
+            } else if (owner.hasIncomingMessage()) {
+                schedule();
+            }
+        }
+    }
+
     /**
      * find valid target component in perspective
      *
@@ -107,4 +267,81 @@ public abstract class AEmbeddedComponentWorker extends Thread {
         final ComponentHandle<?, Event, Object> handle = componentToCheck.getComponent();
         if (handle == null) throw new InvalidComponentMatch("Component is not initialized correctly");
     }
+
+    /**
+     * Handles a batch in a callback component and delegates the return values.
+     *
+     * @param component         the callback component
+     * @param message           the message containing the batch
+     * @param batch             the batch
+     * @param dispatchTable     the dispatch table of the component handle
+     */
+    static void handleCallbackBatch(final SubComponent<EventHandler<Event>, Event, Object> component,
+                                    final Message<Event, Object> message, final MessageBatch<?> batch,
+                                    final DispatchTable dispatchTable) {
+        final InternalContext context = InternalContext.class.cast(component.getContext());
+        final HandlerInvoker batchMethod = dispatchTable.findOnAsyncMessageBatch(batch.getElementType());
+        if (batchMethod != null) {
+            context.updateReturnTarget(message.getSourceId());
+            final Object value = FXUtil.invokeMethod(batchMethod, component.getComponent(), batch, message);
+            WorkerUtil.delegateReturnValue(component, context.getReturnTargetAndClear(), value, message);
+            return;
+        }
+        for (final Object element : batch) {
+            if (element == null) continue;
+            final HandlerInvoker method = dispatchTable.findOnAsyncMessage(element.getClass());
+            if (method == null) continue;
+            final Message<Event, Object> elementMessage = WorkerUtil.createBatchElementMessage(message, element);
+            context.updateReturnTarget(message.getSourceId());
+            final Object value = FXUtil.invokeMethod(method, component.getComponent(), elementMessage);
+            WorkerUtil.delegateReturnValue(component, context.getReturnTargetAndClear(), value, elementMessage);
+        }
+    }
+
+    /**
+     * Executes the asynchronous part of a batch in a view component and returns the post handle to run in application
+     * main thread.
+     *
+     * @param component         the view component
+     * @param message           the message containing the batch
+     * @param batch             the batch
+     * @param dispatchTable     the dispatch table of the component view handle
+     * @return the post handle for all elements, or null when no synchronous method handles the batch
+     */
+    static TypedPostHandle handleViewBatch(final EmbeddedFXComponent component,
+                                           final Message<Event, Object> message, final MessageBatch<?> batch,
+                                           final DispatchTable dispatchTable) {
+        final HandlerInvoker asyncBatchMethod = dispatchTable.findOnAsyncMessageBatch(batch.getElementType());
+        final HandlerInvoker syncBatchMethod = dispatchTable.findOnMessageBatch(batch.getElementType());
+        if (asyncBatchMethod != null || syncBatchMethod != null) {
+            final Object value = asyncBatchMethod != null ?
+                    FXUtil.invokeMethod(asyncBatchMethod, component.getComponentViewHandle(), batch, message) :
+                    null;
+            if (syncBatchMethod == null) return null;
+            return () -> WorkerUtil.executeTypedComponentViewBatchPostHandle(value, component, batch, message, syncBatchMethod);
+        }
+        final List<Message<Event, Object>> messages = new ArrayList<>(batch.size());
+        final List<Object> values = new ArrayList<>(batch.size());
+        final List<HandlerInvoker> methods = new ArrayList<>(batch.size());
+        for (final Object element : batch) {
+            if (element == null) continue;
+            final Message<Event, Object> elementMessage = WorkerUtil.createBatchElementMessage(message, element);
+            final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(element.getClass());
+            final Object value = asyncMethod != null ?
+                    FXUtil.invokeMethod(asyncMethod, component.getComponentViewHandle(), elementMessage) :
+                    null;
+            final HandlerInvoker syncMethod = dispatchTable.findOnMessage(element.getClass());
+            if (syncMethod != null) {
+                messages.add(elementMessage);
+                values.add(value);
+                methods.add(syncMethod);
+            }
+        }
+        if (methods.isEmpty()) return null;
+        return () -> {
+            for (int i = 0; i < methods.size(); i++) {
+                WorkerUtil.executeTypedComponentViewPostHandle(values.get(i), component, messages.get(i), methods.get(i));
+            }
+        };
+    }
 }
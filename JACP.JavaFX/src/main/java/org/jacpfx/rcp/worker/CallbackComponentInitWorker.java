@@ -26,22 +26,22 @@ package org.jacpfx.rcp.worker;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.util.DispatchTable;
 import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.HandlerInvoker;
+import org.jacpfx.rcp.util.StartupTimeline;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
 
-import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class handles running stateful background component
@@ -54,7 +54,7 @@ public class CallbackComponentInitWorker
     private final ASubComponent component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue;
     private final Message<Event, Object> action;
-    private final Map<Class, Method> asyncMethodMap;
+    private final DispatchTable dispatchTable;
     public CallbackComponentInitWorker(
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue,
             final ASubComponent component, final Message<Event, Object> action) {
@@ -62,9 +62,7 @@ public class CallbackComponentInitWorker
         this.delegateQueue = delegateQueue;
         this.action = action;
         final ComponentHandle<?, Event, Object> handle = component.getComponent();
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
+        dispatchTable = DispatchTable.of(handle.getClass());
     }
 
     @Override
@@ -75,13 +73,23 @@ public class CallbackComponentInitWorker
             runCallbackOnStartMethods(this.component);
             final Message<Event, Object> myAction = this.action;
             final InternalContext context = InternalContext.class.cast(this.component.getContext());
-            context.updateReturnTarget(myAction.getSourceId());
             final String currentExecutionTarget = context.getExecutionTarget();
-            final Object value = handleAsyncMessage(myAction,component.getComponent(),myAction.getMessageBody().getClass());//this.component.getComponent().handle(myAction);
-            final String targetId = context
-                    .getReturnTargetAndClear();
-            WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                    myAction);
+            if (myAction.getMessageBody() instanceof MessageBatch) {
+                AEmbeddedComponentWorker.handleCallbackBatch(this.component, myAction, (MessageBatch<?>) myAction.getMessageBody(), dispatchTable);
+            } else {
+                context.updateReturnTarget(myAction.getSourceId());
+                final Object value;
+                try {
+                    value = handleAsyncMessage(myAction,component.getComponent(),myAction.getMessageBody().getClass());//this.component.getComponent().handle(myAction);
+                } catch (final RuntimeException e) {
+                    PendingRequests.fail(myAction, e);
+                    throw e;
+                }
+                final String targetId = context
+                        .getReturnTargetAndClear();
+                WorkerUtil.delegateReturnValue(this.component, targetId, value,
+                        myAction);
+            }
             this.checkAndHandleTargetChange(this.component,
                     currentExecutionTarget);
             this.component.initWorker(new EmbeddedCallbackComponentWorker( this.delegateQueue,this.component));
@@ -91,9 +99,9 @@ public class CallbackComponentInitWorker
 
     private Object handleAsyncMessage(Message<Event, Object> message, Object componentHandle, Class<?> messageType) {
         Object value = null;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
+        final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(messageType);
         if (asyncMethod != null) {
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+            value = FXUtil.invokeMessageHandler(asyncMethod, message, componentHandle, message);
         }
         return value;
     }
@@ -134,6 +142,7 @@ public class CallbackComponentInitWorker
             t.getUncaughtExceptionHandler().uncaughtException(t, e);
         } finally {
             this.component.release();
+            StartupTimeline.end("init component " + this.component.getContext().getId());
         }
     }
 
@@ -0,0 +1,142 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentWorkerScheduler.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.worker;
+
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.util.HandlerThreadFactory;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+/**
+ * Starts the message workers of FXComponents and CallbackComponents in the configured {@link WorkerMode}.
+ *
+ * @author Andy Moncsek
+ */
+public final class ComponentWorkerScheduler {
+    private static final Logger logger = Logger.getLogger(ComponentWorkerScheduler.class.getName());
+    private static final ThreadFactory PLATFORM_THREADS = Thread::new;
+    private static volatile WorkerMode mode = WorkerMode.THREAD;
+    private static volatile int poolSize = 0;
+    private static ExecutorService sharedPool;
+    private static ThreadFactory virtualThreads;
+
+    private ComponentWorkerScheduler() {
+    }
+
+    /**
+     * Defines the worker mode for all workers started afterwards.
+     *
+     * @param workerMode     the worker mode
+     * @param workerPoolSize the size of the shared pool, 0 uses twice the number of available processors
+     */
+    public static synchronized void configure(final WorkerMode workerMode, final int workerPoolSize) {
+        mode = workerMode;
+        poolSize = workerPoolSize;
+        if (mode == WorkerMode.VIRTUAL && virtualThreadFactory() == null) {
+            logger.warning("virtual threads are not supported by this runtime, using the shared worker pool");
+            mode = WorkerMode.SHARED_POOL;
+        }
+    }
+
+    /**
+     * Returns the current worker mode.
+     *
+     * @return the worker mode
+     */
+    public static WorkerMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Starts the worker.
+     *
+     * @param worker the worker
+     */
+    static void start(final AEmbeddedComponentWorker worker) {
+        switch (mode) {
+            case SHARED_POOL:
+                worker.startShared(sharedPool());
+                break;
+            case VIRTUAL:
+                worker.startThread(virtualThreadFactory());
+                break;
+            default:
+                worker.startThread(PLATFORM_THREADS);
+        }
+    }
+
+    /**
+     * Creates a dedicated worker thread.
+     */
+    static Thread newThread(final ThreadFactory factory, final AEmbeddedComponentWorker worker) {
+        final Thread thread = factory.newThread(worker);
+        thread.setName(worker.getName());
+        thread.setDaemon(true);
+        ShutdownThreadsHandler.registerThread(thread);
+        return thread;
+    }
+
+    private static synchronized ExecutorService sharedPool() {
+        if (sharedPool == null || sharedPool.isShutdown()) {
+            final int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+            final ThreadFactory factory = new HandlerThreadFactory("ComponentWorker:");
+            sharedPool = Executors.newFixedThreadPool(size, runnable -> {
+                final Thread thread = factory.newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+            ShutdownThreadsHandler.registerExecutor(sharedPool);
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Returns the factory of Thread.ofVirtual(), virtual threads are resolved reflectively as the framework targets
+     * Java 8.
+     */
+    private static synchronized ThreadFactory virtualThreadFactory() {
+        if (virtualThreads == null) {
+            try {
+                final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                final ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").
+                        getMethod("factory").invoke(builder);
+                virtualThreads = runnable -> {
+                    final Thread thread = factory.newThread(runnable);
+                    thread.setUncaughtExceptionHandler(ExceptionHandler.getInstance());
+                    return thread;
+                };
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return virtualThreads;
+    }
+}
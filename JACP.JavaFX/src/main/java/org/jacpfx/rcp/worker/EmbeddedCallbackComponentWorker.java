@@ -26,21 +26,18 @@ package org.jacpfx.rcp.worker;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.exceptions.NonUniqueComponentException;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.util.*;
 
-import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class handles running stateful background component
@@ -52,77 +49,83 @@ class EmbeddedCallbackComponentWorker
         AEmbeddedComponentWorker {
     private final SubComponent<EventHandler<Event>, Event, Object> component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue;
-    private final Map<Class, Method> asyncMethodMap;
+    private final DispatchTable dispatchTable;
+    private volatile boolean executed;
 
     public EmbeddedCallbackComponentWorker(
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue,
-            final SubComponent<EventHandler<Event>, Event, Object> component) {
-        super(component.getContext().getId());
+            final ASubComponent component) {
+        super(component);
         this.component = component;
         this.delegateQueue = delegateQueue;
         final ComponentHandle<?, Event, Object> handle = component.getComponent();
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
-        ShutdownThreadsHandler.registerThread(this);
+        dispatchTable = DispatchTable.of(handle.getClass());
     }
 
     // TODO check behavior when component set to active==false and other messages are in pipe
     @Override
-    public void run() {
+    boolean handleMessage(final Message<Event, Object> myAction) {
         final Thread t = Thread.currentThread();
         try {
-            boolean wasExecuted = false;
-            while (!Thread.interrupted()) {
-                try {
-                    final Message<Event, Object> myAction = this.component
-                            .getNextIncomingMessage();
-                    this.component.lock();
-                    MessageLoggerService.getInstance().receive(myAction);
-                    checkValidComponent(this.component);
-                    wasExecuted = true;
-                    final InternalContext context = InternalContext.class.cast(this.component.getContext());
-                    context.updateReturnTarget(myAction.getSourceId());
-                    final String currentExecutionTarget = context.getExecutionTarget();
-
-
-                    final Object value = handleAsyncMessage(myAction,this.component.getComponent(),myAction.getMessageBody().getClass());
-
-
-                    final String targetId = context
-                            .getReturnTargetAndClear();
-                    WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                            myAction);
-                    this.checkAndHandleTargetChange(this.component,
-                            currentExecutionTarget);
-                    this.component.release();
-                    if (!component.getContext().isActive()) break;
-                } catch (InterruptedException e) {
-                } catch (final IllegalStateException e) {
-                    if (e.getMessage().contains("Not on FX application thread")) {
-                        t.getUncaughtExceptionHandler().uncaughtException(t, new UnsupportedOperationException(
-                                "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
-                                e));
-                    } else {
-                        t.getUncaughtExceptionHandler().uncaughtException(t, e);
-                    }
-                } catch (Exception e) {
-                    t.getUncaughtExceptionHandler().uncaughtException(t, e);
-                }
-                Thread.yield();
+            this.component.lock();
+            MessageLoggerService.getInstance().receive(myAction);
+            checkValidComponent(this.component);
+            executed = true;
+            final InternalContext context = InternalContext.class.cast(this.component.getContext());
+            final String currentExecutionTarget = context.getExecutionTarget();
+            final Object body = myAction.getMessageBody();
+            if (body instanceof MessageBatch) {
+                AEmbeddedComponentWorker.handleCallbackBatch(this.component, myAction, (MessageBatch<?>) body, dispatchTable);
+            } else {
+                handleMessage(context, myAction, body);
             }
-            if (wasExecuted) handleComponentShutdown(this.component);
-        } finally {
+            this.checkAndHandleTargetChange(this.component,
+                    currentExecutionTarget);
+            this.component.release();
+            if (!component.getContext().isActive()) {
+                handleComponentShutdown(this.component);
+                return false;
+            }
+        } catch (final IllegalStateException e) {
+            if (e.getMessage().contains("Not on FX application thread")) {
+                t.getUncaughtExceptionHandler().uncaughtException(t, new UnsupportedOperationException(
+                        "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
+                        e));
+            } else {
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+            PendingRequests.fail(myAction, e);
+            if (this.component.isBlocked()) this.component.release();
+        } catch (Exception e) {
+            t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            PendingRequests.fail(myAction, e);
+            // a failed handler must not keep the component locked for the next message
             if (this.component.isBlocked()) this.component.release();
         }
+        return true;
+    }
+
+    @Override
+    void onStop() {
+        if (this.component.isBlocked()) this.component.release();
+        // a worker interrupted after executing messages shuts the component down, unless the teardown stopped it
+        if (executed && this.component.isStarted()) handleComponentShutdown(this.component);
+    }
 
+    private void handleMessage(final InternalContext context, final Message<Event, Object> message, final Object body) {
+        context.updateReturnTarget(message.getSourceId());
+        final Object value = handleAsyncMessage(message, this.component.getComponent(), body.getClass());
+        final String targetId = context
+                .getReturnTargetAndClear();
+        WorkerUtil.delegateReturnValue(this.component, targetId, value,
+                message);
     }
 
     private Object handleAsyncMessage(Message<Event, Object> message, Object componentHandle, Class<?> messageType) {
         Object value = null;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
+        final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(messageType);
         if (asyncMethod != null) {
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+            value = FXUtil.invokeMessageHandler(asyncMethod, message, componentHandle, message);
         }
         return value;
     }
@@ -160,7 +163,6 @@ class EmbeddedCallbackComponentWorker
     @Override
     public void cleanAfterInterrupt() {
         this.component.release();
-        ShutdownThreadsHandler.unRegisterThread(this);
     }
 
 }
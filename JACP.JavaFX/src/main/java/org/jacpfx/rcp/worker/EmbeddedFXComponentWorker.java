@@ -29,31 +29,28 @@ import javafx.collections.ObservableList;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
-import org.jacpfx.api.annotations.method.OnMessage;
 import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.exceptions.NonUniqueComponentException;
 import org.jacpfx.api.message.Message;
-import org.jacpfx.concurrency.FXWorker;
+import org.jacpfx.api.message.MessageBatch;
+import org.jacpfx.concurrency.FXRendezvous;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
 import org.jacpfx.rcp.componentLayout.PerspectiveLayout;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.*;
 
-import java.lang.reflect.Method;
 import java.security.InvalidParameterException;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Background Worker to execute component handle method in separate thread and
@@ -68,58 +65,57 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
     private final Map<String, Node> targetComponents;
     private final EmbeddedFXComponent component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> componentDelegateQueue;
-    private final Map<Class, Method> syncMethodMap;
-    private final Map<Class, Method> asyncMethodMap;
+    private final DispatchTable dispatchTable;
+    // the target layout and execution target after the last publish, only accessed in application main thread
+    private String publishedTargetLayout;
+    private String publishedExecutionTarget;
 
     public EmbeddedFXComponentWorker(
             final Map<String, Node> targetComponents,
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> componentDelegateQueue,
             final EmbeddedFXComponent component) {
-        super(component.getContext().getId());
+        super(component);
         this.targetComponents = targetComponents;
         this.component = component;
         this.componentDelegateQueue = componentDelegateQueue;
-        ShutdownThreadsHandler.registerThread(this);
-        ComponentView<Node, Event, Object> handle = this.component.getComponentViewHandle();
-        syncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnMessage.class).value(), p -> p));
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
-
-        // TODO check for duplicate OnMessage methods
+        this.dispatchTable = DispatchTable.of(this.component.getComponentViewHandle().getClass());
     }
 
 
     @Override
-    public final void run() {
-        try {
-            this.component.lock();
-            while (!Thread.interrupted()) {
-                handleComponentExecution(this.component, this.targetComponents);
-            }
-            this.component.release();
-        } finally {
-            if (this.component.isBlocked()) this.component.release();
-        }
+    final void onStart() {
+        this.component.lock();
+    }
+
+    @Override
+    final boolean handleMessage(final Message<Event, Object> message) throws InterruptedException {
+        handleComponentExecution(this.component, this.targetComponents, message);
+        return true;
     }
 
-    private void handleComponentExecution(final EmbeddedFXComponent component, final Map<String, Node> targetComponents) {
+    @Override
+    final void onStop() {
+        if (this.component.isBlocked()) this.component.release();
+    }
+
+    private void handleComponentExecution(final EmbeddedFXComponent component, final Map<String, Node> targetComponents,
+                                          final Message<Event, Object> message) throws InterruptedException {
         final Thread t = Thread.currentThread();
         try {
-            final Message<Event, Object> message = component
-                    .getNextIncomingMessage();
             MessageLoggerService.getInstance().receive(message);
-            final Node previousContainer = component.getRoot();
             final InternalContext contextImpl = InternalContext.class.cast(component.getContext());
             final String currentTargetLayout = contextImpl.getTargetLayout();
             final String currentExecutionTarget = contextImpl.getExecutionTarget();
             final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-            final Class<?> messageType = message.getMessageBody().getClass();
+            final Object body = message.getMessageBody();
+            if (body instanceof MessageBatch) {
+                handleBatch(component, targetComponents, message, (MessageBatch<?>) body, currentTargetLayout, currentExecutionTarget);
+                return;
+            }
+            final Class<?> messageType = body.getClass();
             final Object value = handleAsyncMessage(message, componentViewHandle, messageType);
 
-            handleSyncMessage(component, targetComponents, message, previousContainer, currentTargetLayout, currentExecutionTarget, messageType, value);
+            handleSyncMessage(component, targetComponents, message, currentTargetLayout, currentExecutionTarget, messageType, value);
 
         } catch (final IllegalStateException e) {
             if (e.getMessage().contains("Not on FX application thread")) {
@@ -127,59 +123,89 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
                         "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
                         e));
             }
+            PendingRequests.fail(message, e);
         } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
             t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            PendingRequests.fail(message, e);
         }
 
     }
 
-    private void handleSyncMessage(EmbeddedFXComponent component, Map<String, Node> targetComponents, Message<Event, Object> message, Node previousContainer, String currentTargetLayout, String currentExecutionTarget, Class<?> messageType, Object value) throws InterruptedException, ExecutionException {
-        final Method syncMethod = syncMethodMap.get(messageType);
+    private void handleSyncMessage(EmbeddedFXComponent component, Map<String, Node> targetComponents, Message<Event, Object> message, String currentTargetLayout, String currentExecutionTarget, Class<?> messageType, Object value) throws InterruptedException, ExecutionException {
+        final HandlerInvoker syncMethod = dispatchTable.findOnMessage(messageType);
         if (syncMethod != null) {
-            publish(component, message, syncMethod, targetComponents,
-                    value, previousContainer,
-                    currentTargetLayout, currentExecutionTarget);
+            // a request is completed with the return value of the post handle method
+            publish(component, targetComponents, message,
+                    currentTargetLayout, currentExecutionTarget,
+                    () -> PendingRequests.complete(message, WorkerUtil.executeTypedComponentViewPostHandle(value, component, message, syncMethod)));
+        } else {
+            PendingRequests.complete(message, value);
+        }
+    }
+
+    /**
+     * Handles a batch in one pass, all synchronous calls of the batch are executed in one application thread call.
+     */
+    private void handleBatch(final EmbeddedFXComponent component, final Map<String, Node> targetComponents, final Message<Event, Object> message,
+                             final MessageBatch<?> batch, final String currentTargetLayout, final String currentExecutionTarget)
+            throws InterruptedException, ExecutionException {
+        final TypedPostHandle postHandle = AEmbeddedComponentWorker.handleViewBatch(component, message, batch,
+                dispatchTable);
+        if (postHandle != null) {
+            publish(component, targetComponents, message,
+                    currentTargetLayout, currentExecutionTarget, postHandle);
         }
     }
 
     private Object handleAsyncMessage(Message<Event, Object> message, Object componentHandle, Class<?> messageType) {
         Object value = null;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
+        final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(messageType);
         if (asyncMethod != null) {
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+            value = FXUtil.invokeMessageHandler(asyncMethod, message, componentHandle, message);
         }
         return value;
     }
 
     /**
-     * publish handle result in application main thread
+     * publish handle result in application main thread; in pulse aligned mode the result is published with the next
+     * frame and the worker continues with the next message. The updates are applied in the order of the shared update
+     * queue, so the post handle calls of a component keep the order of its messages. The root of the component and the
+     * targets are read in application main thread, compared to the state after the last published update.
      *
      * @throws InterruptedException
      */
     private void publish(final EmbeddedFXComponent component,
-                         final Message<Event, Object> message,
-                         final Method method,
-                         final Map<String, Node> targetComponents,
-                         final Object handleReturnValue,
-                         final Node previousContainer, final String currentTargetLayout, final String currentExecutionTarget)
+                         final Map<String, Node> targetComponents, final Message<Event, Object> message,
+                         final String currentTargetLayout, final String currentExecutionTarget,
+                         final TypedPostHandle postHandle)
             throws InterruptedException, ExecutionException {
         final Thread t = Thread.currentThread();
-        FXWorker.invokeOnFXThreadAndWait(() -> {
+        final Runnable update = () -> {
             // check if component was set to inactive, if so remove
             try {
-                WorkerUtil.executeTypedComponentViewPostHandle(handleReturnValue, component,
-                        message, method);
-
+                final Node previousContainer = component.getRoot();
+                postHandle.execute();
+                // compare with the state of the last published result, the worker may already handle the next message
                 EmbeddedFXComponentWorker.this.publishComponentValue(
                         component, targetComponents,
-                        previousContainer, currentTargetLayout, currentExecutionTarget);
-
-
+                        previousContainer,
+                        publishedTargetLayout != null ? publishedTargetLayout : currentTargetLayout,
+                        publishedExecutionTarget != null ? publishedExecutionTarget : currentExecutionTarget);
+                final InternalContext context = InternalContext.class.cast(component.getContext());
+                publishedTargetLayout = context.getTargetLayout();
+                publishedExecutionTarget = context.getExecutionTarget();
             } catch (Exception e) {
                 t.getUncaughtExceptionHandler().uncaughtException(t, e);
+                PendingRequests.fail(message, e);
             }
-        });
+        };
+        if (FXUpdateScheduler.isPulseAligned()) {
+            FXUpdateScheduler.submit(update);
+        } else {
+            FXRendezvous.runAndWait(update);
+        }
     }
 
 
@@ -297,6 +323,5 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
     @Override
     public final void cleanAfterInterrupt() {
         this.component.release();
-        ShutdownThreadsHandler.unRegisterThread(this);
     }
 }
@@ -28,8 +28,6 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import org.jacpfx.api.annotations.lifecycle.PostConstruct;
-import org.jacpfx.api.annotations.method.OnMessage;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.Perspective;
@@ -37,26 +35,29 @@ import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.exceptions.AnnotationMissconfigurationException;
 import org.jacpfx.api.message.Message;
-import org.jacpfx.concurrency.FXWorker;
+import org.jacpfx.api.message.MessageBatch;
+import org.jacpfx.concurrency.FXRendezvous;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.PendingRequests;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.util.DispatchTable;
 import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.HandlerInvoker;
+import org.jacpfx.rcp.util.StartupExecutor;
+import org.jacpfx.rcp.util.StartupTimeline;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
 import org.jacpfx.rcp.workbench.GlobalMediator;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.Map;
-import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
 
 /**
  * Background Worker to execute component; handle method to init component.
@@ -69,6 +70,8 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
     private final EmbeddedFXComponent component;
     private final Message<Event, Object> message;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> componentDelegateQueue;
+    // the startup mode when the worker was created, the worker may run after the startup finished
+    private final boolean parallelStartup = StartupExecutor.isParallel();
 
     /**
      * The workers constructor.
@@ -91,25 +94,32 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
     /**
      * Run all methods that need to be invoked before worker thread start to
      * run. Programmatic component runs PostConstruct; declarative component init
-     * the FXML and set the value to root node.
+     * the FXML and set the value to root node. In parallel startup mode the
+     * component is not attached yet, so these methods run on the worker thread.
      *
      * @throws InterruptedException , exception when thread was interrupted
      */
     private void runPreInitMethods() throws InterruptedException, ExecutionException {
-        FXWorker.invokeOnFXThreadAndWait(() -> {
-            setComponentToActiveAndStarted(component);
-            final FXComponentLayout layout = Context.class.cast(component.getContext()).getComponentLayout();
-            switch (component.getType()) {
-                case DECLARATIVE:
-                    runPreInitOnDeclarativeComponent(component, layout);
-                    break;
-                default:
-                    initLocalization(null, component);
-                    performContextInjection(component);
-                    runComponentOnStartupSequence(component, layout,
-                            component.getContext().getResourceBundle());
-            }
-        });
+        if (parallelStartup) {
+            preInitComponent();
+        } else {
+            FXRendezvous.runAndWait(this::preInitComponent);
+        }
+    }
+
+    private void preInitComponent() {
+        setComponentToActiveAndStarted(component);
+        final FXComponentLayout layout = Context.class.cast(component.getContext()).getComponentLayout();
+        switch (component.getType()) {
+            case DECLARATIVE:
+                runPreInitOnDeclarativeComponent(component, layout);
+                break;
+            default:
+                initLocalization(null, component);
+                performContextInjection(component);
+                runComponentOnStartupSequence(component, layout,
+                        component.getContext().getResourceBundle());
+        }
     }
 
     private void runPreInitOnDeclarativeComponent(final EmbeddedFXComponent component, final FXComponentLayout layout) {
@@ -170,27 +180,37 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
         this.log("3.4.4.2.1: subcomponent handle init START: "
                 + name);
         final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        final Class<?> messageType = message.getMessageBody().getClass();
-        final Optional<Method> async = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).filter(method -> messageType.isAssignableFrom(method.getAnnotation(OnAsyncMessage.class).value())).findFirst();
-        Object value = null;
-        if (async.isPresent()) {
-            Method asyncMethod = async.get();
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentViewHandle, message);
-        }
-        final Optional<Method> sync = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnMessage.class)).filter(method -> messageType.isAssignableFrom(method.getAnnotation(OnMessage.class).value())).findFirst();
-        Method syncMethod = null;
-        if (sync.isPresent()) {
-            syncMethod = sync.get();
-
+        final DispatchTable dispatchTable = DispatchTable.of(componentViewHandle.getClass());
+        final Object body = message.getMessageBody();
+        final TypedPostHandle postHandle;
+        try {
+            postHandle = body instanceof MessageBatch ?
+                    AEmbeddedComponentWorker.handleViewBatch(this.component, this.message, (MessageBatch<?>) body, dispatchTable) :
+                    handleMessage(componentViewHandle, dispatchTable, body.getClass());
+        } catch (final RuntimeException e) {
+            PendingRequests.fail(this.message, e);
+            throw e;
         }
-        this.executePostHandleAndAddComponent(value,
-                this.component, syncMethod, this.message, this.targetComponents);
+        this.executePostHandleAndAddComponent(postHandle, this.component, this.targetComponents);
         // check if component was shutdown
         if (!checkIfStartedAndValid(component)) return this.component;
         this.component.initWorker(new EmbeddedFXComponentWorker(this.targetComponents, this.componentDelegateQueue, this.component));
         return this.component;
     }
 
+    private TypedPostHandle handleMessage(final ComponentView<Node, Event, Object> componentViewHandle,
+                                          final DispatchTable dispatchTable, final Class<?> messageType) {
+        final HandlerInvoker asyncMethod = dispatchTable.findOnAsyncMessage(messageType);
+        final Object value = asyncMethod != null ? FXUtil.invokeMessageHandler(asyncMethod, message, componentViewHandle, message) : null;
+        final HandlerInvoker syncMethod = dispatchTable.findOnMessage(messageType);
+        if (syncMethod == null) {
+            PendingRequests.complete(message, value);
+            return null;
+        }
+        // a request is completed with the return value of the post handle method
+        return () -> PendingRequests.complete(message, FXUtil.invokeMessageHandler(syncMethod, message, componentViewHandle, message, value));
+    }
+
     private boolean checkIfStartedAndValid(final EmbeddedFXComponent componentToCheck) {
         return componentToCheck.isStarted();
     }
@@ -220,17 +240,16 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
      * @throws InvocationTargetException
      */
     private void executePostHandleAndAddComponent(
-            final Object handleReturnValue, final EmbeddedFXComponent myComponent, Method syncMethod,
-            final Message<Event, Object> message, final Map<String, Node> targetComponents) throws Exception {
+            final TypedPostHandle postHandle, final EmbeddedFXComponent myComponent,
+            final Map<String, Node> targetComponents) throws Exception {
         final Thread t = Thread.currentThread();
-        FXWorker.invokeOnFXThreadAndWait(() -> {
+        FXRendezvous.runAndWait(() -> {
             try {
-                final ComponentView<Node, Event, Object> componentViewHandle = myComponent.getComponentViewHandle();
-                if (syncMethod != null)
-                    FXUtil.invokeMethod(OnMessage.class, syncMethod, componentViewHandle, message, handleReturnValue);
+                if (postHandle != null) postHandle.execute();
 
             } catch (Exception e) {
                 t.getUncaughtExceptionHandler().uncaughtException(t, e);
+                PendingRequests.fail(this.message, e);
             }
             if (component.getContext().isActive()) {
                 final String targetLayout = InternalContext.class.cast(this.component.getContext()).getTargetLayout();
@@ -273,6 +292,7 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
 
         } finally {
             this.component.release();
+            StartupTimeline.end("init component " + this.component.getContext().getId());
         }
 
 
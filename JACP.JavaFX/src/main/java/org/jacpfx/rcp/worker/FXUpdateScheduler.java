@@ -0,0 +1,149 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXUpdateScheduler.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.worker;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes the post handle work of FXComponents aligned to the JavaFX pulse. The updates of all components are
+ * collected in one queue and drained by an {@link AnimationTimer} once per frame within a time budget; updates
+ * exceeding the budget are carried over to the next frame. The queue is drained in submission order, so the post
+ * handle calls of a component keep the order of its messages. The workers do not wait for the application thread
+ * unless the number of pending updates reaches the limit. The timer only runs while updates are pending.
+ *
+ * @author Andy Moncsek
+ */
+public final class FXUpdateScheduler {
+    private static final Logger logger = Logger.getLogger(FXUpdateScheduler.class.getName());
+    private static final int MAX_PENDING_UPDATES = 10000;
+    private static final Queue<Runnable> updates = new ConcurrentLinkedQueue<>();
+    private static final Semaphore capacity = new Semaphore(MAX_PENDING_UPDATES);
+    private static final AtomicBoolean timerRunning = new AtomicBoolean(false);
+    private static volatile boolean pulseAligned = false;
+    private static volatile long frameBudget = TimeUnit.MILLISECONDS.toNanos(8);
+    private static AnimationTimer timer;
+
+    private FXUpdateScheduler() {
+    }
+
+    /**
+     * Defines how FXComponents publish their post handle results.
+     *
+     * @param pulseAlignedUpdates true to drain the updates once per pulse, false to execute every update in its own
+     *                            application thread call
+     * @param frameBudgetMillis   the maximum time spent on updates per frame
+     */
+    public static void configure(final boolean pulseAlignedUpdates, final int frameBudgetMillis) {
+        if (frameBudgetMillis < 1) throw new IllegalArgumentException("the frame budget must be greater than 0");
+        pulseAligned = pulseAlignedUpdates;
+        frameBudget = TimeUnit.MILLISECONDS.toNanos(frameBudgetMillis);
+    }
+
+    /**
+     * Returns true when updates are executed aligned to the pulse.
+     *
+     * @return true if pulse aligned
+     */
+    public static boolean isPulseAligned() {
+        return pulseAligned;
+    }
+
+    /**
+     * Adds an update, the calling thread waits only when the number of pending updates reached the limit.
+     *
+     * @param update the update to execute on the application thread
+     * @throws InterruptedException when the thread was interrupted while waiting
+     */
+    static void submit(final Runnable update) throws InterruptedException {
+        capacity.acquire();
+        updates.add(update);
+        if (timerRunning.compareAndSet(false, true)) Platform.runLater(FXUpdateScheduler::startTimer);
+    }
+
+    /**
+     * Executes pending updates until the time budget is spent, at least one update is executed.
+     *
+     * @param budgetNanos the time budget in nanoseconds
+     * @return the number of executed updates
+     */
+    static int drain(final long budgetNanos) {
+        final long deadline = System.nanoTime() + budgetNanos;
+        int executed = 0;
+        Runnable update;
+        while ((update = updates.poll()) != null) {
+            capacity.release();
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                final Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+            executed++;
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+        return executed;
+    }
+
+    /**
+     * Returns the number of updates waiting for the next frame.
+     *
+     * @return the number of pending updates
+     */
+    static int getPendingUpdates() {
+        return MAX_PENDING_UPDATES - capacity.availablePermits();
+    }
+
+    private static void startTimer() {
+        if (timer == null) timer = new AnimationTimer() {
+            @Override
+            public void handle(final long now) {
+                onPulse();
+            }
+        };
+        timer.start();
+    }
+
+    private static void onPulse() {
+        final int executed = drain(frameBudget);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(">> pulse updates: " + executed + " carried over: " + getPendingUpdates());
+        }
+        if (!updates.isEmpty()) return;
+        timer.stop();
+        timerRunning.set(false);
+        // an update added while stopping the timer
+        if (!updates.isEmpty() && timerRunning.compareAndSet(false, true)) timer.start();
+    }
+}
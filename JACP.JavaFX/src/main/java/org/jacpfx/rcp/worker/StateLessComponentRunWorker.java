@@ -30,7 +30,10 @@ import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.scheduler.StatelessInstancePool;
 import org.jacpfx.rcp.util.MessageLoggerService;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
@@ -49,37 +52,72 @@ public class StateLessComponentRunWorker
         AComponentWorker<SubComponent<EventHandler<Event>, Event, Object>> {
 	private final SubComponent<EventHandler<Event>, Event, Object> component;
 	private final StatelessCallabackComponent<EventHandler<Event>, Event, Object> parent;
+	private final Message<Event, Object> message;
 
+	/**
+	 * Creates a worker handling the message and afterwards all pending messages of the parent component.
+	 *
+	 * @param component, the component instance
+	 * @param parent,    the parent component
+	 * @param message,   the first message, may be null
+	 */
 	public StateLessComponentRunWorker(
 			final SubComponent<EventHandler<Event>, Event, Object> component,
-			final StatelessCallabackComponent<EventHandler<Event>, Event, Object> parent) {
+			final StatelessCallabackComponent<EventHandler<Event>, Event, Object> parent,
+			final Message<Event, Object> message) {
 		this.component = component;
 		this.parent = parent;
+		this.message = message;
 	}
 
 	@Override
 	protected SubComponent<EventHandler<Event>, Event, Object> call()
 			throws Exception {
-			try {
-                this.component.lock();
-                if(!component.getContext().isActive())runCallbackOnStartMethods(this.component);
-				while (this.component.hasIncomingMessage()) {
-					final Message<Event, Object> myAction = this.component
-							.getNextIncomingMessage();
-					MessageLoggerService.getInstance().receive(myAction);
-                    final InternalContext context = InternalContext.class.cast(this.component.getContext());
-                    context.updateActiveState(true);
-                    context.updateReturnTarget(myAction.getSourceId());
-                    final Object value = this.component.getComponent().handle(myAction);
-                    final String targetId = context
-                            .getReturnTargetAndClear();
-					WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                            myAction);
+		final StatelessInstancePool pool = AStatelessCallbackComponent.class.cast(this.parent).getInstancePool();
+		SubComponent<EventHandler<Event>, Event, Object> instance = this.component;
+		Message<Event, Object> next = this.message;
+		for (; ; ) {
+			handleMessages(instance, next, pool);
+			if (!instance.getContext().isActive()) return instance;
+			pool.release(instance);
+			// a message may have been queued after the last poll, before the instance became idle
+			if (!pool.hasPending()) return instance;
+			final SubComponent<EventHandler<Event>, Event, Object> idle = pool.pollIdle();
+			if (idle == null) return instance;
+			instance = idle;
+			next = null;
+		}
+	}
+
+	private void handleMessages(final SubComponent<EventHandler<Event>, Event, Object> instance,
+								final Message<Event, Object> first, final StatelessInstancePool pool) throws Exception {
+		try {
+			instance.lock();
+			if (!instance.getContext().isActive()) runCallbackOnStartMethods(instance);
+			Message<Event, Object> myAction = first != null ? first : pool.pollPending();
+			while (myAction != null) {
+				MessageLoggerService.getInstance().receive(myAction);
+				final InternalContext context = InternalContext.class.cast(instance.getContext());
+				context.updateActiveState(true);
+				context.updateReturnTarget(myAction.getSourceId());
+				try {
+					final Object value = instance.getComponent().handle(myAction);
+					final String targetId = context
+							.getReturnTargetAndClear();
+					WorkerUtil.delegateReturnValue(instance, targetId, value,
+							myAction);
+				} catch (final Exception e) {
+					// a failing message must not cost the pool its instance, report it and continue with the next one
+					PendingRequests.fail(myAction, e);
+					final Thread t = Thread.currentThread();
+					t.getUncaughtExceptionHandler().uncaughtException(t, e);
 				}
-			} finally {
-				this.component.release();
+				if (!instance.getContext().isActive()) return;
+				myAction = pool.pollPending();
 			}
-		return this.component;
+		} finally {
+			instance.release();
+		}
 	}
 
 
@@ -34,13 +34,18 @@ import org.jacpfx.rcp.components.workbench.WorkbenchDecorator;
 import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
 import org.jacpfx.rcp.handler.ExceptionHandler;
 import org.jacpfx.rcp.registry.ClassRegistry;
+import org.jacpfx.rcp.registry.ComponentIndex;
 import org.jacpfx.rcp.util.ClassFinder;
 import org.jacpfx.rcp.workbench.AFXWorkbench;
 import org.jacpfx.rcp.workbench.FXWorkbench;
+import org.jacpfx.rcp.workbench.WorkbenchConfiguration;
 
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -48,6 +53,7 @@ import java.util.stream.Stream;
  */
 public abstract class AMinimalLauncher extends Application {
     protected AFXWorkbench workbench;
+    protected final StartupSnapshot snapshot = StartupSnapshot.fromSystemProperties();
 
 
     public AFXWorkbench getWorkbench() {
@@ -56,21 +62,30 @@ public abstract class AMinimalLauncher extends Application {
 
     protected abstract Class<? extends FXWorkbench> getWorkbenchClass();
 
+    @SuppressWarnings("rawtypes")
     protected void scanPackegesAndInitRegestry() {
         final String[] packages = getBasePackages();
         if (packages == null)
             throw new InvalidParameterException("no  packes declared, declare all packages containing perspective and component");
         final Optional<String> emptyDeclaration = Stream.of(packages).filter(pack -> pack.isEmpty()).findFirst();
         if (emptyDeclaration.isPresent()) throw new InvalidParameterException("no  empty declaration is allowed");
-        final ClassFinder finder = new ClassFinder();
+        final ClassLoader loader = getClass().getClassLoader();
+        final String classpath = System.getProperty("java.class.path");
+        final ComponentIndex prebuilt = snapshot.loadIndex(classpath);
+        final ComponentIndex index = prebuilt.isEmpty() ? ComponentIndex.load(loader) : prebuilt;
+        final ClassFinder finder = new ClassFinder(index.getIndexedRoots());
         ClassRegistry.clearAllClasses();
         Stream.of(packages).forEach(p -> {
             try {
-                ClassRegistry.addClasses(Arrays.asList(finder.getAll(p)));
+                // a prebuilt index results from a complete scan, the index files cover only the roots containing them
+                final Set<Class> classes = new LinkedHashSet<>(index.getClasses(loader, p));
+                if (prebuilt.isEmpty() || classes.isEmpty()) classes.addAll(Arrays.asList(finder.getAll(p)));
+                ClassRegistry.addClasses(new ArrayList<>(classes));
             } catch (ClassNotFoundException e) {
                 e.printStackTrace();
             }
         });
+        snapshot.record(ClassRegistry.getAllClasses(), classpath);
     }
 
     protected void initExceptionHandler() {
@@ -110,4 +125,14 @@ public abstract class AMinimalLauncher extends Application {
     protected WorkbenchDecorator getWorkbenchDecorator() {
         return new DefaultWorkbenchDecorator();
     }
+
+    /**
+     * Returns the runtime settings of the workbench. The passed configuration contains the values of the {@link org.jacpfx.api.annotations.workbench.Workbench} annotation, overwrite this method to change them at launch.
+     *
+     * @param configuration the configuration defined in the workbench annotation
+     * @return the workbench configuration
+     */
+    protected WorkbenchConfiguration configureWorkbench(final WorkbenchConfiguration configuration) {
+        return configuration;
+    }
 }
@@ -25,15 +25,19 @@
 
 package org.jacpfx.minimal.launcher;
 
+import javafx.application.Platform;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import org.jacpfx.api.annotations.workbench.Workbench;
 import org.jacpfx.api.exceptions.AnnotationNotFoundException;
 import org.jacpfx.api.exceptions.AttributeNotFoundException;
 import org.jacpfx.api.exceptions.ComponentNotFoundException;
 import org.jacpfx.api.fragment.Scope;
 import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.rcp.util.StartupTimeline;
 import org.jacpfx.rcp.workbench.EmbeddedFXWorkbench;
 import org.jacpfx.rcp.workbench.FXWorkbench;
+import org.jacpfx.rcp.workbench.WorkbenchConfiguration;
 
 /**
  * Created by amo on 21.08.14.
@@ -56,17 +60,28 @@ public abstract class JacpFXApplicationLauncher extends AMinimalLauncher{
             this.workbench = createWorkbench(launcher, workbenchHandler);
             workbench.init(launcher, stage);
             postInit(stage);
+            if (snapshot.isEnabled()) StartupTimeline.whenFinished(() -> finishStartup(stage));
         } else {
             throw new AnnotationNotFoundException("no @Workbench annotation found on class");
         }
     }
 
+    /**
+     * Logs the startup time, a training run closes the workbench once the startup has finished so the JVM writes
+     * the class data sharing archive.
+     */
+    private void finishStartup(final Stage stage) {
+        snapshot.logStartupTime();
+        if (snapshot.isTraining())
+            Platform.runLater(() -> stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_CLOSE_REQUEST)));
+    }
+
     private EmbeddedFXWorkbench createWorkbench(final Launcher<ApplicationContext> launcher, final Class<? extends FXWorkbench> workbenchHandler) {
         final Workbench annotation = workbenchHandler.getAnnotation(Workbench.class);
         final String id = annotation.id();
         if (id.isEmpty()) throw new AttributeNotFoundException("no workbench id found for: " + workbenchHandler);
         final FXWorkbench handler = launcher.registerAndGetBean(workbenchHandler, id, Scope.SINGLETON);
-        return new EmbeddedFXWorkbench(handler,getWorkbenchDecorator());
+        return new EmbeddedFXWorkbench(handler, getWorkbenchDecorator(), configureWorkbench(WorkbenchConfiguration.fromAnnotation(annotation).startupTimeline(snapshot.isEnabled())));
     }
 
 }
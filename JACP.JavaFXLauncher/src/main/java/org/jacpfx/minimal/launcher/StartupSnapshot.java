@@ -0,0 +1,247 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StartupSnapshot.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.minimal.launcher;
+
+import org.jacpfx.rcp.registry.ComponentIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The startup snapshot of an application: a prebuilt component index of the scanned packages and an AppCDS archive
+ * of the classes loaded during startup, both stored in the directory defined by the system property
+ * {@value #DIRECTORY_PROPERTY}.
+ * <p>
+ * A training run records the snapshot, the JVM writes the class data sharing archive on exit (JDK 13 or later):
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=snapshot/jacpfx.jsa -Djacpfx.snapshot=snapshot -Djacpfx.snapshot.training=true ...
+ * </pre>
+ * The training run scans the base packages, writes the component index, the classpath fingerprint and the JVM
+ * options file, and closes the workbench when all perspectives and components are initialized. Following runs use
+ * the snapshot with:
+ * <pre>
+ * java @snapshot/jvm.options ...
+ * </pre>
+ * The component index is ignored when the classpath or the Java version changed since the training run, in this
+ * case the packages are scanned and a new training run is required; the JVM ignores an outdated archive as well.
+ * <p>
+ * To measure the effect, start the application with and without the JVM options file. In both cases the launcher
+ * logs the time between the JVM start and the end of the last startup phase together with the state of class data
+ * sharing, and the startup timeline lists the duration of each phase. Compare the median of several cold starts of
+ * each variant on the target machine; -Xlog:class+load shows which classes were loaded from the shared archive.
+ *
+ * @author Andy Moncsek
+ */
+public final class StartupSnapshot {
+    /**
+     * The system property with the snapshot directory.
+     */
+    public static final String DIRECTORY_PROPERTY = "jacpfx.snapshot";
+    /**
+     * The system property to enable the training run.
+     */
+    public static final String TRAINING_PROPERTY = "jacpfx.snapshot.training";
+    static final String INDEX_FILE = "component.index";
+    static final String ARCHIVE_FILE = "jacpfx.jsa";
+    static final String OPTIONS_FILE = "jvm.options";
+    static final String PROPERTIES_FILE = "snapshot.properties";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final Logger LOGGER = Logger.getLogger(StartupSnapshot.class.getName());
+
+    private final Path directory;
+    private final boolean training;
+
+    StartupSnapshot(final Path directory, final boolean training) {
+        this.directory = directory;
+        this.training = training;
+    }
+
+    /**
+     * Creates the snapshot defined by the system properties.
+     *
+     * @return the snapshot, disabled when no snapshot directory is defined
+     */
+    public static StartupSnapshot fromSystemProperties() {
+        final String location = System.getProperty(DIRECTORY_PROPERTY);
+        if (location == null || location.isEmpty()) return new StartupSnapshot(null, false);
+        return new StartupSnapshot(Paths.get(location).toAbsolutePath(), Boolean.getBoolean(TRAINING_PROPERTY));
+    }
+
+    /**
+     * Returns true when a snapshot directory is defined.
+     *
+     * @return true if the snapshot is enabled
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Returns true when this run records the snapshot.
+     *
+     * @return true in a training run
+     */
+    public boolean isTraining() {
+        return isEnabled() && training;
+    }
+
+    /**
+     * Returns the prebuilt component index.
+     *
+     * @param classpath the current classpath
+     * @return the index, empty in a training run or when the snapshot is missing or outdated
+     */
+    public ComponentIndex loadIndex(final String classpath) {
+        if (!isEnabled() || isTraining()) return ComponentIndex.of(Collections.emptyList());
+        final Properties properties = new Properties();
+        final Path file = directory.resolve(PROPERTIES_FILE);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "startup snapshot " + file + " not readable", e);
+            }
+        }
+        if (!fingerprint(classpath).equals(properties.getProperty(FINGERPRINT))) {
+            LOGGER.info("startup snapshot in " + directory + " is missing or outdated, scanning packages");
+            return ComponentIndex.of(Collections.emptyList());
+        }
+        return ComponentIndex.load(directory.resolve(INDEX_FILE));
+    }
+
+    /**
+     * Writes the component index of the scanned classes, the classpath fingerprint and the JVM options file.
+     *
+     * @param classes   all scanned classes
+     * @param classpath the current classpath
+     */
+    @SuppressWarnings("rawtypes")
+    public void record(final Collection<Class> classes, final String classpath) {
+        if (!isTraining()) return;
+        try {
+            ComponentIndex.of(classes).write(directory.resolve(INDEX_FILE));
+            final Properties properties = new Properties();
+            properties.setProperty(FINGERPRINT, fingerprint(classpath));
+            properties.setProperty("java.version", System.getProperty("java.version"));
+            try (OutputStream out = Files.newOutputStream(directory.resolve(PROPERTIES_FILE))) {
+                properties.store(out, "JacpFX startup snapshot");
+            }
+            final List<String> options = Arrays.asList(
+                    "-XX:SharedArchiveFile=" + quote(directory.resolve(ARCHIVE_FILE)),
+                    "-D" + DIRECTORY_PROPERTY + "=" + quote(directory));
+            Files.write(directory.resolve(OPTIONS_FILE), options, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "startup snapshot not writable to " + directory, e);
+        }
+        if (!jvmArgumentPresent("-XX:ArchiveClassesAtExit")) {
+            LOGGER.warning("no class data sharing archive is recorded, start the training run with -XX:ArchiveClassesAtExit="
+                    + directory.resolve(ARCHIVE_FILE));
+        }
+    }
+
+    /**
+     * Logs the time between the JVM start and the end of the startup.
+     */
+    public void logStartupTime() {
+        final long startup = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        final String sharing = jvmArgumentPresent("-XX:SharedArchiveFile") ? "with archive " + directory.resolve(ARCHIVE_FILE) : "off";
+        LOGGER.info("startup finished " + startup + " ms after JVM start" + (isTraining() ? " (training run)" : "")
+                + ", class data sharing: " + sharing);
+    }
+
+    /**
+     * Returns the fingerprint of the classpath entries and the Java version; the fingerprint changes when a classpath
+     * entry is added, removed or modified. The class files of a directory are fingerprinted one by one, as the
+     * modification time of a directory does not change when a class in a sub directory is recompiled.
+     *
+     * @param classpath the classpath
+     * @return the fingerprint
+     */
+    static String fingerprint(final String classpath) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(System.getProperty("java.version").getBytes(StandardCharsets.UTF_8));
+            for (final String entry : classpath.split(File.pathSeparator)) {
+                final File file = new File(entry);
+                if (file.isDirectory()) {
+                    digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                    updateClassFiles(digest, file.toPath());
+                } else {
+                    digest.update((entry + ":" + file.length() + ":" + file.lastModified()).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : digest.digest()) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void updateClassFiles(final MessageDigest digest, final Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            final List<Path> classFiles = files.filter(file -> file.toString().endsWith(".class"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            for (final Path classFile : classFiles) {
+                final File file = classFile.toFile();
+                digest.update((directory.relativize(classFile) + ":" + file.length() + ":" + file.lastModified())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // an unreadable directory never matches, so the packages are scanned
+            digest.update(Long.toString(System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static boolean jvmArgumentPresent(final String prefix) {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream().anyMatch(arg -> arg.startsWith(prefix));
+    }
+
+    private static String quote(final Path path) {
+        final String value = path.toString();
+        return value.contains(" ") ? "\"" + value.replace("\\", "\\\\") + "\"" : value;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StartupSnapshotTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.launcher;
+
+import org.jacpfx.launcher.components.TestComponent;
+import org.jacpfx.launcher.services.TestService;
+import org.jacpfx.minimal.launcher.StartupSnapshot;
+import org.jacpfx.rcp.registry.ComponentIndex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests recording and loading of the startup snapshot.
+ */
+public class StartupSnapshotTest {
+    private Path directory;
+    private String classpath;
+
+    @Before
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("snapshot");
+        final Path jar = Files.createTempFile(directory, "app", ".jar");
+        classpath = jar.toString();
+        System.setProperty(StartupSnapshot.DIRECTORY_PROPERTY, directory.toString());
+    }
+
+    @After
+    public void cleanUp() {
+        System.clearProperty(StartupSnapshot.DIRECTORY_PROPERTY);
+        System.clearProperty(StartupSnapshot.TRAINING_PROPERTY);
+    }
+
+    @Test
+    public void trainingRunRecordsIndex() throws Exception {
+        System.setProperty(StartupSnapshot.TRAINING_PROPERTY, "true");
+        final StartupSnapshot training = StartupSnapshot.fromSystemProperties();
+        Assert.assertTrue(training.isTraining());
+        Assert.assertTrue(training.loadIndex(classpath).isEmpty());
+        training.record(Arrays.asList(TestComponent.class, TestService.class), classpath);
+        Assert.assertTrue(Files.isRegularFile(directory.resolve("jvm.options")));
+
+        System.clearProperty(StartupSnapshot.TRAINING_PROPERTY);
+        final StartupSnapshot snapshot = StartupSnapshot.fromSystemProperties();
+        Assert.assertFalse(snapshot.isTraining());
+        final ComponentIndex index = snapshot.loadIndex(classpath);
+        Assert.assertEquals(1, index.getEntries().size());
+        Assert.assertEquals(ComponentIndex.Kind.DECLARATIVE_VIEW, index.getEntries().get(0).getKind());
+        final List<Class> classes = index.getClasses(getClass().getClassLoader(), "org.jacpfx.launcher");
+        Assert.assertEquals(Arrays.asList(TestComponent.class), classes);
+    }
+
+    @Test
+    public void changedClasspathIgnoresIndex() throws Exception {
+        System.setProperty(StartupSnapshot.TRAINING_PROPERTY, "true");
+        StartupSnapshot.fromSystemProperties().record(Arrays.asList(TestComponent.class), classpath);
+        System.clearProperty(StartupSnapshot.TRAINING_PROPERTY);
+        final StartupSnapshot snapshot = StartupSnapshot.fromSystemProperties();
+        Assert.assertFalse(snapshot.loadIndex(classpath).isEmpty());
+        Assert.assertTrue(snapshot.loadIndex(classpath + File.pathSeparator + "other.jar").isEmpty());
+    }
+
+    @Test
+    public void changedClassInDirectoryIgnoresIndex() throws Exception {
+        final Path classes = Files.createTempDirectory("classes");
+        final Path classFile = Files.createDirectories(classes.resolve("org/jacpfx/app")).resolve("App.class");
+        Files.write(classFile, new byte[]{1});
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(1000000000000L));
+        final String directoryClasspath = classpath + File.pathSeparator + classes;
+        System.setProperty(StartupSnapshot.TRAINING_PROPERTY, "true");
+        StartupSnapshot.fromSystemProperties().record(Arrays.asList(TestComponent.class), directoryClasspath);
+        System.clearProperty(StartupSnapshot.TRAINING_PROPERTY);
+        final StartupSnapshot snapshot = StartupSnapshot.fromSystemProperties();
+        Assert.assertFalse(snapshot.loadIndex(directoryClasspath).isEmpty());
+
+        // the modification time of the class directory does not change
+        final FileTime directoryTime = Files.getLastModifiedTime(classes);
+        Files.write(classFile, new byte[]{1, 2});
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(1000000060000L));
+        Files.setLastModifiedTime(classes, directoryTime);
+        Assert.assertTrue(snapshot.loadIndex(directoryClasspath).isEmpty());
+    }
+
+    @Test
+    public void disabledWithoutDirectory() {
+        System.clearProperty(StartupSnapshot.DIRECTORY_PROPERTY);
+        final StartupSnapshot snapshot = StartupSnapshot.fromSystemProperties();
+        Assert.assertFalse(snapshot.isEnabled());
+        Assert.assertTrue(snapshot.loadIndex(classpath).isEmpty());
+    }
+}
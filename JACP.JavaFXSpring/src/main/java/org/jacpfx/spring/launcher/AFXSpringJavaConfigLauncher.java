@@ -34,6 +34,7 @@ import org.jacpfx.api.fragment.Scope;
 import org.jacpfx.api.launcher.Launcher;
 import org.jacpfx.rcp.workbench.EmbeddedFXWorkbench;
 import org.jacpfx.rcp.workbench.FXWorkbench;
+import org.jacpfx.rcp.workbench.WorkbenchConfiguration;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 /**
@@ -72,7 +73,7 @@ public abstract class AFXSpringJavaConfigLauncher extends ASpringLauncher {
         final String id = annotation.id();
         if (id.isEmpty()) throw new AttributeNotFoundException("no workbench id found for: " + workbenchHandler);
         final FXWorkbench handler = launcher.registerAndGetBean(workbenchHandler, id, Scope.SINGLETON);
-        return new EmbeddedFXWorkbench(handler,getWorkbenchDecorator());
+        return new EmbeddedFXWorkbench(handler, getWorkbenchDecorator(), configureWorkbench(WorkbenchConfiguration.fromAnnotation(annotation)));
     }
 
 
@@ -0,0 +1,311 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [JacpFXProcessor.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.processor;
+
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.annotations.workbench.Workbench;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Writes the component index and the message dispatchers of JacpFX applications at compile time.
+ * <p>
+ * The index (META-INF/jacpfx/component.index) lists all classes annotated with {@link Workbench}, {@link Perspective},
+ * {@link View}, {@link DeclarativeView} and {@link Component} with their ids, one line per class: the kind, the id and
+ * the binary class name, separated by tabs. The launchers load the indexed classes instead of scanning the packages.
+ * <p>
+ * For every class with {@link OnMessage} or {@link OnAsyncMessage} methods a dispatcher named like the binary class
+ * name with the suffix "_JacpDispatcher" is generated. It implements org.jacpfx.rcp.util.MessageDispatcher and calls
+ * the methods directly, so messages are dispatched without reflection. Two methods handling the same message type are
+ * reported as compile error.
+ *
+ * @author Andy Moncsek
+ */
+@SupportedAnnotationTypes({
+        "org.jacpfx.api.annotations.workbench.Workbench",
+        "org.jacpfx.api.annotations.perspective.Perspective",
+        "org.jacpfx.api.annotations.component.View",
+        "org.jacpfx.api.annotations.component.DeclarativeView",
+        "org.jacpfx.api.annotations.component.Component",
+        "org.jacpfx.api.annotations.method.OnMessage",
+        "org.jacpfx.api.annotations.method.OnAsyncMessage"})
+public class JacpFXProcessor extends AbstractProcessor {
+    static final String INDEX = "META-INF/jacpfx/component.index";
+    static final String DISPATCHER_SUFFIX = "_JacpDispatcher";
+    private static final String SEPARATOR = "\t";
+    private static final String DISPATCHER = "org.jacpfx.rcp.util.MessageDispatcher";
+    private static final String BUILDER = "org.jacpfx.rcp.util.DispatchTable.Builder";
+
+    private final Map<String, String> index = new TreeMap<>();
+    private final Set<String> dispatchers = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        addToIndex(roundEnv, Workbench.class, "WORKBENCH", Workbench::id);
+        addToIndex(roundEnv, Perspective.class, "PERSPECTIVE", Perspective::id);
+        addToIndex(roundEnv, View.class, "VIEW", View::id);
+        addToIndex(roundEnv, DeclarativeView.class, "DECLARATIVE_VIEW", DeclarativeView::id);
+        addToIndex(roundEnv, Component.class, "COMPONENT", Component::id);
+
+        final Set<TypeElement> handlers = new LinkedHashSet<>();
+        addTypes(handlers, roundEnv.getElementsAnnotatedWith(View.class));
+        addTypes(handlers, roundEnv.getElementsAnnotatedWith(DeclarativeView.class));
+        addTypes(handlers, roundEnv.getElementsAnnotatedWith(Component.class));
+        addEnclosingTypes(handlers, roundEnv.getElementsAnnotatedWith(OnMessage.class));
+        addEnclosingTypes(handlers, roundEnv.getElementsAnnotatedWith(OnAsyncMessage.class));
+        handlers.forEach(this::generateDispatcher);
+        return false;
+    }
+
+    private <A extends java.lang.annotation.Annotation> void addToIndex(final RoundEnvironment roundEnv, final Class<A> annotation,
+                                                                        final String kind, final Function<A, String> id) {
+        for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+            final String className = binaryName(type);
+            // the classpath scan registers top level classes only
+            if (className.indexOf('$') >= 0) continue;
+            index.put(className, kind + SEPARATOR + id.apply(type.getAnnotation(annotation)) + SEPARATOR + className);
+        }
+    }
+
+    private static void addTypes(final Set<TypeElement> handlers, final Set<? extends Element> elements) {
+        handlers.addAll(ElementFilter.typesIn(elements));
+    }
+
+    private static void addEnclosingTypes(final Set<TypeElement> handlers, final Set<? extends Element> elements) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(elements)) {
+            handlers.add((TypeElement) method.getEnclosingElement());
+        }
+    }
+
+    private void generateDispatcher(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT) || !isAccessible(type)) return;
+        final String className = binaryName(type);
+        if (!dispatchers.add(className)) return;
+        final List<String> registrations = new ArrayList<>();
+        final Map<String, ExecutableElement> declared = new HashMap<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) continue;
+            register(type, method, OnMessage.class, "onMessage", declared, registrations);
+            register(type, method, OnAsyncMessage.class, "onAsyncMessage", declared, registrations);
+        }
+        if (registrations.isEmpty()) return;
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String simpleName = className.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + DISPATCHER_SUFFIX;
+        final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) out.println("package " + packageName + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * Dispatcher of {@link " + type.getQualifiedName() + "}, generated by the jacpfx.Processor.");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleName + " implements " + DISPATCHER + " {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void register(final " + BUILDER + " builder) {");
+            registrations.forEach(out::println);
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "dispatcher not written: " + e.getMessage(), type);
+        }
+    }
+
+    private void register(final TypeElement type, final ExecutableElement method, final Class<?> annotation, final String kind,
+                          final Map<String, ExecutableElement> declared, final List<String> registrations) {
+        final AnnotationMirror mirror = findAnnotation(method, annotation);
+        if (mirror == null) return;
+        final Map<String, AnnotationValue> values = new LinkedHashMap<>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).
+                forEach((key, value) -> values.put(key.getSimpleName().toString(), value));
+        final String messageType = typeName((TypeMirror) values.get("value").getValue());
+        final boolean batch = Boolean.TRUE.equals(values.get("batch").getValue());
+        final ExecutableElement previous = declared.putIfAbsent(kind + batch + messageType, method);
+        if (previous != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "duplicate @" + annotation.getSimpleName() + "(" + messageType
+                    + ".class) methods in " + type.getQualifiedName() + ": " + previous.getSimpleName() + " and " + method.getSimpleName(), method);
+            return;
+        }
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final StringBuilder parameterTypes = new StringBuilder();
+        final StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            final String parameterType = typeName(parameters.get(i).asType());
+            if (i > 0) {
+                parameterTypes.append(", ");
+                arguments.append(", ");
+            }
+            parameterTypes.append(parameterType).append(".class");
+            arguments.append("(").append(parameterType).append(") arguments[").append(i).append("]");
+        }
+        final String call = "((" + type.getQualifiedName() + ") target)." + method.getSimpleName() + "(" + arguments + ")";
+        registrations.add("        builder." + kind + "(" + messageType + ".class, " + batch + ", \"" + method.getSimpleName() + "\",");
+        registrations.add("                new Class<?>[]{" + parameterTypes + "},");
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            registrations.add("                (target, arguments) -> {");
+            registrations.add("                    " + call + ";");
+            registrations.add("                    return null;");
+            registrations.add("                });");
+        } else {
+            registrations.add("                (target, arguments) -> " + call + ");");
+        }
+    }
+
+    private AnnotationMirror findAnnotation(final Element element, final Class<?> annotation) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotation.getCanonicalName())) return mirror;
+        }
+        return null;
+    }
+
+    private String typeName(final TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String binaryName(final TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    /**
+     * The dispatcher is generated in the package of the class, so the class and its enclosing classes must not be
+     * private.
+     */
+    private static boolean isAccessible(final TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            final TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if (currentType.getNestingKind() == NestingKind.LOCAL || currentType.getNestingKind() == NestingKind.ANONYMOUS) return false;
+            current = current.getEnclosingElement();
+        }
+        return current instanceof PackageElement;
+    }
+
+    /**
+     * Writes the index; entries of an earlier compilation are kept as long as their class still exists and carries
+     * the annotation of its kind, so incremental compilation neither drops the classes that were not recompiled nor
+     * keeps classes whose annotation was removed.
+     */
+    private void writeIndex() {
+        final Map<String, String> entries = new TreeMap<>(index);
+        boolean changed = !index.isEmpty();
+        try {
+            final FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String[] columns = line.split(SEPARATOR);
+                    if (columns.length != 3 || entries.containsKey(columns[2])) continue;
+                    if (isIndexed(columns[0], columns[2])) entries.put(columns[2], line);
+                    else changed = true;
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no index of an earlier compilation
+        }
+        if (!changed) return;
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer writer = resource.openWriter()) {
+                for (final String line : entries.values()) {
+                    writer.write(line);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "component index not written: " + e.getMessage());
+        }
+    }
+
+    private boolean isIndexed(final String kind, final String className) {
+        if (className.indexOf('$') >= 0) return false;
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(className);
+        if (type == null) return false;
+        switch (kind) {
+            case "WORKBENCH":
+                return type.getAnnotation(Workbench.class) != null;
+            case "PERSPECTIVE":
+                return type.getAnnotation(Perspective.class) != null;
+            case "VIEW":
+                return type.getAnnotation(View.class) != null;
+            case "DECLARATIVE_VIEW":
+                return type.getAnnotation(DeclarativeView.class) != null;
+            case "COMPONENT":
+                return type.getAnnotation(Component.class) != null;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [JacpFXProcessorTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacpfx.processor;
+
+import org.jacpfx.rcp.registry.ComponentIndex;
+import org.jacpfx.rcp.util.DispatchTable;
+import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.HandlerInvoker;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the component index and the dispatchers written by the annotation processor.
+ */
+public class JacpFXProcessorTest {
+    private static final String COMPONENT = "package generated;\n" +
+            "import org.jacpfx.api.annotations.component.Component;\n" +
+            "import org.jacpfx.api.annotations.method.OnAsyncMessage;\n" +
+            "import org.jacpfx.api.annotations.method.OnMessage;\n" +
+            "import org.jacpfx.api.message.Message;\n" +
+            "@Component(id = \"id01\")\n" +
+            "public class TextComponent {\n" +
+            "    public int count;\n" +
+            "    @OnAsyncMessage(CharSequence.class)\n" +
+            "    public String onText(final Message<?, ?> message, final CharSequence text) { return text + \"!\"; }\n" +
+            "    @OnMessage(Integer.class)\n" +
+            "    public void onNumber(final int number) { count += number; }\n" +
+            "}\n";
+    private static final String NESTED = "package generated;\n" +
+            "import org.jacpfx.api.annotations.component.Component;\n" +
+            "@Component(id = \"id02\")\n" +
+            "public class OuterComponent {\n" +
+            "    @Component(id = \"id03\")\n" +
+            "    public static class InnerComponent { }\n" +
+            "}\n";
+    private static final String DUPLICATE = "package generated;\n" +
+            "import org.jacpfx.api.annotations.method.OnMessage;\n" +
+            "public class DuplicateHandler {\n" +
+            "    @OnMessage(String.class) public void first(final String text) { }\n" +
+            "    @OnMessage(String.class) public void second(final String text) { }\n" +
+            "}\n";
+
+    private Path sources;
+    private Path classes;
+
+    @Before
+    public void createDirectories() throws IOException {
+        sources = Files.createTempDirectory("jacpfx-sources");
+        classes = Files.createTempDirectory("jacpfx-classes");
+    }
+
+    @Test
+    public void testWriteIndexAndDispatcher() throws Exception {
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile("TextComponent", COMPONENT);
+        assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().isEmpty());
+        final List<String> index = Files.readAllLines(classes.resolve(ComponentIndex.LOCATION), StandardCharsets.UTF_8);
+        assertEquals(Collections.singletonList("COMPONENT\tid01\tgenerated.TextComponent"), index);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            final ComponentIndex componentIndex = ComponentIndex.load(loader);
+            assertEquals(1, componentIndex.getClasses(loader, "generated").size());
+            assertTrue(componentIndex.getIndexedRoots().contains(classes.toAbsolutePath().normalize()));
+            final Class<?> type = loader.loadClass("generated.TextComponent");
+            final Object component = type.newInstance();
+            final DispatchTable table = DispatchTable.of(type);
+            final HandlerInvoker onText = table.findOnAsyncMessage(String.class);
+            assertNull("generated dispatchers need no reflection", onText.getMethod());
+            assertEquals("hello!", FXUtil.invokeMethod(onText, component, "hello"));
+            FXUtil.invokeMethod(table.findOnMessage(Integer.class), component, 2);
+            assertEquals(2, type.getField("count").get(component));
+        }
+    }
+
+    @Test
+    public void testDropEntryOfRemovedAnnotation() throws Exception {
+        compile("TextComponent", COMPONENT);
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile("TextComponent",
+                COMPONENT.replace("@Component(id = \"id01\")\n", ""));
+        assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().isEmpty());
+        assertEquals(Collections.emptyList(), Files.readAllLines(classes.resolve(ComponentIndex.LOCATION), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSkipNestedClasses() throws Exception {
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile("OuterComponent", NESTED);
+        assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().isEmpty());
+        assertEquals(Collections.singletonList("COMPONENT\tid02\tgenerated.OuterComponent"),
+                Files.readAllLines(classes.resolve(ComponentIndex.LOCATION), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRejectDuplicateMethods() throws Exception {
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile("DuplicateHandler", DUPLICATE);
+        assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getMessage(null).contains("duplicate @OnMessage")));
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(final String name, final String source) throws IOException {
+        final Path file = sources.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString(), "-s", sources.toString()),
+                    null, fileManager.getJavaFileObjects(new File(file.toString())));
+            task.setProcessors(Collections.singletonList(new JacpFXProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [HeadlessToolkit.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark;
+
+import com.sun.javafx.application.PlatformImpl;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.benchmark.app.BenchmarkLauncher;
+import org.jacpfx.benchmark.app.SenderComponent;
+import org.jacpfx.rcp.context.Context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the JavaFX toolkit on the Monocle headless platform and boots the benchmark application once per JVM.
+ * JMH runs every benchmark in a forked JVM, so the toolkit lives exactly as long as one fork.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+public final class HeadlessToolkit {
+
+    private static final long STARTUP_TIMEOUT = 30;
+    private static Context context;
+
+    private HeadlessToolkit() {
+    }
+
+    /**
+     * Starts the toolkit and the application if not already running.
+     *
+     * @param coordinatorShards the number of message coordinator threads of the workbench and perspective
+     * @param workerMode        the execution mode of the component workers
+     * @param pulseAligned      true to publish the FXComponent results once per pulse
+     * @param directRouting     true to deliver the messages in the thread of the sender
+     * @return the context of the benchmark sender component
+     */
+    public static synchronized Context start(final int coordinatorShards, final WorkerMode workerMode, final boolean pulseAligned,
+                                             final boolean directRouting) throws Exception {
+        if (context != null) return context;
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("prism.text", "t2k");
+        final CompletableFuture<Void> toolkit = new CompletableFuture<>();
+        PlatformImpl.startup(() -> toolkit.complete(null));
+        toolkit.get(STARTUP_TIMEOUT, TimeUnit.SECONDS);
+        Platform.runLater(() -> {
+            try {
+                new BenchmarkLauncher(coordinatorShards, workerMode, pulseAligned, directRouting).start(new Stage());
+            } catch (Exception e) {
+                SenderComponent.CONTEXT.completeExceptionally(e);
+            }
+        });
+        context = SenderComponent.CONTEXT.get(STARTUP_TIMEOUT, TimeUnit.SECONDS);
+        return context;
+    }
+
+    /**
+     * Stops the toolkit at the end of a fork.
+     */
+    public static synchronized void stop() {
+        Platform.exit();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RequestReplyBenchmark.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark;
+
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.benchmark.app.BenchmarkIds;
+import org.jacpfx.benchmark.app.Echo;
+import org.jacpfx.benchmark.app.Probe;
+import org.jacpfx.rcp.context.Context;
+import org.jacpfx.rcp.util.FXUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Measures the round trip of a query to a background component: the reply as return value, which is routed back
+ * to the sender as a new message, compared with {@code JacpContext.request()}, where the target worker completes
+ * the future of the request.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RequestReplyBenchmark {
+
+    private static final long REPLY_TIMEOUT = 10000;
+
+    @Param({BenchmarkIds.CALLBACK, BenchmarkIds.STATELESS})
+    public String target;
+
+    @Param({"false"})
+    public boolean directRouting;
+
+    private Context context;
+    private String targetId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.context = HeadlessToolkit.start(1, WorkerMode.THREAD, false, directRouting);
+        this.targetId = BenchmarkIds.PERSPECTIVE.concat(FXUtil.PATTERN_GLOBAL).concat(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HeadlessToolkit.stop();
+    }
+
+    /**
+     * Round trip of a return value routed back to the sender component.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void returnValueRoundTrip() throws InterruptedException {
+        final Probe probe = new Probe(1);
+        context.send(targetId, new Echo(probe));
+        probe.await(REPLY_TIMEOUT);
+    }
+
+    /**
+     * Round trip of a request completed by the worker of the target.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object requestRoundTrip() throws InterruptedException, ExecutionException, TimeoutException {
+        return context.request(targetId, new Echo(null)).get(REPLY_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestReplyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
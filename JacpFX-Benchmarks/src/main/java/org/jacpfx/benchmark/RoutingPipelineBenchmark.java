@@ -0,0 +1,147 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RoutingPipelineBenchmark.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark;
+
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.benchmark.app.BenchmarkIds;
+import org.jacpfx.benchmark.app.Probe;
+import org.jacpfx.rcp.context.Context;
+import org.jacpfx.rcp.util.FXUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the complete message path: {@code JacpContext.send()} -> {@code MessageCoordinator} ->
+ * {@code ComponentHandlerImpl} -> component worker (and the FX application thread for UI components).
+ * Every benchmark sends to one target component of the selected type and waits until the component received
+ * the message, so the score covers routing and delivery, not only the enqueue.
+ * <p>
+ * Run with {@code mvn -Pbenchmark package} and {@code java -jar JacpFX-Benchmarks/target/benchmarks.jar}.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RoutingPipelineBenchmark {
+
+    private static final int BURST = 100;
+    private static final long DELIVERY_TIMEOUT = 10000;
+
+    @Param({BenchmarkIds.CALLBACK, BenchmarkIds.STATELESS, BenchmarkIds.FX})
+    public String target;
+
+    @Param({"1"})
+    public int coordinatorShards;
+
+    @Param({"THREAD"})
+    public WorkerMode workerMode;
+
+    @Param({"false"})
+    public boolean pulseAligned;
+
+    @Param({"false"})
+    public boolean directRouting;
+
+    private Context context;
+    private String targetId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.context = HeadlessToolkit.start(coordinatorShards, workerMode, pulseAligned, directRouting);
+        this.targetId = BenchmarkIds.PERSPECTIVE.concat(FXUtil.PATTERN_GLOBAL).concat(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HeadlessToolkit.stop();
+    }
+
+    /**
+     * Latency of one message from send until the target component handled it.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void deliveryLatency() throws InterruptedException {
+        final Probe probe = new Probe(1);
+        context.send(targetId, probe);
+        probe.await(DELIVERY_TIMEOUT);
+    }
+
+    /**
+     * Throughput of bursts of messages sent back to back to the same target component.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public void deliveryThroughput() throws InterruptedException {
+        final Probe probe = new Probe(BURST);
+        for (int i = 0; i < BURST; i++) {
+            context.send(targetId, probe);
+        }
+        probe.await(DELIVERY_TIMEOUT);
+    }
+
+    /**
+     * Throughput of bursts sent as one batch with {@code JacpContext.sendBatch()}, the target handles all elements in one pass.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public void batchThroughput() throws InterruptedException {
+        final Probe probe = new Probe(BURST);
+        context.sendBatch(targetId, Collections.nCopies(BURST, probe));
+        probe.await(DELIVERY_TIMEOUT);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoutingPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
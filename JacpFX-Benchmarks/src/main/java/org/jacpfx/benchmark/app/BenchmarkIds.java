@@ -0,0 +1,41 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BenchmarkIds.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+/**
+ * Ids of the workbench, perspective and components used by the routing benchmarks.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+public interface BenchmarkIds {
+    String WORKBENCH = "benchmarkWorkbench";
+    String PERSPECTIVE = "benchmarkPerspective";
+    String SENDER = "benchmarkSender";
+    String CALLBACK = "benchmarkCallback";
+    String STATELESS = "benchmarkStateless";
+    String FX = "benchmarkFX";
+    String TARGET_LAYOUT = "benchmarkContent";
+}
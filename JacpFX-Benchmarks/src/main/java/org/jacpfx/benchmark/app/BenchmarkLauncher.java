@@ -0,0 +1,74 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BenchmarkLauncher.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.stage.Stage;
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.minimal.launcher.JacpFXApplicationLauncher;
+import org.jacpfx.rcp.workbench.FXWorkbench;
+import org.jacpfx.rcp.workbench.WorkbenchConfiguration;
+
+/**
+ * Launches the benchmark application; started by {@link org.jacpfx.benchmark.HeadlessToolkit} instead of
+ * {@link javafx.application.Application#launch(String...)}.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+public class BenchmarkLauncher extends JacpFXApplicationLauncher {
+    private final int coordinatorShards;
+    private final WorkerMode workerMode;
+    private final boolean pulseAligned;
+    private final boolean directRouting;
+
+    public BenchmarkLauncher(final int coordinatorShards, final WorkerMode workerMode, final boolean pulseAligned,
+                             final boolean directRouting) {
+        this.coordinatorShards = coordinatorShards;
+        this.workerMode = workerMode;
+        this.pulseAligned = pulseAligned;
+        this.directRouting = directRouting;
+    }
+
+    @Override
+    protected Class<? extends FXWorkbench> getWorkbenchClass() {
+        return BenchmarkWorkbench.class;
+    }
+
+    @Override
+    protected String[] getBasePackages() {
+        return new String[]{"org.jacpfx.benchmark.app"};
+    }
+
+    @Override
+    protected void postInit(final Stage stage) {
+
+    }
+
+    @Override
+    protected WorkbenchConfiguration configureWorkbench(final WorkbenchConfiguration configuration) {
+        return configuration.coordinatorShards(coordinatorShards).workerMode(workerMode).pulseAlignedUpdates(pulseAligned).
+                directRouting(directRouting);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BenchmarkPerspective.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import javafx.scene.layout.HBox;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.componentLayout.PerspectiveLayout;
+import org.jacpfx.rcp.perspective.FXPerspective;
+import org.jacpfx.rcp.util.FXUtil.MessageUtil;
+
+/**
+ * Perspective containing the sender and one target component of every component type.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@Perspective(id = BenchmarkIds.PERSPECTIVE,
+        components = {BenchmarkIds.SENDER, BenchmarkIds.CALLBACK, BenchmarkIds.STATELESS, BenchmarkIds.FX})
+public class BenchmarkPerspective implements FXPerspective {
+
+    @Override
+    public void handlePerspective(final Message<Event, Object> action,
+                                  final PerspectiveLayout perspectiveLayout) {
+        if (action.messageBodyEquals(MessageUtil.INIT)) {
+            final HBox content = new HBox();
+            perspectiveLayout.registerRootComponent(content);
+            perspectiveLayout.registerTargetLayoutComponent(BenchmarkIds.TARGET_LAYOUT, content);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BenchmarkWorkbench.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.stage.Stage;
+import org.jacpfx.api.annotations.workbench.Workbench;
+import org.jacpfx.api.componentLayout.WorkbenchLayout;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.componentLayout.FXComponentLayout;
+import org.jacpfx.rcp.workbench.FXWorkbench;
+
+/**
+ * Minimal workbench hosting the benchmark perspective.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@Workbench(id = BenchmarkIds.WORKBENCH, perspectives = {BenchmarkIds.PERSPECTIVE})
+public class BenchmarkWorkbench implements FXWorkbench {
+
+    @Override
+    public void handleInitialLayout(final Message<Event, Object> action,
+                                    final WorkbenchLayout<Node> layout, final Stage stage) {
+        layout.setWorkbenchXYSize(800, 600);
+    }
+
+    @Override
+    public void postHandle(final FXComponentLayout layout) {
+
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [CallbackTarget.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+
+/**
+ * Stateful callback component, delivered by its own component worker to the typed handler method.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@Component(id = BenchmarkIds.CALLBACK)
+public class CallbackTarget implements CallbackComponent {
+
+    @Override
+    public Object handle(final Message<Event, Object> message) {
+        return null;
+    }
+
+    @OnAsyncMessage(Probe.class)
+    public void onProbe(final Message<Event, Object> message) {
+        message.getTypedMessageBody(Probe.class).arrive();
+    }
+
+    @OnAsyncMessage(Echo.class)
+    public Echo onEcho(final Message<Event, Object> message) {
+        return message.getTypedMessageBody(Echo.class);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXTarget.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.FXComponent;
+
+/**
+ * UI component; a message counts as delivered when the {@link OnMessage} handler ran on the FX application thread.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@View(id = BenchmarkIds.FX, initialTargetLayoutId = BenchmarkIds.TARGET_LAYOUT)
+public class FXTarget implements FXComponent {
+
+    @Override
+    public Node handle(final Message<Event, Object> message) {
+        return null;
+    }
+
+    @Override
+    public Node postHandle(final Node node, final Message<Event, Object> message) {
+        return null;
+    }
+
+    @OnMessage(Probe.class)
+    public void onProbe(final Message<Event, Object> message) {
+        message.getTypedMessageBody(Probe.class).arrive();
+    }
+}
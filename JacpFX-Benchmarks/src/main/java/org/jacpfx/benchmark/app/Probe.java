@@ -0,0 +1,61 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [Probe.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The message body sent by the benchmarks. Every receiving component calls {@link #arrive()}, the benchmark
+ * thread waits in {@link #await(long)} until all messages of one invocation were delivered.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+public final class Probe {
+    private final CountDownLatch latch;
+
+    public Probe(final int expectedDeliveries) {
+        this.latch = new CountDownLatch(expectedDeliveries);
+    }
+
+    /**
+     * Called by the target component once per delivered message.
+     */
+    public void arrive() {
+        latch.countDown();
+    }
+
+    /**
+     * Waits until all expected messages were delivered.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @throws IllegalStateException when not all messages arrived in time
+     */
+    public void await(final long timeoutMillis) throws InterruptedException {
+        if (!latch.await(timeoutMillis, TimeUnit.MILLISECONDS))
+            throw new IllegalStateException(latch.getCount() + " messages not delivered within " + timeoutMillis + " ms");
+    }
+}
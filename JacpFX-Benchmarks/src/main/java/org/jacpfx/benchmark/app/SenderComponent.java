@@ -0,0 +1,68 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [SenderComponent.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.Resource;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.lifecycle.PostConstruct;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.context.Context;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provides the context the benchmarks send with, so every measured message takes the same path as a
+ * message sent by an ordinary component of the benchmark perspective. It receives the return values of the
+ * request/reply benchmark.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@Component(id = BenchmarkIds.SENDER)
+public class SenderComponent implements CallbackComponent {
+
+    public static final CompletableFuture<Context> CONTEXT = new CompletableFuture<>();
+
+    @Resource
+    private Context context;
+
+    @Override
+    public Object handle(final Message<Event, Object> message) {
+        return null;
+    }
+
+    @OnAsyncMessage(Echo.class)
+    public void onEcho(final Message<Event, Object> message) {
+        message.getTypedMessageBody(Echo.class).getProbe().arrive();
+    }
+
+    @PostConstruct
+    public void onStart() {
+        CONTEXT.complete(context);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessTarget.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.benchmark.app;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.Stateless;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageBatch;
+import org.jacpfx.rcp.component.CallbackComponent;
+
+/**
+ * Stateless callback component, delivered by the stateless component scheduler. Stateless components have no typed
+ * message methods, so batches are handled in {@link #handle(Message)}.
+ *
+ * @author <a href="mailto:amo.ahcp@gmail.com"> Andy Moncsek</a>
+ */
+@Component(id = BenchmarkIds.STATELESS)
+@Stateless
+public class StatelessTarget implements CallbackComponent {
+
+    @Override
+    public Object handle(final Message<Event, Object> message) {
+        if (message.isMessageBodyTypeOf(Echo.class)) {
+            return message.getTypedMessageBody(Echo.class);
+        }
+        if (message.isMessageBodyTypeOf(Probe.class)) {
+            message.getTypedMessageBody(Probe.class).arrive();
+        } else if (message.isMessageBodyTypeOf(MessageBatch.class)) {
+            for (final Object element : message.getTypedMessageBody(MessageBatch.class)) {
+                ((Probe) element).arrive();
+            }
+        }
+        return null;
+    }
+}
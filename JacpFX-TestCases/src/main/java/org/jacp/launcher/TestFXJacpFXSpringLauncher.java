@@ -39,6 +39,7 @@ import org.jacpfx.rcp.components.workbench.WorkbenchDecorator;
 import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
 import org.jacpfx.rcp.handler.ExceptionHandler;
 import org.jacpfx.rcp.registry.ClassRegistry;
+import org.jacpfx.rcp.registry.ComponentIndex;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.ClassFinder;
@@ -52,6 +53,7 @@ import org.testfx.framework.junit.ApplicationTest;
 
 import java.security.InvalidParameterException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -74,11 +76,14 @@ public abstract class TestFXJacpFXSpringLauncher extends ApplicationTest {
         final String[] packages = getBasePackages();
         if (packages == null)
             throw new InvalidParameterException("no  packes declared, declare all packages containing perspective and component");
+        final ClassLoader loader = getClass().getClassLoader();
+        final ComponentIndex index = ComponentIndex.load(loader);
         final ClassFinder finder = new ClassFinder();
         ClassRegistry.clearAllClasses();
         Stream.of(packages).forEach(p -> {
             try {
-                ClassRegistry.addClasses(Arrays.asList(finder.getAll(p)));
+                final List<Class> indexed = index.getClasses(loader, p);
+                ClassRegistry.addClasses(indexed.isEmpty() ? Arrays.asList(finder.getAll(p)) : indexed);
             } catch (ClassNotFoundException e) {
                 e.printStackTrace();
             }
@@ -0,0 +1,185 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentRequestTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.component;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.stage.Stage;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.worker.CallbackComponentInitWorker;
+import org.jacpfx.rcp.worker.FXComponentInitWorker;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the component workers complete requests with the reply or the error of the handling method.
+ */
+public class ComponentRequestTest extends ApplicationTest {
+
+    private ASubComponent component;
+
+    @Override
+    public void start(final Stage stage) {
+
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        if (component != null) component.interruptWorker();
+        PendingRequests.clearOnShutdown();
+    }
+
+    @Test
+    public void callbackRequestFailsWithHandlerException() throws Exception {
+        component = init(new EmbeddedStatefulComponent(new Callback()));
+        final CompletableFuture<Object> init = new CompletableFuture<>();
+        new CallbackComponentInitWorker(new LinkedBlockingQueue<>(), component, request(init, "init")).run();
+        assertEquals("init", init.get(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<Object> failed = new CompletableFuture<>();
+        component.putIncomingMessage(request(failed, "fail"));
+        assertHandlerException(failed);
+
+        // the component keeps handling requests after the failure
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        component.putIncomingMessage(request(reply, "message"));
+        assertEquals("message", reply.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fxComponentRequestCompletesWithPostHandleResult() throws Exception {
+        final EmbeddedFXComponent view = init(new EmbeddedFXComponent(new View()));
+        component = view;
+        final CompletableFuture<Object> init = new CompletableFuture<>();
+        new FXComponentInitWorker(new HashMap<>(), view, request(init, "init"), new LinkedBlockingQueue<>()).run();
+        assertEquals("init handled", init.get(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        view.putIncomingMessage(request(reply, "message"));
+        assertEquals("message handled", reply.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fxComponentRequestFailsWithPostHandleException() throws Exception {
+        final EmbeddedFXComponent view = init(new EmbeddedFXComponent(new View()));
+        component = view;
+        final CompletableFuture<Object> init = new CompletableFuture<>();
+        new FXComponentInitWorker(new HashMap<>(), view, request(init, "init"), new LinkedBlockingQueue<>()).run();
+        init.get(5, TimeUnit.SECONDS);
+
+        final CompletableFuture<Object> failed = new CompletableFuture<>();
+        view.putIncomingMessage(request(failed, "fail"));
+        assertHandlerException(failed);
+    }
+
+    private static <T extends ASubComponent> T init(final T component) {
+        component.initEnv("id01", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("id002");
+        return component;
+    }
+
+    private static MessageImpl request(final CompletableFuture<Object> reply, final String body) {
+        final long correlationId = PendingRequests.register(reply, 30, TimeUnit.SECONDS);
+        return new MessageImpl(ComponentAddress.of("id01.id003"), ComponentAddress.of("id01.id002"), body, null, correlationId);
+    }
+
+    private static void assertHandlerException(final CompletableFuture<Object> reply) throws Exception {
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("the request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("handler failed", e.getCause().getMessage());
+        }
+    }
+
+    public static class Callback implements CallbackComponent {
+
+        @Override
+        public Object handle(final Message<Event, Object> message) {
+            return null;
+        }
+
+        @OnAsyncMessage(String.class)
+        public Object onText(final Message<Event, Object> message) {
+            if (message.messageBodyEquals("fail")) throw new IllegalStateException("handler failed");
+            return message.getMessageBody();
+        }
+    }
+
+    public static class View implements FXComponent {
+
+        @Override
+        public Node handle(final Message<Event, Object> message) {
+            return null;
+        }
+
+        @Override
+        public Node postHandle(final Node node, final Message<Event, Object> message) {
+            return null;
+        }
+
+        @OnAsyncMessage(String.class)
+        public String onText(final Message<Event, Object> message) {
+            return message.getMessageBody() + " handled";
+        }
+
+        @OnMessage(String.class)
+        public String onTextInFXThread(final Message<Event, Object> message, final String value) {
+            if (message.messageBodyEquals("fail")) throw new IllegalStateException("handler failed");
+            return value;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessComponentFailureTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.component;
+
+import javafx.event.Event;
+import javafx.stage.Stage;
+import org.jacpfx.api.annotations.component.Stateless;
+import org.jacpfx.api.fragment.Scope;
+import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatelessCallbackComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.scheduler.StatelessComponentSchedulerImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a stateless component keeps handling messages after its handle method failed.
+ */
+public class StatelessComponentFailureTest extends ApplicationTest {
+
+    private static final int MAX_INSTANCES = 2;
+    private static final CountDownLatch handled = new CountDownLatch(3);
+
+    private final Thread.UncaughtExceptionHandler defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
+
+    @Override
+    public void start(final Stage stage) {
+
+    }
+
+    @After
+    public void tearDown() {
+        Thread.setDefaultUncaughtExceptionHandler(defaultHandler);
+    }
+
+    @Test
+    public void failedMessagesDoNotExhaustThePool() throws InterruptedException {
+        final CountDownLatch failures = new CountDownLatch(MAX_INSTANCES * 3);
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> failures.countDown());
+        final EmbeddedStatelessCallbackComponent component = new EmbeddedStatelessCallbackComponent(new FailingHandle());
+        component.initEnv("id01", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("id002");
+        final StatelessComponentSchedulerImpl scheduler = new StatelessComponentSchedulerImpl(new CloneLauncher());
+        for (int i = 0; i < MAX_INSTANCES * 3; i++) {
+            scheduler.incomingMessage(new MessageImpl("id01.id003", "id01.id002", "fail", null), component);
+        }
+        for (int i = 0; i < 3; i++) {
+            scheduler.incomingMessage(new MessageImpl("id01.id003", "id01.id002", "message", null), component);
+        }
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(failures.await(5, TimeUnit.SECONDS));
+        assertEquals(MAX_INSTANCES, component.getInstancePool().getInstanceCount().get());
+        component.shutdownExecutor();
+    }
+
+    @Stateless(maxInstances = MAX_INSTANCES, sharedExecutor = true)
+    public static class FailingHandle implements CallbackComponent {
+
+        @Override
+        public Object handle(final Message<Event, Object> message) {
+            if (message.messageBodyEquals("fail")) throw new IllegalStateException("handle failed");
+            handled.countDown();
+            return null;
+        }
+    }
+
+    private static class CloneLauncher implements Launcher<Object> {
+
+        @Override
+        public Object getContext() {
+            return null;
+        }
+
+        @Override
+        public <P> P getBean(final Class<P> clazz) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <P> P getBean(final String qualifier) {
+            return (P) new FailingHandle();
+        }
+
+        @Override
+        public <P> P registerAndGetBean(final Class<? extends P> type, final String id, final Scope scope) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessExecutorTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.component;
+
+import javafx.event.Event;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.annotations.component.Stateless;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatelessCallbackComponent;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the executor selection and shutdown of stateless components.
+ */
+public class StatelessExecutorTest {
+
+    private final List<AStatelessCallbackComponent> components = new ArrayList<>();
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        components.forEach(AStatelessCallbackComponent::shutdownExecutor);
+    }
+
+    @Test
+    public void poolSizeDefinesTheOwnPool() {
+        final ExecutorService executor = component(new PoolSizeHandle()).getExecutorService();
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        assertEquals(3, ((ThreadPoolExecutor) executor).getCorePoolSize());
+        assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+    }
+
+    @Test
+    public void maxInstancesDefinesThePoolWithoutPoolSize() {
+        final ExecutorService executor = component(new MaxInstancesHandle()).getExecutorService();
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        assertEquals(5, ((ThreadPoolExecutor) executor).getCorePoolSize());
+    }
+
+    @Test
+    public void defaultPoolWithoutAnnotationValues() {
+        final ExecutorService executor = component(new DefaultHandle()).getExecutorService();
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        assertEquals(AStatelessCallbackComponent.MAX_INCTANCE_COUNT, ((ThreadPoolExecutor) executor).getCorePoolSize());
+    }
+
+    @Test
+    public void everyComponentGetsItsOwnPool() {
+        final ExecutorService first = component(new PoolSizeHandle()).getExecutorService();
+        final ExecutorService second = component(new PoolSizeHandle()).getExecutorService();
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void sharedExecutorIsUsedByAllSharingComponents() {
+        final ExecutorService first = component(new SharedHandle()).getExecutorService();
+        final ExecutorService second = component(new SharedHandle()).getExecutorService();
+        assertTrue(first instanceof ForkJoinPool);
+        assertSame(first, second);
+        assertNotSame(first, component(new PoolSizeHandle()).getExecutorService());
+    }
+
+    @Test
+    public void shutdownStopsOnlyTheOwnPool() throws Exception {
+        final AStatelessCallbackComponent own = component(new PoolSizeHandle());
+        final AStatelessCallbackComponent sharing = component(new SharedHandle());
+        final AStatelessCallbackComponent otherSharing = component(new SharedHandle());
+        final ExecutorService ownExecutor = own.getExecutorService();
+        final ExecutorService sharedExecutor = sharing.getExecutorService();
+        assertSame(sharedExecutor, otherSharing.getExecutorService());
+
+        sharing.shutdownExecutor();
+        assertFalse(sharedExecutor.isShutdown());
+        assertTrue(otherSharing.getExecutorService().submit(() -> true).get(5, TimeUnit.SECONDS));
+
+        own.shutdownExecutor();
+        assertTrue(ownExecutor.isShutdown());
+        assertFalse(sharedExecutor.isShutdown());
+    }
+
+    private AStatelessCallbackComponent component(final CallbackComponent handle) {
+        final AStatelessCallbackComponent component = new EmbeddedStatelessCallbackComponent(handle);
+        components.add(component);
+        return component;
+    }
+
+    private static class Handle implements CallbackComponent {
+
+        @Override
+        public Object handle(final Message<Event, Object> message) {
+            return null;
+        }
+    }
+
+    @Stateless(poolSize = 3, maxInstances = 5)
+    private static class PoolSizeHandle extends Handle {
+    }
+
+    @Stateless(maxInstances = 5)
+    private static class MaxInstancesHandle extends Handle {
+    }
+
+    @Stateless
+    private static class DefaultHandle extends Handle {
+    }
+
+    @Stateless(poolSize = 3, sharedExecutor = true)
+    private static class SharedHandle extends Handle {
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessInstancePoolTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacp.test.component;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.scheduler.StatelessInstancePool;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the instance pool of stateless components.
+ */
+public class StatelessInstancePoolTest {
+
+    @Test
+    public void testReserveUpToMaxInstances() {
+        final StatelessInstancePool pool = new StatelessInstancePool(2);
+        assertTrue(pool.tryReserveInstance());
+        assertTrue(pool.tryReserveInstance());
+        assertFalse(pool.tryReserveInstance());
+        pool.cancelReservation();
+        assertTrue(pool.tryReserveInstance());
+        assertEquals(2, pool.getInstanceCount().get());
+    }
+
+    @Test
+    public void testReuseLastIdleInstance() {
+        final StatelessInstancePool pool = new StatelessInstancePool(2);
+        final SubComponent<EventHandler<Event>, Event, Object> first = new EmbeddedStatefulComponent(null);
+        final SubComponent<EventHandler<Event>, Event, Object> second = new EmbeddedStatefulComponent(null);
+        assertNull(pool.pollIdle());
+        pool.release(first);
+        pool.release(second);
+        assertSame(second, pool.pollIdle());
+        assertSame(first, pool.pollIdle());
+        assertNull(pool.pollIdle());
+    }
+
+    @Test
+    public void testEvictIdleAboveMinimum() {
+        final StatelessInstancePool pool = new StatelessInstancePool(3, 1, 1000);
+        final SubComponent<EventHandler<Event>, Event, Object> first = new EmbeddedStatefulComponent(null);
+        final SubComponent<EventHandler<Event>, Event, Object> second = new EmbeddedStatefulComponent(null);
+        assertEquals(1, pool.getMissingInstances());
+        assertTrue(pool.tryReserveInstance());
+        pool.addInstance(first);
+        assertTrue(pool.tryReserveInstance());
+        pool.addInstance(second);
+        assertEquals(0, pool.getMissingInstances());
+        pool.release(first);
+        pool.release(second);
+        final long now = System.currentTimeMillis();
+        assertTrue(pool.evictIdle(now).isEmpty());
+        // only the least recently used instance is evicted, the minimum instance is kept
+        assertEquals(Collections.singletonList(first), pool.evictIdle(now + 2000));
+        assertEquals(1, pool.getInstanceCount().get());
+        assertEquals(Collections.singletonList(second), pool.getInstances());
+        assertSame(second, pool.pollIdle());
+    }
+
+    @Test
+    public void testPendingMessagesInOrder() {
+        final StatelessInstancePool pool = new StatelessInstancePool(1);
+        assertFalse(pool.hasPending());
+        pool.offerPending(new MessageImpl("id01", "id02", 1, null));
+        pool.offerPending(new MessageImpl("id01", "id02", 2, null));
+        assertTrue(pool.hasPending());
+        assertEquals(1, pool.pollPending().getMessageBody());
+        assertEquals(2, pool.pollPending().getMessageBody());
+        assertNull(pool.pollPending());
+    }
+}
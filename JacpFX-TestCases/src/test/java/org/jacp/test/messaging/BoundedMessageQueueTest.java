@@ -0,0 +1,89 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [BoundedMessageQueueTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import org.jacpfx.api.exceptions.MessageQueueFullException;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the backpressure policies of the workbench/perspective message queue.
+ */
+public class BoundedMessageQueueTest {
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        final BoundedMessageQueue<String> queue = new BoundedMessageQueue<>(2, BackpressurePolicy.DROP_OLDEST);
+        queue.publish("1");
+        queue.publish("2");
+        queue.publish("3");
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals("2", queue.take());
+        assertEquals("3", queue.take());
+        assertEquals(2, queue.remainingCapacity());
+    }
+
+    @Test(expected = MessageQueueFullException.class)
+    public void testFail() throws InterruptedException {
+        final BoundedMessageQueue<String> queue = new BoundedMessageQueue<>(1, BackpressurePolicy.FAIL);
+        queue.publish("1");
+        queue.publish("2");
+    }
+
+    @Test
+    public void testBlockReturnsWithoutConsumer() throws InterruptedException {
+        final BoundedMessageQueue<String> queue = new BoundedMessageQueue<>(1, BackpressurePolicy.BLOCK);
+        queue.publish("1");
+        assertFalse(queue.offer("2", 10, TimeUnit.MILLISECONDS));
+        assertEquals("1", queue.poll());
+        assertTrue(queue.offer("2"));
+    }
+
+    @Test
+    public void testTransferWaitsForConsumer() throws InterruptedException {
+        final BoundedMessageQueue<String> queue = new BoundedMessageQueue<>(1, BackpressurePolicy.TRANSFER);
+        final Thread consumer = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+                queue.take();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        });
+        consumer.start();
+        queue.publish("1");
+        assertTrue(queue.isEmpty());
+        // the consumer releases its permit after the transfer returned
+        consumer.join();
+        assertEquals(1, queue.remainingCapacity());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentAddressTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.util.FXUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests parsing and interning of component addresses.
+ */
+public class ComponentAddressTest {
+
+    @Test
+    public void testLocalAddress() {
+        final ComponentAddress address = ComponentAddress.of("id01");
+        assertTrue(address.isLocal());
+        assertNull(address.getParentId());
+        assertEquals("id01", address.getComponentId());
+        assertEquals("id01", address.getPerspectiveId());
+        assertEquals("id01", FXUtil.getParentFromId("id01"));
+        assertEquals("id01", FXUtil.getTargetComponentId("id01"));
+    }
+
+    @Test
+    public void testQualifiedAddress() {
+        final ComponentAddress address = ComponentAddress.of("p01.id01");
+        assertFalse(address.isLocal());
+        assertEquals("p01", address.getParentId());
+        assertEquals("id01", address.getComponentId());
+        assertEquals("p01", FXUtil.getTargetPerspectiveId("p01.id01"));
+        assertEquals("id01", FXUtil.getTargetComponentId("p01.id01"));
+        assertEquals("p01.id01", FXUtil.getQualifiedComponentId("p01", "id01"));
+    }
+
+    @Test
+    public void testInterned() {
+        final ComponentAddress parsed = ComponentAddress.of("p02.id02");
+        assertSame(parsed, ComponentAddress.of("p02", "id02"));
+        assertSame(parsed, ComponentAddress.of("id02").qualify("p02"));
+        assertSame(parsed, parsed.qualify("p03"));
+        assertSame(ComponentAddress.of("id02"), ComponentAddress.of(null, "id02"));
+    }
+
+    @Test
+    public void testEmptyParentIsNoLocalAddress() {
+        final ComponentAddress qualified = ComponentAddress.of("", "id03");
+        assertFalse(qualified.isLocal());
+        assertEquals("", qualified.getParentId());
+        assertNotEquals(ComponentAddress.of(null, "id03"), qualified);
+        assertTrue(ComponentAddress.of(null, "id03").isLocal());
+    }
+
+    @Test
+    public void testInternLimit() {
+        try {
+            for (int i = 0; i < 20000; i++) {
+                ComponentAddress.of("p04.unknown" + i);
+            }
+            // beyond the limit the addresses are not interned but still equal
+            final ComponentAddress address = ComponentAddress.of("p04.unknown19999");
+            assertNotSame(address, ComponentAddress.of("p04.unknown19999"));
+            assertEquals(address, ComponentAddress.of("p04", "unknown19999"));
+            assertEquals("p04", address.getParentId());
+        } finally {
+            ComponentAddress.clearOnShutdown();
+        }
+    }
+
+    @Test
+    public void testMessageAddresses() {
+        final MessageImpl message = new MessageImpl("p01.id01", "id02", "hello", null);
+        assertSame(ComponentAddress.of("p01.id01"), message.getSourceAddress());
+        assertSame(ComponentAddress.of("id02"), message.getTargetAddress());
+        assertEquals("id02", message.getTargetId());
+        assertEquals("p01.id01", new MessageImpl("p01.id01", "hello").getTargetId());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentInboxTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import org.jacpfx.api.message.OverflowPolicy;
+import org.jacpfx.rcp.component.ComponentInbox;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the conflation and the overflow policies of the component inbox.
+ */
+public class ComponentInboxTest {
+
+    @Test
+    public void testConflateLatestValue() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox();
+        inbox.setConflatedTypes(Collections.singleton(Integer.class));
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        inbox.put(new MessageImpl("id01", "id02", "a", null));
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        inbox.put(new MessageImpl("id01", "id02", 3, null));
+        assertEquals(2, inbox.getDepth());
+        assertEquals(2, inbox.getConflatedCount());
+        assertEquals(3, inbox.take().getMessageBody());
+        assertEquals("a", inbox.take().getMessageBody());
+        assertTrue(inbox.isEmpty());
+    }
+
+    @Test
+    public void testQueueAfterTake() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox();
+        inbox.setConflatedTypes(Collections.singleton(Integer.class));
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        assertEquals(1, inbox.take().getMessageBody());
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        assertEquals(1, inbox.getDepth());
+        assertEquals(2, inbox.take().getMessageBody());
+        assertEquals(0, inbox.getConflatedCount());
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(2, OverflowPolicy.DROP_NEWEST);
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        inbox.put(new MessageImpl("id01", "id02", 3, null));
+        assertEquals(2, inbox.getDepth());
+        assertEquals(1, inbox.getDroppedCount());
+        assertEquals(1, inbox.take().getMessageBody());
+        assertEquals(2, inbox.take().getMessageBody());
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(2, OverflowPolicy.DROP_OLDEST);
+        inbox.setConflatedTypes(Collections.singleton(String.class));
+        inbox.put(new MessageImpl("id01", "id02", "a", null));
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        inbox.put(new MessageImpl("id01", "id02", 3, null));
+        assertEquals(1, inbox.getDroppedCount());
+        assertEquals(2, inbox.take().getMessageBody());
+        // the dropped conflation slot must not capture later messages
+        inbox.put(new MessageImpl("id01", "id02", "b", null));
+        assertEquals(3, inbox.take().getMessageBody());
+        assertEquals("b", inbox.take().getMessageBody());
+    }
+
+    @Test
+    public void testDeadLetter() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.DEAD_LETTER);
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        assertEquals(1, inbox.getDepth());
+        assertEquals(1, inbox.getDeadLetterCount());
+        assertEquals(0, inbox.getDroppedCount());
+    }
+
+    @Test
+    public void testConflatedMessagesOfFullInboxAreNotLost() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.DEAD_LETTER);
+        inbox.setConflatedTypes(Collections.singleton(Integer.class));
+        inbox.put(new MessageImpl("id01", "id02", "a", null));
+        final int senders = 4;
+        final int messages = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < senders; i++) {
+            final Thread sender = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < messages; j++) {
+                        inbox.put(new MessageImpl("id01", "id02", j, null));
+                    }
+                } catch (InterruptedException e) {
+                    // test ends
+                }
+            });
+            threads.add(sender);
+            sender.start();
+        }
+        start.countDown();
+        for (final Thread sender : threads) sender.join(5000);
+        // no message can be conflated into a message which was never queued
+        assertEquals(senders * messages, inbox.getDeadLetterCount());
+        assertEquals(0, inbox.getConflatedCount());
+        assertEquals("a", inbox.take().getMessageBody());
+        assertTrue(inbox.isEmpty());
+    }
+
+    @Test
+    public void testBlock() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.BLOCK);
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        final Thread sender = new Thread(() -> {
+            try {
+                inbox.put(new MessageImpl("id01", "id02", 2, null));
+            } catch (InterruptedException e) {
+                // test ends
+            }
+        });
+        sender.start();
+        sender.join(200);
+        assertTrue(sender.isAlive());
+        assertEquals(1, inbox.take().getMessageBody());
+        sender.join(1000);
+        assertFalse(sender.isAlive());
+        assertEquals(2, inbox.take().getMessageBody());
+    }
+
+    @Test
+    public void testOfferDoesNotWaitForFullInbox() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.BLOCK);
+        inbox.setConflatedTypes(Collections.singleton(String.class));
+        assertTrue(inbox.offer(new MessageImpl("id01", "id02", 1, null)));
+        assertFalse(inbox.offer(new MessageImpl("id01", "id02", 2, null)));
+        assertFalse(inbox.offer(new MessageImpl("id01", "id02", "a", null)));
+        assertEquals(1, inbox.getDepth());
+        assertEquals(1, inbox.take().getMessageBody());
+        assertTrue(inbox.offer(new MessageImpl("id01", "id02", "b", null)));
+        // a queued message of a conflated type takes a newer message without waiting
+        assertTrue(inbox.offer(new MessageImpl("id01", "id02", "c", null)));
+        assertEquals("c", inbox.take().getMessageBody());
+    }
+
+    @Test
+    public void testOfferAppliesOverflowPolicy() {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.DROP_NEWEST);
+        assertTrue(inbox.offer(new MessageImpl("id01", "id02", 1, null)));
+        assertTrue(inbox.offer(new MessageImpl("id01", "id02", 2, null)));
+        assertEquals(1, inbox.getDroppedCount());
+    }
+
+    @Test
+    public void testNoConflation() throws InterruptedException {
+        final ComponentInbox inbox = new ComponentInbox();
+        inbox.put(new MessageImpl("id01", "id02", 1, null));
+        inbox.put(new MessageImpl("id01", "id02", 2, null));
+        assertEquals(2, inbox.getDepth());
+        assertEquals(1, inbox.take().getMessageBody());
+        assertEquals(2, inbox.take().getMessageBody());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DirectRouterTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import org.jacpfx.rcp.coordinator.DirectRouter;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the fallback of the direct routing to the message queue.
+ */
+public class DirectRouterTest {
+
+    @After
+    public void tearDown() {
+        DirectRouter.configure(false);
+        DirectRouter.clearOnShutdown();
+    }
+
+    @Test
+    public void disabledRouterDeliversNothing() {
+        assertFalse(DirectRouter.isEnabled());
+        assertFalse(DirectRouter.deliver(new MessageImpl("id01.id002", "id003", "message", null)));
+    }
+
+    @Test
+    public void messagesOfNonComponentsUseTheQueue() {
+        DirectRouter.configure(true);
+        // the source has no parent perspective
+        assertFalse(DirectRouter.deliver(new MessageImpl("id01", "id01.id003", "message", null)));
+        // the parent of the source is no registered perspective
+        assertFalse(DirectRouter.deliver(new MessageImpl("id01.id002", "id01.id003", "message", null)));
+        assertEquals(0, DirectRouter.getPendingCount(ComponentAddress.of("id01.id003")));
+    }
+
+    @Test
+    public void releaseOfUntrackedMessageIsIgnored() {
+        DirectRouter.configure(true);
+        DirectRouter.release(new MessageImpl("id01.id002", "id01.id003", "message", null));
+        assertEquals(0, DirectRouter.getPendingCount(ComponentAddress.of("id01.id003")));
+    }
+}
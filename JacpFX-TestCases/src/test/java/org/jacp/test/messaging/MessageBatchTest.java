@@ -0,0 +1,64 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageBatchTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import org.jacpfx.api.message.MessageBatch;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the message body used by JacpContext.sendBatch.
+ */
+public class MessageBatchTest {
+
+    @Test
+    public void testElementType() {
+        assertEquals(String.class, new MessageBatch<>(Arrays.asList("a", "b")).getElementType());
+        assertNull(new MessageBatch<>(Arrays.<Object>asList("a", 1)).getElementType());
+        assertNull(new MessageBatch<>(Arrays.asList("a", null)).getElementType());
+        assertNull(new MessageBatch<>(Collections.emptyList()).getElementType());
+    }
+
+    @Test
+    public void testCopiesElements() {
+        final List<String> source = new ArrayList<>(Arrays.asList("a", "b"));
+        final MessageBatch<String> batch = new MessageBatch<>(source);
+        source.add("c");
+        assertEquals(2, batch.size());
+        assertEquals(Arrays.asList("a", "b"), batch);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() {
+        new MessageBatch<>(Arrays.asList("a", "b")).add("c");
+    }
+}
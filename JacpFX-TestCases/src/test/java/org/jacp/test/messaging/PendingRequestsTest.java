@@ -0,0 +1,135 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PendingRequestsTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.exceptions.MessageQueueFullException;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.OverflowPolicy;
+import org.jacpfx.rcp.component.ComponentInbox;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the correlation of requests and replies.
+ */
+public class PendingRequestsTest {
+
+    @After
+    public void tearDown() {
+        PendingRequests.clearOnShutdown();
+    }
+
+    private static MessageImpl request(final long correlationId) {
+        return new MessageImpl(ComponentAddress.of("id01.id002"), ComponentAddress.of("id01.id003"), "message", null, correlationId);
+    }
+
+    @Test
+    public void replyCompletesRequest() throws Exception {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 10, TimeUnit.SECONDS);
+        assertTrue(PendingRequests.complete(request(correlationId), "reply"));
+        assertEquals("reply", reply.get(1, TimeUnit.SECONDS));
+        assertEquals(0, PendingRequests.size());
+    }
+
+    @Test
+    public void messageWithoutCorrelationIsNoRequest() {
+        assertFalse(PendingRequests.complete(new MessageImpl("id01.id002", "id01.id003", "message", null), "reply"));
+    }
+
+    @Test
+    public void requestTimesOut() throws Exception {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 50, TimeUnit.MILLISECONDS);
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("the request must time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        // a late reply is ignored
+        assertTrue(PendingRequests.complete(request(correlationId), "reply"));
+        assertEquals(0, PendingRequests.size());
+    }
+
+    @Test
+    public void failedHandlerCompletesRequestExceptionally() throws Exception {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 10, TimeUnit.SECONDS);
+        PendingRequests.fail(request(correlationId), new IllegalStateException("failed"));
+        try {
+            reply.get(1, TimeUnit.SECONDS);
+            fail("the request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void droppedRequestFailsAtOnce() throws Exception {
+        final ComponentInbox inbox = new ComponentInbox(1, OverflowPolicy.DROP_NEWEST);
+        inbox.put(new MessageImpl("id01.id002", "id01.id003", "message", null));
+        assertRequestFails(request -> inbox.put(request));
+        final ComponentInbox deadLetterInbox = new ComponentInbox(1, OverflowPolicy.DEAD_LETTER);
+        deadLetterInbox.put(new MessageImpl("id01.id002", "id01.id003", "message", null));
+        assertRequestFails(request -> deadLetterInbox.put(request));
+        final BoundedMessageQueue<Message<Event, Object>> queue = new BoundedMessageQueue<>(1, BackpressurePolicy.DROP_OLDEST);
+        assertRequestFails(request -> {
+            queue.publish(request);
+            queue.publish(new MessageImpl("id01.id002", "id01.id003", "message", null));
+        });
+        assertEquals(0, PendingRequests.size());
+    }
+
+    private static void assertRequestFails(final Sender sender) throws Exception {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 10, TimeUnit.SECONDS);
+        sender.send(request(correlationId));
+        try {
+            reply.get(1, TimeUnit.SECONDS);
+            fail("the request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MessageQueueFullException);
+        }
+    }
+
+    private interface Sender {
+        void send(MessageImpl request) throws InterruptedException;
+    }
+}
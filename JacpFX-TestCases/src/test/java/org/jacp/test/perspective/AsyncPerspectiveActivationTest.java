@@ -0,0 +1,198 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [AsyncPerspectiveActivationTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.perspective;
+
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.stage.Stage;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.component.Injectable;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.coordinator.BoundedMessageQueue;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.delegator.DelegateDTOImpl;
+import org.jacpfx.rcp.delegator.MessageDelegatorImpl;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.jacpfx.rcp.perspective.EmbeddedFXPerspective;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the message delegator activates perspectives without blocking the delegation to other perspectives.
+ */
+public class AsyncPerspectiveActivationTest extends ApplicationTest {
+
+    private final CountDownLatch activation = new CountDownLatch(1);
+    private final MessageDelegatorImpl delegator = new MessageDelegatorImpl();
+
+    @Override
+    public void start(final Stage stage) {
+
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        activation.countDown();
+        delegator.interrupt();
+        PerspectiveRegistry.clearOnShutdown();
+    }
+
+    @Test
+    public void slowActivationDoesNotBlockOtherPerspectives() throws InterruptedException {
+        final EmbeddedFXPerspective slow = createPerspective("id01", false);
+        final EmbeddedFXPerspective active = createPerspective("id02", true);
+        delegator.setPerspectiveHandler(new SlowActivationHandler());
+        delegator.start();
+
+        delegator.getMessageDelegateQueue().transfer(new DelegateDTOImpl("id01.id003", message("id01.id003", 1)));
+        delegator.getMessageDelegateQueue().transfer(new DelegateDTOImpl("id01.id003", message("id01.id003", 2)));
+        delegator.getMessageDelegateQueue().transfer(new DelegateDTOImpl("id02.id004", message("id02.id004", 3)));
+
+        // the active perspective gets its message while the other one is still activating
+        final Message<Event, Object> delivered = active.getMessageQueue().poll(5, TimeUnit.SECONDS);
+        assertNotNull(delivered);
+        assertEquals(3, delivered.getMessageBody());
+        assertTrue(slow.getMessageQueue().isEmpty());
+
+        // after the activation the queued messages arrive in order
+        activation.countDown();
+        assertEquals(1, slow.getMessageQueue().poll(5, TimeUnit.SECONDS).getMessageBody());
+        assertEquals(2, slow.getMessageQueue().poll(5, TimeUnit.SECONDS).getMessageBody());
+    }
+
+    @Test
+    public void flushDoesNotBlockTheFXThread() throws InterruptedException {
+        final EmbeddedFXPerspective slow = createPerspective("id01", false, new BoundedMessageQueue<>(1, BackpressurePolicy.BLOCK));
+        delegator.setPerspectiveHandler(new SlowActivationHandler());
+        delegator.start();
+
+        // more messages than the perspective queue can take, nobody consumes them
+        for (int i = 1; i <= 3; i++) {
+            delegator.getMessageDelegateQueue().transfer(new DelegateDTOImpl("id01.id003", message("id01.id003", i)));
+        }
+        activation.countDown();
+
+        final CountDownLatch fxThread = new CountDownLatch(1);
+        Platform.runLater(fxThread::countDown);
+        assertTrue(fxThread.await(5, TimeUnit.SECONDS));
+        assertEquals(1, slow.getMessageQueue().poll(5, TimeUnit.SECONDS).getMessageBody());
+    }
+
+    @Test
+    public void failedActivationFailsPendingRequests() throws Exception {
+        final EmbeddedFXPerspective failing = createPerspective("id01", false);
+        delegator.setPerspectiveHandler(new FailingActivationHandler());
+        delegator.start();
+
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 10, TimeUnit.SECONDS);
+        delegator.getMessageDelegateQueue().transfer(new DelegateDTOImpl("id01.id003",
+                new MessageImpl(ComponentAddress.of("id05.id006"), ComponentAddress.of("id01.id003"), 1, null, correlationId)));
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("the request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertTrue(failing.getMessageQueue().isEmpty());
+    }
+
+    private static Message<Event, Object> message(final String targetId, final int body) {
+        return new MessageImpl("id05.id006", targetId, body, null);
+    }
+
+    private static EmbeddedFXPerspective createPerspective(final String id, final boolean active) {
+        return createPerspective(id, active, new LinkedTransferQueue<>());
+    }
+
+    private static EmbeddedFXPerspective createPerspective(final String id, final boolean active, final TransferQueue<Message<Event, Object>> queue) {
+        final EmbeddedFXPerspective perspective = new EmbeddedFXPerspective(new Injectable() {
+        });
+        perspective.init(null, null, new MessageCoordinator(id, null, null, null, queue), null);
+        final InternalContext context = InternalContext.class.cast(perspective.getContext());
+        context.setId(id);
+        context.updateActiveState(active);
+        PerspectiveRegistry.registerPerspective(perspective);
+        return perspective;
+    }
+
+    private class SlowActivationHandler implements ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> {
+
+        @Override
+        public void initComponent(final Message<Event, Object> message, final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+            try {
+                activation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            InternalContext.class.cast(perspective.getContext()).updateActiveState(true);
+        }
+
+        @Override
+        public void handleAndReplaceComponent(final Message<Event, Object> message, final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+
+        }
+    }
+
+    private static class FailingActivationHandler implements ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> {
+
+        @Override
+        public void initComponent(final Message<Event, Object> message, final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+            throw new IllegalStateException("activation failed");
+        }
+
+        @Override
+        public void handleAndReplaceComponent(final Message<Event, Object> message, final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+
+        }
+    }
+}
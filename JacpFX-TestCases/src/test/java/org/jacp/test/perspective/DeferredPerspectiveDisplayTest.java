@@ -0,0 +1,119 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeferredPerspectiveDisplayTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.perspective;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.concurrency.FXRendezvous;
+import org.jacpfx.rcp.componentLayout.FXPerspectiveLayout;
+import org.jacpfx.rcp.componentLayout.FXWorkbenchLayout;
+import org.jacpfx.rcp.componentLayout.PerspectiveLayout;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.handler.PerspectiveHandlerImpl;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.perspective.EmbeddedFXPerspective;
+import org.jacpfx.rcp.perspective.FXPerspective;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a message to a deferred perspective initializes it without displaying it.
+ */
+public class DeferredPerspectiveDisplayTest extends ApplicationTest {
+
+    @Override
+    public void start(final Stage stage) {
+
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        PerspectiveRegistry.clearOnShutdown();
+    }
+
+    @Test
+    public void messageToDeferredPerspectiveKeepsVisiblePerspective() throws Exception {
+        final HiddenPerspective hidden = new HiddenPerspective();
+        final EmbeddedFXPerspective deferred = createPerspective("id01", hidden);
+        createPerspective("id02", new HiddenPerspective());
+        PerspectiveRegistry.deferPerspective("id01");
+        PerspectiveRegistry.getAndSetCurrentVisiblePerspective("id02");
+        final Label visibleContent = new Label("visible");
+        final Pane root = new Pane(visibleContent);
+
+        final PerspectiveHandlerImpl handler = new PerspectiveHandlerImpl(null, new FXWorkbenchLayout(), root);
+        FXRendezvous.runAndWait(() -> handler.initComponent(new MessageImpl("id01", "id01", "message", null), deferred));
+
+        assertEquals(Collections.singletonList("message"), hidden.messages);
+        assertTrue(deferred.getContext().isActive());
+        assertFalse(PerspectiveRegistry.isDeferred("id01"));
+        assertEquals("id02", PerspectiveRegistry.getCurrentVisiblePerspective());
+        assertEquals(Collections.singletonList(visibleContent), root.getChildren());
+    }
+
+    private static EmbeddedFXPerspective createPerspective(final String id, final FXPerspective handle) {
+        final EmbeddedFXPerspective perspective = new EmbeddedFXPerspective(handle);
+        perspective.init(null, null, new MessageCoordinator(id, null), null);
+        final InternalContext context = InternalContext.class.cast(perspective.getContext());
+        context.setId(id);
+        context.updateActiveState(true);
+        PerspectiveRegistry.registerPerspective(perspective);
+        return perspective;
+    }
+
+    @Perspective(id = "id01", components = {})
+    public static class HiddenPerspective implements FXPerspective {
+        private final List<Object> messages = new ArrayList<>();
+
+        @Override
+        public void handlePerspective(final Message<Event, Object> message, final PerspectiveLayout perspectiveLayout) {
+            messages.add(message.getMessageBody());
+            FXPerspectiveLayout.class.cast(perspectiveLayout).registerRootComponent(new Pane());
+        }
+    }
+}
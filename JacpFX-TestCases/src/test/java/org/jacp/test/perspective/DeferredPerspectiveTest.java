@@ -0,0 +1,60 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeferredPerspectiveTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.perspective;
+
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the registration of deferred perspectives.
+ */
+public class DeferredPerspectiveTest {
+
+    @After
+    public void tearDown() {
+        PerspectiveRegistry.clearOnShutdown();
+    }
+
+    @Test
+    public void deferredPerspectiveIsMaterializedOnce() {
+        PerspectiveRegistry.deferPerspective("id01");
+        assertTrue(PerspectiveRegistry.isDeferred("id01"));
+        assertFalse(PerspectiveRegistry.isDeferred("id02"));
+        assertTrue(PerspectiveRegistry.materializePerspective("id01"));
+        assertFalse(PerspectiveRegistry.isDeferred("id01"));
+        assertFalse(PerspectiveRegistry.materializePerspective("id01"));
+    }
+
+    @Test
+    public void shutdownClearsDeferredPerspectives() {
+        PerspectiveRegistry.deferPerspective("id01");
+        PerspectiveRegistry.clearOnShutdown();
+        assertFalse(PerspectiveRegistry.isDeferred("id01"));
+    }
+}
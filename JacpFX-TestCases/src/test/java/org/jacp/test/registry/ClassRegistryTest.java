@@ -0,0 +1,145 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ClassRegistryTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacp.test.registry;
+
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.perspective.Perspective;
+import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.exceptions.NonUniqueComponentException;
+import org.jacpfx.rcp.registry.ClassRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the lookup of components and perspectives by id.
+ */
+public class ClassRegistryTest {
+
+    @Component(id = "Component1")
+    public static class ComponentOne {
+    }
+
+    @Component(id = "component2")
+    public static class ComponentTwo {
+    }
+
+    @Component(id = "COMPONENT2")
+    public static class ComponentTwoDuplicate {
+    }
+
+    @Perspective(id = "component1", components = {})
+    public static class PerspectiveOne {
+    }
+
+    @Before
+    public void register() {
+        ClassRegistry.clearAllClasses();
+        ClassRegistry.addClasses(Arrays.asList(ComponentOne.class, ComponentTwo.class, PerspectiveOne.class, String.class));
+    }
+
+    @After
+    public void clear() {
+        ClassRegistry.clearAllClasses();
+    }
+
+    @Test
+    public void testLookupIgnoresCase() {
+        assertEquals(ComponentOne.class, ClassRegistry.getComponentClassById("component1"));
+        assertEquals(ComponentOne.class, ClassRegistry.getComponentClassById("COMPONENT1"));
+        assertEquals(PerspectiveOne.class, ClassRegistry.getPerspectiveClassById("Component1"));
+    }
+
+    @Test(expected = ComponentNotFoundException.class)
+    public void testUnknownId() {
+        ClassRegistry.getPerspectiveClassById("component2");
+    }
+
+    @Test
+    public void testDuplicateIds() {
+        ClassRegistry.addClasses(Arrays.asList(ComponentTwoDuplicate.class, ComponentOne.class));
+        assertEquals("a class registered twice is no duplicate", ComponentOne.class, ClassRegistry.getComponentClassById("component1"));
+        try {
+            ClassRegistry.getComponentClassById("component2");
+            fail("two classes declare the id");
+        } catch (NonUniqueComponentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDuplicateWarnedOnce() {
+        final List<LogRecord> warnings = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                if (record.getLevel() == Level.WARNING) warnings.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final Logger logger = Logger.getLogger(ClassRegistry.class.getName());
+        logger.addHandler(handler);
+        try {
+            ClassRegistry.addClasses(Collections.singletonList(ComponentTwoDuplicate.class));
+            // later packages do not index the earlier classes again
+            ClassRegistry.addClasses(Collections.singletonList(String.class));
+            ClassRegistry.addClasses(Collections.singletonList(Integer.class));
+            assertEquals(1, warnings.size());
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+
+    @Test
+    public void testClearIndex() {
+        ClassRegistry.clearAllClasses();
+        ClassRegistry.addClasses(Collections.singletonList(ComponentTwo.class));
+        assertEquals(ComponentTwo.class, ClassRegistry.getComponentClassById("component2"));
+        try {
+            ClassRegistry.getComponentClassById("component1");
+            fail("cleared");
+        } catch (ComponentNotFoundException e) {
+            // expected
+        }
+    }
+}
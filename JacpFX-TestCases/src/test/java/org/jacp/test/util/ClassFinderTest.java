@@ -0,0 +1,72 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ClassFinderTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacp.test.util;
+
+import org.jacp.test.components.ComponentIds;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.rcp.util.ClassFinder;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the scanning of packages for components.
+ */
+public class ClassFinderTest {
+
+    @Test
+    public void testFindAnnotatedClassesOnly() throws Exception {
+        final List<Class> classes = Arrays.asList(new ClassFinder().getAll("org.jacp.test.components"));
+        assertFalse(classes.isEmpty());
+        for (final Class clazz : classes) {
+            assertTrue(clazz.getName(), clazz.isAnnotationPresent(Component.class) || clazz.isAnnotationPresent(View.class)
+                    || clazz.isAnnotationPresent(DeclarativeView.class));
+        }
+        assertFalse(classes.contains(ComponentIds.class));
+    }
+
+    @Test
+    public void testRepeatedScan() throws Exception {
+        final ClassFinder finder = new ClassFinder();
+        assertEquals(Arrays.asList(finder.getAll("org.jacp.test")), Arrays.asList(new ClassFinder().getAll("org.jacp.test")));
+        assertEquals(0, finder.getAll("org.jacp.test.unknown").length);
+    }
+
+    @Test
+    public void testSkipIndexedRoots() throws Exception {
+        final Path root = Paths.get(ComponentIds.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toAbsolutePath().normalize();
+        assertTrue(new ClassFinder().getAll("org.jacp.test.components").length > 0);
+        assertEquals(0, new ClassFinder(Collections.singleton(root)).getAll("org.jacp.test.components").length);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DispatchTableTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacp.test.util;
+
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.exceptions.AnnotationMissconfigurationException;
+import org.jacpfx.rcp.util.DispatchTable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the resolution of message handler methods by body type.
+ */
+public class DispatchTableTest {
+
+    public interface Shape {
+    }
+
+    public static class Circle implements Shape {
+    }
+
+    public static class Ring extends Circle {
+    }
+
+    public static class Handler {
+        @OnAsyncMessage(Shape.class)
+        public Object shape(final Shape shape) {
+            return shape;
+        }
+
+        @OnAsyncMessage(Circle.class)
+        public Object circle(final Circle circle) {
+            return circle;
+        }
+
+        @OnMessage(Shape.class)
+        public void showShape(final Shape shape) {
+        }
+
+        @OnAsyncMessage(value = Shape.class, batch = true)
+        public Object shapes(final List<Shape> shapes) {
+            return shapes;
+        }
+    }
+
+    public static class DuplicateHandler {
+        @OnMessage(String.class)
+        public void first(final String text) {
+        }
+
+        @OnMessage(String.class)
+        public void second(final String text) {
+        }
+    }
+
+    @Test
+    public void testResolveNearestType() throws Exception {
+        final DispatchTable table = DispatchTable.of(Handler.class);
+        assertEquals(Handler.class.getMethod("circle", Circle.class), table.findOnAsyncMessage(Circle.class).getMethod());
+        assertEquals(Handler.class.getMethod("circle", Circle.class), table.findOnAsyncMessage(Ring.class).getMethod());
+        assertEquals(Handler.class.getMethod("shape", Shape.class), table.findOnAsyncMessage(Shape.class).getMethod());
+        assertEquals(Handler.class.getMethod("showShape", Shape.class), table.findOnMessage(Ring.class).getMethod());
+        assertNull(table.findOnAsyncMessage(String.class));
+        assertNull(table.findOnAsyncMessage(null));
+    }
+
+    @Test
+    public void testSeparateBatchMethods() throws Exception {
+        final DispatchTable table = DispatchTable.of(Handler.class);
+        assertEquals(Handler.class.getMethod("shapes", List.class), table.findOnAsyncMessageBatch(Ring.class).getMethod());
+        assertNull(table.findOnMessageBatch(Ring.class));
+        assertNull(table.findOnAsyncMessage(ArrayList.class));
+    }
+
+    @Test
+    public void testSharedPerClass() {
+        assertSame(DispatchTable.of(Handler.class), DispatchTable.of(Handler.class));
+        final DispatchTable table = DispatchTable.of(Handler.class);
+        assertSame(table.findOnAsyncMessage(Ring.class), table.findOnAsyncMessage(Ring.class));
+    }
+
+    @Test(expected = AnnotationMissconfigurationException.class)
+    public void testRejectDuplicateMethods() {
+        DispatchTable.of(DuplicateHandler.class);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [HandlerInvokerTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+package org.jacp.test.util;
+
+import org.jacpfx.api.annotations.lifecycle.PostConstruct;
+import org.jacpfx.rcp.util.HandlerInvoker;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the compiled invocation of handler methods.
+ */
+public class HandlerInvokerTest {
+
+    public static class Handler {
+        public String handle(final Integer number, final String text) {
+            return text + number;
+        }
+
+        public int primitive(final int number) {
+            return number + 1;
+        }
+
+        public void fail(final String text) {
+            throw new IllegalStateException(text);
+        }
+
+        @PostConstruct
+        public String init(final String text) {
+            return text;
+        }
+    }
+
+    @Test
+    public void testMapValuesByType() throws Exception {
+        final HandlerInvoker invoker = HandlerInvoker.of(Handler.class.getMethod("handle", Integer.class, String.class));
+        assertEquals("a1", invoker.invoke(new Handler(), "a", 1));
+        assertEquals("b2", invoker.invoke(new Handler(), 2, "b"));
+        assertEquals("null3", invoker.invoke(new Handler(), 3));
+    }
+
+    @Test
+    public void testAlternatingValueTypes() throws Exception {
+        final HandlerInvoker invoker = HandlerInvoker.of(Handler.class.getMethod("handle", Integer.class, String.class));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("a1", invoker.invoke(new Handler(), "a", 1));
+            assertEquals("b2", invoker.invoke(new Handler(), 2, "b"));
+            assertEquals("null3", invoker.invoke(new Handler(), 3));
+            assertEquals("c4", invoker.invokeInOrder(new Handler(), 4, "c"));
+            assertEquals("d5", invoker.invoke(new Handler(), 5, "d", 1L));
+            assertEquals("enull", invoker.invoke(new Handler(), "e"));
+        }
+    }
+
+    @Test
+    public void testPrimitiveParameter() throws Exception {
+        final HandlerInvoker invoker = HandlerInvoker.of(Handler.class.getMethod("primitive", int.class));
+        assertEquals(2, invoker.invoke(new Handler(), 1));
+        try {
+            invoker.invoke(new Handler(), "no number");
+            fail("a missing primitive value must be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWrapHandlerException() throws Exception {
+        final HandlerInvoker invoker = HandlerInvoker.of(Handler.class.getMethod("fail", String.class));
+        try {
+            invoker.invoke(new Handler(), "error");
+            fail("the exception of the handler must be passed");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("error", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testFindAnnotatedMethod() throws Exception {
+        final HandlerInvoker invoker = HandlerInvoker.find(Handler.class, PostConstruct.class);
+        assertNotNull(invoker);
+        assertTrue(invoker.isAnnotationPresent(PostConstruct.class));
+        assertEquals("x", invoker.invokeInOrder(new Handler(), "x"));
+        assertNull(HandlerInvoker.find(HandlerInvokerTest.class, PostConstruct.class));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StartupTimelineTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacp.test.util;
+
+import org.jacpfx.rcp.util.StartupTimeline;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the recording of the startup phases.
+ */
+public class StartupTimelineTest {
+
+    @After
+    public void tearDown() {
+        StartupTimeline.start(false);
+    }
+
+    @Test
+    public void recordsPhasesWithThread() throws Exception {
+        StartupTimeline.start(true);
+        StartupTimeline.begin("init workbench");
+        StartupTimeline.begin("init component c1");
+        CompletableFuture.runAsync(() -> StartupTimeline.end("init component c1")).get();
+        final String report = StartupTimeline.report();
+        assertTrue(report.contains("init component c1"));
+        assertFalse(report.contains("init workbench"));
+        assertTrue(StartupTimeline.isRecording());
+    }
+
+    @Test
+    public void stopsWhenAllPhasesEnded() {
+        StartupTimeline.start(true);
+        StartupTimeline.begin("init workbench");
+        StartupTimeline.begin("prepare perspective p1");
+        StartupTimeline.end("prepare perspective p1");
+        assertTrue(StartupTimeline.isRecording());
+        StartupTimeline.end("init workbench");
+        assertFalse(StartupTimeline.isRecording());
+        final String report = StartupTimeline.report();
+        assertTrue(report.indexOf("init workbench") < report.indexOf("prepare perspective p1"));
+        assertTrue(report.contains("[" + Thread.currentThread().getName() + "]"));
+    }
+
+    @Test
+    public void ignoresUnknownPhases() {
+        StartupTimeline.start(true);
+        StartupTimeline.begin("init workbench");
+        StartupTimeline.end("init component unknown");
+        assertTrue(StartupTimeline.isRecording());
+        assertFalse(StartupTimeline.report().contains("unknown"));
+    }
+
+    @Test
+    public void disabledTimelineRecordsNothing() {
+        StartupTimeline.start(false);
+        StartupTimeline.begin("init workbench");
+        StartupTimeline.end("init workbench");
+        assertFalse(StartupTimeline.report().contains("init workbench"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageCoordinatorTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PendingRequests;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the release of messages tracked by the direct routing when the coordinator routes them.
+ */
+public class MessageCoordinatorTest {
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        DirectRouter.configure(false);
+        DirectRouter.clearOnShutdown();
+        PendingRequests.clearOnShutdown();
+    }
+
+    @Test
+    public void unknownTargetReleasesTrackedMessage() {
+        DirectRouter.configure(true);
+        final ComponentAddress target = ComponentAddress.of("id01.id099");
+        final Message<Event, Object> message = new MessageImpl("id01.id002", "id099", "message", null);
+        DirectRouter.track(target, message);
+        assertEquals(1, DirectRouter.getPendingCount(target));
+        try {
+            new MessageCoordinator("id01", null).handleMessage("id099", message);
+            fail("the target does not exist");
+        } catch (ComponentNotFoundException e) {
+            // expected
+        }
+        assertEquals(0, DirectRouter.getPendingCount(target));
+    }
+
+    @Test
+    public void requestToUnknownTargetFailsAtOnce() throws Exception {
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        final long correlationId = PendingRequests.register(reply, 10, TimeUnit.SECONDS);
+        final MessageImpl request = new MessageImpl(ComponentAddress.of("id01.id002"), ComponentAddress.of("id099"), "message", null, correlationId);
+        try {
+            new MessageCoordinator("id01", null).handleMessage("id099", request);
+            fail("the target does not exist");
+        } catch (ComponentNotFoundException e) {
+            // expected
+        }
+        try {
+            reply.get(1, TimeUnit.SECONDS);
+            fail("the request must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ComponentNotFoundException);
+        }
+    }
+}
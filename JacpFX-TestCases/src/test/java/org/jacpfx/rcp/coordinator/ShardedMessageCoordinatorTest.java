@@ -0,0 +1,154 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ShardedMessageCoordinatorTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.message.BackpressurePolicy;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the shard selection, the order of messages per target and the backpressure of the sharded coordinator.
+ */
+public class ShardedMessageCoordinatorTest {
+    private static final int SHARDS = 4;
+
+    private RecordingCoordinator coordinator;
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (coordinator == null) return;
+        coordinator.release.countDown();
+        coordinator.shutdown();
+    }
+
+    @Test
+    public void shardIndexIgnoresParentId() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ShardedMessageCoordinator.shardIndex("id" + i, SHARDS),
+                    ShardedMessageCoordinator.shardIndex("id01.id" + i, SHARDS));
+        }
+    }
+
+    @Test
+    public void shardIndexDistributesTargets() {
+        final int[] targets = new int[SHARDS];
+        for (int i = 0; i < 1000; i++) {
+            final int index = ShardedMessageCoordinator.shardIndex("id01.id" + i, SHARDS);
+            assertTrue(index >= 0 && index < SHARDS);
+            targets[index]++;
+        }
+        for (final int count : targets) {
+            // an even distribution assigns 250 targets to every shard
+            assertTrue("targets per shard: " + count, count > 150);
+        }
+    }
+
+    @Test
+    public void messagesToOneTargetKeepTheirOrder() throws InterruptedException {
+        coordinator = new RecordingCoordinator(new BoundedMessageQueue<>(1000, BackpressurePolicy.BLOCK), 800);
+        coordinator.release.countDown();
+        coordinator.start();
+        for (int i = 0; i < 100; i++) {
+            for (int target = 0; target < 8; target++) {
+                coordinator.getMessageQueue().put(new MessageImpl("id01.id100", "id01.id" + target, i, null));
+            }
+        }
+        assertTrue(coordinator.handled.await(5, TimeUnit.SECONDS));
+        assertEquals(8, coordinator.received.size());
+        for (final List<Object> bodies : coordinator.received.values()) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, bodies.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void blockedShardHoldsBackTheMessageQueue() throws InterruptedException {
+        final BoundedMessageQueue<Message<Event, Object>> queue = new BoundedMessageQueue<>(2, BackpressurePolicy.BLOCK);
+        coordinator = new RecordingCoordinator(queue, 1);
+        coordinator.start();
+        int accepted = 0;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (accepted < 100 && System.nanoTime() < deadline) {
+            if (queue.offer(new MessageImpl("id01.id100", "id01.id001", accepted, null))) {
+                accepted++;
+            } else {
+                Thread.sleep(10);
+            }
+        }
+        // the handled message, the shard queue, the message passed by the coordinator and the message queue
+        assertTrue("accepted messages: " + accepted, accepted <= 6);
+    }
+
+    private static final class RecordingCoordinator extends ShardedMessageCoordinator {
+        private final Map<String, List<Object>> received = new ConcurrentHashMap<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch handled;
+
+        private RecordingCoordinator(final BoundedMessageQueue<Message<Event, Object>> queue, final int messages) {
+            super("id01", null, null, null, queue, SHARDS);
+            this.handled = new CountDownLatch(messages);
+        }
+
+        @Override
+        public void handleMessage(final String targetId, final Message<Event, Object> message) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // the messages of a target are handled by one shard, so the list is not shared between threads
+            received.computeIfAbsent(targetId, id -> new ArrayList<>()).add(message.getMessageBody());
+            handled.countDown();
+        }
+
+        private void shutdown() throws InterruptedException {
+            interrupt();
+            join(1000);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ScanCacheTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the location and the format of the persistent jar scan results.
+ */
+public class ScanCacheTest {
+    private static final Path JAR = Paths.get("app.jar");
+    private final String userHome = System.getProperty("user.home");
+    private Path home;
+
+    @Before
+    public void createHome() throws IOException {
+        home = Files.createTempDirectory("jacpfx-home");
+        System.setProperty("user.home", home.toString());
+        System.clearProperty(ScanCache.CACHE_PROPERTY);
+    }
+
+    @After
+    public void restoreHome() {
+        System.setProperty("user.home", userHome);
+        System.clearProperty(ScanCache.CACHE_PROPERTY);
+    }
+
+    @Test
+    public void defaultCacheIsStoredInTheUserHome() throws IOException {
+        final ScanCache cache = ScanCache.create("app.jar");
+        cache.put(JAR, 1L, 2L, "org.app", Arrays.asList("org.app.A", "org.app.B"));
+        cache.store();
+        final Path directory = home.resolve(".jacpfx").resolve("cache");
+        assertTrue(Files.isDirectory(directory));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(Arrays.asList("org.app.A", "org.app.B"), ScanCache.create("app.jar").get(JAR, 1L, 2L, "org.app"));
+    }
+
+    @Test
+    public void cacheFileStartsWithTheFormatVersion() throws IOException {
+        final Path file = home.resolve("scan.cache");
+        System.setProperty(ScanCache.CACHE_PROPERTY, file.toString());
+        final ScanCache cache = ScanCache.create("app.jar");
+        cache.put(JAR, 1L, 2L, "org.app", Collections.emptyList());
+        cache.store();
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(ScanCache.HEADER, lines.get(0));
+        assertEquals(Collections.emptyList(), ScanCache.create("app.jar").get(JAR, 1L, 2L, "org.app"));
+        assertNull("the jar changed", ScanCache.create("app.jar").get(JAR, 3L, 2L, "org.app"));
+    }
+
+    @Test
+    public void cacheFileOfAnotherVersionIsIgnored() throws IOException {
+        final Path file = home.resolve("scan.cache");
+        System.setProperty(ScanCache.CACHE_PROPERTY, file.toString());
+        Files.write(file, Collections.singletonList(JAR.toAbsolutePath() + "\torg.app\t1\t2\torg.app.A"), StandardCharsets.UTF_8);
+        assertNull(ScanCache.create("app.jar").get(JAR, 1L, 2L, "org.app"));
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentWorkerSchedulerTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.worker;
+
+import javafx.event.Event;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.annotations.lifecycle.PreDestroy;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.scheduler.WorkerMode;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the message workers in the thread, shared pool and virtual thread modes.
+ */
+public class ComponentWorkerSchedulerTest {
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() {
+        ComponentWorkerScheduler.configure(WorkerMode.THREAD, 0);
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    public void sharedPoolHandlesEveryMessageInOrder() throws Exception {
+        final ExecutorService pool = executor(4);
+        final int messages = 2000;
+        final List<RecordingWorker> workers = new ArrayList<>();
+        final List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final ASubComponent component = component();
+            final RecordingWorker worker = new RecordingWorker(component, messages);
+            worker.startShared(pool);
+            workers.add(worker);
+            // the random pauses let messages arrive while a run ends its drain
+            producers.add(new Thread(() -> {
+                for (int m = 0; m < messages; m++) {
+                    send(component, worker, m);
+                    LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(20_000));
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (final RecordingWorker worker : workers) {
+            assertTrue("messages lost", worker.handledAll.await(10, TimeUnit.SECONDS));
+            assertFalse("messages of one component handled concurrently", worker.overlapped);
+            for (int m = 0; m < messages; m++) {
+                assertEquals(m, worker.handled.get(m));
+            }
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+    }
+
+    @Test
+    public void drainLimitKeepsThePoolFair() throws Exception {
+        final ExecutorService pool = executor(1);
+        final ASubComponent busyComponent = component();
+        final int busyMessages = AEmbeddedComponentWorker.DRAIN_LIMIT * 10;
+        final RecordingWorker busy = new RecordingWorker(busyComponent, busyMessages);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        busy.handler = body -> {
+            if ((Integer) body == 0) {
+                entered.countDown();
+                proceed.await();
+            }
+        };
+        for (int m = 0; m < busyMessages; m++) {
+            busyComponent.putIncomingMessage(message(m));
+        }
+        busy.startShared(pool);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // the other component is queued while the busy component occupies the only pool thread
+        final ASubComponent otherComponent = component();
+        final RecordingWorker other = new RecordingWorker(otherComponent, 1);
+        final AtomicInteger busyHandled = new AtomicInteger(-1);
+        other.handler = body -> busyHandled.set(busy.handled.size());
+        other.startShared(pool);
+        send(otherComponent, other, "other");
+        proceed.countDown();
+
+        assertTrue(other.handledAll.await(5, TimeUnit.SECONDS));
+        assertTrue("handled after " + busyHandled.get() + " messages of the busy component",
+                busyHandled.get() <= AEmbeddedComponentWorker.DRAIN_LIMIT);
+        assertTrue(busy.handledAll.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void stopInterruptsTheHandlerAndReleasesThePoolThread() throws Exception {
+        final ExecutorService pool = executor(1);
+        final ASubComponent component = component();
+        final RecordingWorker worker = new RecordingWorker(component, 2);
+        final CountDownLatch entered = new CountDownLatch(1);
+        worker.handler = body -> {
+            entered.countDown();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+        };
+        worker.startShared(pool);
+        send(component, worker, 0);
+        send(component, worker, 1);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        worker.stop();
+        assertTrue(worker.stopped.await(5, TimeUnit.SECONDS));
+        assertFalse("the pool thread must not stay interrupted", pool.submit(() -> Thread.currentThread().isInterrupted()).get());
+        send(component, worker, 2);
+        pool.submit(() -> null).get();
+        assertTrue(worker.handled.isEmpty());
+        assertEquals(1, worker.starts.get());
+        assertEquals(1, worker.stops.get());
+    }
+
+    @Test
+    public void stopOfAnIdleWorkerCallsOnStopOnce() throws Exception {
+        final ExecutorService pool = executor(2);
+        for (int i = 0; i < 200; i++) {
+            final ASubComponent component = component();
+            final RecordingWorker worker = new RecordingWorker(component, 1);
+            worker.startShared(pool);
+            send(component, worker, i);
+            assertTrue(worker.handledAll.await(5, TimeUnit.SECONDS));
+            // the stop races with the end of the drain
+            worker.stop();
+            assertTrue("onStop not called in iteration " + i, worker.stopped.await(5, TimeUnit.SECONDS));
+            pool.submit(() -> null).get();
+            assertEquals(1, worker.stops.get());
+        }
+    }
+
+    @Test
+    public void threadModeStopEndsTheWorkerThread() throws Exception {
+        ComponentWorkerScheduler.configure(WorkerMode.THREAD, 0);
+        final ASubComponent component = component();
+        final RecordingWorker worker = new RecordingWorker(component, 10);
+        component.initWorker(worker);
+        for (int m = 0; m < 10; m++) {
+            component.putIncomingMessage(message(m));
+        }
+        assertTrue(worker.handledAll.await(5, TimeUnit.SECONDS));
+        component.interruptWorker();
+        assertTrue(worker.stopped.await(5, TimeUnit.SECONDS));
+        worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(worker.thread.isAlive());
+        assertEquals(1, worker.stops.get());
+    }
+
+    @Test
+    public void virtualModeFallsBackToTheSharedPool() throws Exception {
+        ComponentWorkerScheduler.configure(WorkerMode.VIRTUAL, 0);
+        final boolean virtualThreads = supportsVirtualThreads();
+        assertEquals(virtualThreads ? WorkerMode.VIRTUAL : WorkerMode.SHARED_POOL, ComponentWorkerScheduler.getMode());
+        final ASubComponent component = component();
+        final RecordingWorker worker = new RecordingWorker(component, 100);
+        component.initWorker(worker);
+        for (int m = 0; m < 100; m++) {
+            component.putIncomingMessage(message(m));
+        }
+        assertTrue(worker.handledAll.await(5, TimeUnit.SECONDS));
+        for (int m = 0; m < 100; m++) {
+            assertEquals(m, worker.handled.get(m));
+        }
+        if (virtualThreads) {
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(worker.thread));
+        }
+        component.interruptWorker();
+        assertTrue(worker.stopped.await(5, TimeUnit.SECONDS));
+        assertEquals(1, worker.stops.get());
+    }
+
+    @Test
+    public void interruptedCallbackWorkerShutsTheComponentDown() throws Exception {
+        ComponentWorkerScheduler.configure(WorkerMode.THREAD, 0);
+        final Callback callback = new Callback();
+        final ASubComponent component = component(callback);
+        InternalContext.class.cast(component.getContext()).updateActiveState(true);
+        component.setStarted(true);
+        final EmbeddedCallbackComponentWorker worker = new EmbeddedCallbackComponentWorker(new LinkedBlockingQueue<>(), component);
+        component.initWorker(worker);
+        component.putIncomingMessage(message("message"));
+        assertTrue(callback.handled.await(5, TimeUnit.SECONDS));
+
+        // interrupted like on application shutdown, not by the component teardown
+        worker.stop();
+        assertTrue(callback.destroyed.await(5, TimeUnit.SECONDS));
+        callback.thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(callback.thread.isAlive());
+        assertFalse(component.isStarted());
+        assertFalse(component.isBlocked());
+    }
+
+    private ExecutorService executor(final int threads) {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        executors.add(executor);
+        return executor;
+    }
+
+    private static ASubComponent component() {
+        return component(new Callback());
+    }
+
+    private static ASubComponent component(final CallbackComponent handle) {
+        final ASubComponent component = new EmbeddedStatefulComponent(handle);
+        component.initEnv("id01", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("id002");
+        return component;
+    }
+
+    private static MessageImpl message(final Object body) {
+        return new MessageImpl("id01.id003", "id01.id002", body, null);
+    }
+
+    private static void send(final ASubComponent component, final AEmbeddedComponentWorker worker, final Object body) {
+        component.putIncomingMessage(message(body));
+        worker.messageArrived();
+    }
+
+    private static boolean supportsVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private interface Handler {
+        void handle(Object body) throws InterruptedException;
+    }
+
+    private static class RecordingWorker extends AEmbeddedComponentWorker {
+        private final List<Object> handled = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger starts = new AtomicInteger();
+        private final AtomicInteger stops = new AtomicInteger();
+        private final CountDownLatch handledAll;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile Handler handler = body -> {
+        };
+        private volatile boolean overlapped;
+        private volatile Thread thread;
+
+        RecordingWorker(final ASubComponent owner, final int messages) {
+            super(owner);
+            this.handledAll = new CountDownLatch(messages);
+        }
+
+        @Override
+        boolean handleMessage(final Message<Event, Object> message) throws InterruptedException {
+            if (active.incrementAndGet() > 1) overlapped = true;
+            try {
+                thread = Thread.currentThread();
+                handler.handle(message.getMessageBody());
+                handled.add(message.getMessageBody());
+                handledAll.countDown();
+            } finally {
+                active.decrementAndGet();
+            }
+            return true;
+        }
+
+        @Override
+        void onStart() {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        void onStop() {
+            stops.incrementAndGet();
+            stopped.countDown();
+        }
+
+        @Override
+        public void cleanAfterInterrupt() {
+        }
+    }
+
+    public static class Callback implements CallbackComponent {
+        private final CountDownLatch handled = new CountDownLatch(1);
+        private final CountDownLatch destroyed = new CountDownLatch(1);
+        private volatile Thread thread;
+
+        @Override
+        public Object handle(final Message<Event, Object> message) {
+            return null;
+        }
+
+        @OnAsyncMessage(String.class)
+        public void onText(final Message<Event, Object> message) {
+            thread = Thread.currentThread();
+            handled.countDown();
+        }
+
+        @PreDestroy
+        public void destroy() {
+            destroyed.countDown();
+        }
+    }
+}
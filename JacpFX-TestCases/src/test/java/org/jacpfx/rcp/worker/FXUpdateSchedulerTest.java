@@ -0,0 +1,239 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXUpdateSchedulerTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.worker;
+
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.stage.Stage;
+import org.jacp.test.lifecycle.CustomErrorDialogHandler;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the frame budget and the order of the pulse aligned FXComponent updates.
+ */
+public class FXUpdateSchedulerTest extends ApplicationTest {
+    private static final long NO_LIMIT = TimeUnit.SECONDS.toNanos(10);
+
+    @Override
+    public void start(final Stage stage) {
+
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new CustomErrorDialogHandler());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FXUpdateScheduler.configure(false, 8);
+        onFXThread(() -> FXUpdateScheduler.drain(NO_LIMIT));
+    }
+
+    @Test
+    public void drainExecutesUpdatesInSubmissionOrder() throws Exception {
+        final List<Integer> executed = onFXThread(() -> {
+            final List<Integer> result = new ArrayList<>();
+            // the timer starts after this call, so the updates are drained only here
+            for (int i = 0; i < 100; i++) {
+                final int update = i;
+                FXUpdateScheduler.submit(() -> result.add(update));
+            }
+            assertEquals(100, FXUpdateScheduler.getPendingUpdates());
+            assertEquals(100, FXUpdateScheduler.drain(NO_LIMIT));
+            return result;
+        });
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), executed.get(i));
+        }
+        assertEquals(0, FXUpdateScheduler.getPendingUpdates());
+    }
+
+    @Test
+    public void updatesExceedingTheBudgetAreCarriedOver() throws Exception {
+        final List<Integer> executed = onFXThread(() -> {
+            final List<Integer> result = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                final int update = i;
+                FXUpdateScheduler.submit(() -> {
+                    sleep(5);
+                    result.add(update);
+                });
+            }
+            // at least one update per frame, even when it exceeds the budget
+            assertEquals(1, FXUpdateScheduler.drain(TimeUnit.MILLISECONDS.toNanos(1)));
+            assertEquals(4, FXUpdateScheduler.getPendingUpdates());
+            // the budget of 8 ms is spent after two updates at the latest
+            final int executedInFrame = FXUpdateScheduler.drain(TimeUnit.MILLISECONDS.toNanos(8));
+            assertTrue(executedInFrame >= 1 && executedInFrame <= 2);
+            assertEquals(4 - executedInFrame, FXUpdateScheduler.getPendingUpdates());
+            assertEquals(4 - executedInFrame, FXUpdateScheduler.drain(NO_LIMIT));
+            return result;
+        });
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), executed);
+        assertEquals(0, FXUpdateScheduler.getPendingUpdates());
+    }
+
+    @Test
+    public void workerDoesNotWaitForTheUpdates() throws Exception {
+        FXUpdateScheduler.configure(true, 8);
+        final View view = new View(5);
+        final EmbeddedFXComponent component = createComponent(view);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                blocked.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            for (int i = 0; i < 5; i++) {
+                component.putIncomingMessage(new MessageImpl("id01.id003", "id01.id002", i, null));
+            }
+            // all messages are handled while the application thread is blocked
+            assertTrue(view.handles.await(5, TimeUnit.SECONDS));
+            assertFalse(view.calls.contains("post handle 0"));
+            blocked.countDown();
+            assertTrue(view.updates.await(5, TimeUnit.SECONDS));
+        } finally {
+            blocked.countDown();
+            component.interruptWorker();
+        }
+    }
+
+    @Test
+    public void postHandleCallsKeepTheMessageOrder() throws Exception {
+        FXUpdateScheduler.configure(true, 8);
+        final View view = new View(50);
+        final EmbeddedFXComponent component = createComponent(view);
+        try {
+            for (int i = 0; i < 50; i++) {
+                component.putIncomingMessage(new MessageImpl("id01.id003", "id01.id002", i, null));
+            }
+            assertTrue(view.updates.await(5, TimeUnit.SECONDS));
+            final List<String> calls = new ArrayList<>(view.calls);
+            int lastPostHandle = -1;
+            for (int i = 0; i < 50; i++) {
+                final int handle = calls.indexOf("handle " + i);
+                final int postHandle = calls.indexOf("post handle " + i);
+                assertTrue(handle >= 0 && handle < postHandle);
+                assertTrue(postHandle > lastPostHandle);
+                lastPostHandle = postHandle;
+            }
+        } finally {
+            component.interruptWorker();
+        }
+    }
+
+    private static EmbeddedFXComponent createComponent(final View view) {
+        final EmbeddedFXComponent component = new EmbeddedFXComponent(view);
+        component.initEnv("id01", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("id002");
+        new FXComponentInitWorker(new HashMap<>(), component, new MessageImpl("id01.id003", "id01.id002", "init", null),
+                new LinkedBlockingQueue<>()).run();
+        return component;
+    }
+
+    private static <T> T onFXThread(final Callable<T> callable) throws Exception {
+        final FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+        try {
+            return task.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AssertionError) throw (AssertionError) e.getCause();
+            throw e;
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class View implements FXComponent {
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch handles;
+        private final CountDownLatch updates;
+
+        View(final int messages) {
+            this.handles = new CountDownLatch(messages);
+            this.updates = new CountDownLatch(messages);
+        }
+
+        @Override
+        public Node handle(final Message<Event, Object> message) {
+            return null;
+        }
+
+        @Override
+        public Node postHandle(final Node node, final Message<Event, Object> message) {
+            return null;
+        }
+
+        @OnAsyncMessage(Integer.class)
+        public void onNumber(final Message<Event, Object> message) {
+            calls.add("handle " + message.getMessageBody());
+            handles.countDown();
+        }
+
+        @OnMessage(Integer.class)
+        public void onNumberInFXThread(final Message<Event, Object> message) {
+            calls.add("post handle " + message.getMessageBody());
+            updates.countDown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXRendezvous.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.concurrency;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes a runnable on the JavaFX application thread and waits until it has finished. Every thread reuses one
+ * completion object and is parked until the application thread has executed the runnable, so a call does not
+ * allocate locks or conditions. When called on the application thread the runnable is executed directly.
+ *
+ * @author Andy Moncsek
+ */
+public final class FXRendezvous implements Runnable {
+    private static final ThreadLocal<FXRendezvous> COMPLETIONS = ThreadLocal.withInitial(FXRendezvous::new);
+
+    private volatile Runnable task;
+    private volatile Thread waiter;
+    private volatile boolean done;
+    private Exception failure;
+
+    private FXRendezvous() {
+    }
+
+    /**
+     * Invokes a runnable on application thread and waits until execution is finished, or the application was
+     * closed.
+     *
+     * @param runnable the runnable to execute
+     * @throws InterruptedException when the waiting thread was interrupted
+     * @throws ExecutionException   when the runnable has thrown an exception
+     */
+    public static void runAndWait(final Runnable runnable) throws InterruptedException, ExecutionException {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                throw new ExecutionException(e);
+            }
+            return;
+        }
+        COMPLETIONS.get().await(runnable);
+    }
+
+    private void await(final Runnable runnable) throws InterruptedException, ExecutionException {
+        this.failure = null;
+        this.done = false;
+        this.waiter = Thread.currentThread();
+        this.task = runnable;
+        Platform.runLater(this);
+        // wait until execution is finished and check if application is
+        // still running to prevent wait
+        while (!done && FXWorker.APPLICATION_RUNNING.get()) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(FXWorker.WAIT.get()));
+            if (Thread.interrupted()) {
+                // the runnable may still be executed, do not reuse this completion
+                COMPLETIONS.remove();
+                throw new InterruptedException();
+            }
+        }
+        if (!done) {
+            COMPLETIONS.remove();
+            return;
+        }
+        final Exception exception = this.failure;
+        this.failure = null;
+        if (exception != null) throw new ExecutionException(exception);
+    }
+
+    /**
+     * Executed on the application thread.
+     */
+    @Override
+    public void run() {
+        final Thread thread = this.waiter;
+        try {
+            // prevent execution when application is closed
+            if (FXWorker.APPLICATION_RUNNING.get()) task.run();
+        } catch (Exception e) {
+            this.failure = e;
+        } finally {
+            this.task = null;
+            this.done = true;
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -35,9 +35,6 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -444,7 +441,7 @@ public final class FXWorker<T> implements Worker<T>{
 
     /**
      * invokes a runnable on application thread and waits until execution is
-     * finished
+     * finished, see {@link FXRendezvous#runAndWait(Runnable)}
      *
      * @param runnable, a runnable which will be invoked and wait until execution is finished
      * @throws InterruptedException                    when thread was interrupted on shutdown
@@ -452,41 +449,7 @@ public final class FXWorker<T> implements Worker<T>{
      */
     public static void invokeOnFXThreadAndWait(final Runnable runnable)
             throws InterruptedException, ExecutionException {
-        final Lock lock = new ReentrantLock();
-        final Condition condition = lock.newCondition();
-        final AtomicBoolean conditionReady = new AtomicBoolean(false);
-        final AtomicReference<ThrowableWrapper> exchanger = new AtomicReference<>();
-        lock.lock();
-        try {
-            Platform.runLater(() -> {
-                lock.lock();
-                try {
-                    // prevent execution when application is closed
-                    if (APPLICATION_RUNNING.get())
-                        runnable.run();
-                } catch (Exception e) {
-                    exchanger.set(new ThrowableWrapper(e));
-                } finally {
-                    conditionReady.set(true);
-                    condition.signal();
-                    lock.unlock();
-                }
-
-            });
-            // wait until execution is finished and check if application is
-            // still running to prevent wait
-            while (!conditionReady.get()
-                    && APPLICATION_RUNNING.get())
-                condition.await(WAIT.get(),
-                        TimeUnit.MILLISECONDS);
-
-            final ThrowableWrapper throwableWrapper = exchanger.get();
-            if (throwableWrapper != null) {
-                throw new ExecutionException(throwableWrapper.t);
-            }
-        } finally {
-            lock.unlock();
-        }
+        FXRendezvous.runAndWait(runnable);
     }
 
     @Override
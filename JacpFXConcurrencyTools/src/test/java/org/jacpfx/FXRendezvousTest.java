@@ -0,0 +1,96 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXRendezvousTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.jacpfx.concurrency.FXRendezvous;
+import org.junit.Assert;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the execution of runnables on the application thread with {@link FXRendezvous}.
+ */
+public class FXRendezvousTest extends ApplicationTest {
+
+    @Override
+    public void start(Stage stage) {
+        stage.setScene(new Scene(new Pane(), 200, 200));
+        stage.show();
+    }
+
+    @Test
+    public void runsOnApplicationThreadAndWaits() throws Exception {
+        final AtomicBoolean fxThread = new AtomicBoolean(false);
+        FXRendezvous.runAndWait(() -> fxThread.set(Platform.isFxApplicationThread()));
+        Assert.assertTrue(fxThread.get());
+    }
+
+    @Test
+    public void completionIsReused() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            FXRendezvous.runAndWait(counter::incrementAndGet);
+            Assert.assertEquals(i + 1, counter.get());
+        }
+    }
+
+    @Test
+    public void exceptionIsPassedToCaller() throws Exception {
+        try {
+            FXRendezvous.runAndWait(() -> {
+                throw new IllegalStateException("test");
+            });
+            Assert.fail("no exception");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        // the next call is not affected by the previous exception
+        FXRendezvous.runAndWait(() -> {
+        });
+    }
+
+    @Test
+    public void runsDirectlyOnApplicationThread() throws Exception {
+        final AtomicReference<Thread> nested = new AtomicReference<>();
+        FXRendezvous.runAndWait(() -> {
+            try {
+                FXRendezvous.runAndWait(() -> nested.set(Thread.currentThread()));
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertNotNull(nested.get());
+    }
+}